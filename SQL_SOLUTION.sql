@@ -27,6 +27,21 @@ FROM employees e
 JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID 
 ORDER BY e.EMP_ID DESC;
 
+-- Same result without the correlated subquery (quadratic within each department):
+-- with DOB descending, RANK() - 1 is the number of colleagues born strictly later,
+-- equal DOBs share a rank. NULL DOBs sort last under DESC and count 0.
+SELECT 
+    e.EMP_ID, 
+    e.FIRST_NAME, 
+    e.LAST_NAME, 
+    d.DEPARTMENT_NAME, 
+    CASE WHEN e.DOB IS NULL THEN 0 
+         ELSE RANK() OVER (PARTITION BY e.DEPARTMENT ORDER BY e.DOB DESC) - 1 
+    END AS YOUNGER_EMPLOYEES_COUNT 
+FROM employees e 
+JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID 
+ORDER BY e.EMP_ID DESC;
+
 -- ============================================================================
 -- SOLUTION: Find highest salary not credited on 1st day of any month
 -- ============================================================================
@@ -141,4 +156,24 @@ SELECT
     MAX(AMOUNT) as max_amount
 FROM payments
 GROUP BY DAY(PAYMENT_TIME)
-ORDER BY day_of_month;
\ No newline at end of file
+ORDER BY day_of_month;
+
+-- ============================================================================
+-- INDEXED VARIANT (application schema)
+-- ============================================================================
+
+-- DAY(PAYMENT_TIME) != 1 cannot use an index, so the application persists the
+-- flag in IS_FIRST_DAY and indexes it together with the amount:
+--   CREATE INDEX IDX_PAYMENTS_FIRST_DAY_AMOUNT ON payments (IS_FIRST_DAY, AMOUNT DESC, PAYMENT_ID);
+-- The flag is repeated in ORDER BY so H2 reads the index in order and stops after one row.
+SELECT 
+    p.AMOUNT AS SALARY,
+    CONCAT(e.FIRST_NAME, ' ', e.LAST_NAME) AS NAME,
+    TIMESTAMPDIFF(YEAR, e.DOB, CURDATE()) AS AGE,
+    d.DEPARTMENT_NAME
+FROM payments p
+JOIN employees e ON p.EMP_ID = e.EMP_ID
+JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID
+WHERE p.IS_FIRST_DAY = FALSE
+ORDER BY p.IS_FIRST_DAY, p.AMOUNT DESC, p.PAYMENT_ID
+LIMIT 1;
@@ -0,0 +1,46 @@
+package com.finserv.demo;
+
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalaryAnalysisService.calculateAge, which is private and called once per analysis
+ * result, so it is reached through a constant MethodHandle. Its cost does not depend
+ * on the number of rows, so it has no data-size parameter
+ *
+ * Run with: mvn verify -Pjmh -Djmh.args="-prof gc AgeCalculationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgeCalculationBenchmark {
+
+    private static final MethodHandle CALCULATE_AGE;
+
+    static {
+        try {
+            CALCULATE_AGE = MethodHandles.privateLookupIn(SalaryAnalysisService.class, MethodHandles.lookup())
+                .findVirtual(SalaryAnalysisService.class, "calculateAge", MethodType.methodType(int.class, LocalDate.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final SalaryAnalysisService salaryAnalysisService = new SalaryAnalysisService();
+
+    private LocalDate dob = LocalDate.of(1980, 5, 15);
+
+    @Benchmark
+    public int calculateAge() throws Throwable {
+        return (int) CALCULATE_AGE.invokeExact(salaryAnalysisService, dob);
+    }
+}
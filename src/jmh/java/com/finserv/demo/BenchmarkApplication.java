@@ -0,0 +1,45 @@
+package com.finserv.demo;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Boots the application without a web server for the JMH benchmarks, against a
+ * file-backed H2 database per data size under target/jmh. A database is seeded with
+ * PerfTestData once and reused by later forks and runs while its row count matches;
+ * delete target/jmh to reseed
+ */
+final class BenchmarkApplication {
+
+    static final int DEPARTMENTS = 10;
+    static final int EMPLOYEES = 1000;
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(int payments) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+            .web(WebApplicationType.NONE)
+            // Command-line arguments, so they win over application.properties
+            .run(
+                "--spring.datasource.url=jdbc:h2:file:./target/jmh/payments-" + payments + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.jpa.show-sql=false",
+                "--finserv.webhook.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.finserv.demo=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Long.class);
+        if (existing == null || existing != payments) {
+            jdbcTemplate.execute("DELETE FROM payments");
+            jdbcTemplate.execute("DELETE FROM employees");
+            jdbcTemplate.execute("DELETE FROM departments");
+            PerfTestData.seed(jdbcTemplate, DEPARTMENTS, EMPLOYEES, payments);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,73 @@
+package com.finserv.demo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.entity.Payment;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the two response bodies, with the mapper configured as in
+ * application.properties and written to a discarding stream. A List&lt;Payment&gt; is
+ * serialized at each data size; a single SalaryAnalysisResult has no size parameter
+ *
+ * Run with: mvn verify -Pjmh -Djmh.args="-prof gc JacksonSerializationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JacksonSerializationBenchmark {
+
+    private static final ObjectWriter WRITER = Jackson2ObjectMapperBuilder.json()
+        .serializationInclusion(JsonInclude.Include.NON_NULL)
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build()
+        .writer();
+
+    private final SalaryAnalysisResult result =
+        new SalaryAnalysisResult(new BigDecimal("74998.00"), "John Williams", 45, "Engineering");
+
+    @State(Scope.Benchmark)
+    public static class Payments {
+
+        @Param({"10000", "1000000", "10000000"})
+        private int rows;
+
+        private List<Payment> payments;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            payments = new ArrayList<>(rows);
+            LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+            for (int i = 1; i <= rows; i++) {
+                Payment payment = new Payment((long) (i % BenchmarkApplication.EMPLOYEES + 1),
+                    BigDecimal.valueOf(i * 7919L % 100_000 + 1000, 0).setScale(2), start.plusMinutes(i * 3L));
+                payment.setPaymentId((long) i);
+                payments.add(payment);
+            }
+        }
+    }
+
+    @Benchmark
+    public void serializeSalaryAnalysisResult() throws IOException {
+        WRITER.writeValue(OutputStream.nullOutputStream(), result);
+    }
+
+    @Benchmark
+    public void serializePayments(Payments payments) throws IOException {
+        WRITER.writeValue(OutputStream.nullOutputStream(), payments.payments);
+    }
+}
@@ -0,0 +1,48 @@
+package com.finserv.demo;
+
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PaymentRepository.findByPaymentTimeNotOnFirstDay, which materializes every matching
+ * payment as an entity. At 10M rows that list alone outgrows the fork's heap, so only
+ * 10k and 1M are run; PaymentRepositoryBenchmark.streamNotOnFirstDay covers the same
+ * rows at 10M
+ *
+ * Run with: mvn verify -Pjmh -Djmh.args="-prof gc PaymentListBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PaymentListBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private PaymentRepository paymentRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        paymentRepository = context.getBean(PaymentRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Payment> findByPaymentTimeNotOnFirstDay() {
+        return paymentRepository.findByPaymentTimeNotOnFirstDay();
+    }
+}
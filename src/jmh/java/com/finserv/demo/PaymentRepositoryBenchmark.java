@@ -0,0 +1,104 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisRow;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every PaymentRepository query at each data size. Queries whose result grows with the
+ * table are bounded the way callers bound them (a page, a top-K, one employee, a narrow
+ * amount band); the full not-on-first-day list is in PaymentListBenchmark, and its
+ * cursor-streamed form is measured here
+ *
+ * Run with: mvn verify -Pjmh -Djmh.args="-prof gc PaymentRepositoryBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PaymentRepositoryBenchmark {
+
+    private static final BigDecimal BAND_LOW = new BigDecimal("50000.00");
+    private static final BigDecimal BAND_HIGH = new BigDecimal("50010.00");
+
+    @Param({"10000", "1000000", "10000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private PaymentRepository paymentRepository;
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        salaryAnalysisService = context.getBean(SalaryAnalysisService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Payment> findHighestPaymentNotOnFirstDay() {
+        return paymentRepository.findHighestPaymentNotOnFirstDay();
+    }
+
+    @Benchmark
+    public Optional<SalaryAnalysisRow> findHighestSalaryNotOnFirstDay() {
+        return paymentRepository.findHighestSalaryNotOnFirstDay();
+    }
+
+    @Benchmark
+    public BigDecimal findMaxAmountNotOnFirstDay() {
+        return paymentRepository.findMaxAmountNotOnFirstDay();
+    }
+
+    @Benchmark
+    public PaymentTotals findPaymentTotals() {
+        return paymentRepository.findPaymentTotals();
+    }
+
+    @Benchmark
+    public List<Payment> findNotOnFirstDayAfter() {
+        return paymentRepository.findNotOnFirstDayAfter(rows / 2, PageRequest.of(0, 100));
+    }
+
+    @Benchmark
+    public List<Payment> findTopByFirstDayOfMonth() {
+        return paymentRepository.findTopByFirstDayOfMonth(false, PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public List<Payment> findByEmpId() {
+        return paymentRepository.findByEmpId(BenchmarkApplication.EMPLOYEES / 2L);
+    }
+
+    @Benchmark
+    public List<Payment> findByAmountBetween() {
+        return paymentRepository.findByAmountBetween(BAND_LOW, BAND_HIGH);
+    }
+
+    /**
+     * streamNotOnFirstDay needs a transaction, so it runs through the service method
+     * that owns one
+     */
+    @Benchmark
+    public long streamNotOnFirstDay(Blackhole blackhole) {
+        return salaryAnalysisService.streamPaymentsNotOnFirstDay(blackhole::consume);
+    }
+}
@@ -0,0 +1,45 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of SalaryAnalysisService.findHighestSalaryNotOnFirstDay at each
+ * data size, through the Spring proxies, Hibernate and H2 as the application runs it
+ *
+ * Run with: mvn verify -Pjmh -Djmh.args="-prof gc SalaryAnalysisBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SalaryAnalysisBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        salaryAnalysisService = context.getBean(SalaryAnalysisService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SalaryAnalysisResult findHighestSalaryNotOnFirstDay() {
+        return salaryAnalysisService.findHighestSalaryNotOnFirstDay();
+    }
+}
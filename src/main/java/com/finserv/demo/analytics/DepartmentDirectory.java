@@ -0,0 +1,170 @@
+package com.finserv.demo.analytics;
+
+import com.finserv.demo.event.DepartmentChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Department names by department ID, held in memory so analysis paths resolve names
+ * without a query. The names live in an immutable Names snapshot: a String[] indexed
+ * by ID when IDs are dense, otherwise sorted primitive ID keys searched by bisection.
+ * Lookups read one volatile field and never lock or box; every committed department
+ * write builds a new snapshot and swaps it in (copy-on-write).
+ *
+ * Bulk JPQL/SQL statements on departments raise no events; call load() after them.
+ * A department without a name is treated as unknown
+ */
+@Component
+public class DepartmentDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentDirectory.class);
+
+    private volatile Names names;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * (Re)load every department from the database, replacing the current snapshot
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        TreeMap<Long, String> departments = new TreeMap<>();
+        jdbcTemplate.query("SELECT DEPARTMENT_ID, DEPARTMENT_NAME FROM departments WHERE DEPARTMENT_NAME IS NOT NULL",
+            resultSet -> { departments.put(resultSet.getLong(1), resultSet.getString(2)); });
+        names = Names.of(departments);
+        logger.info("Loaded {} departments into directory ({} layout)", names.size(), names.isDense() ? "dense" : "sparse");
+    }
+
+    /**
+     * Apply a committed department write to a copy of the snapshot and publish the copy
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDepartmentChange(DepartmentChangeEvent event) {
+        if (names == null) {
+            return;
+        }
+        TreeMap<Long, String> departments = names.toMap();
+        if (event.getType() == DepartmentChangeEvent.Type.DELETED || event.getDepartmentName() == null) {
+            departments.remove(event.getDepartmentId());
+        } else {
+            departments.put(event.getDepartmentId(), event.getDepartmentName());
+        }
+        names = Names.of(departments);
+    }
+
+    public boolean isLoaded() {
+        return names != null;
+    }
+
+    public int size() {
+        Names current = names;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * @return the department's name, or null if it is unknown (or not loaded yet)
+     */
+    public String getName(long departmentId) {
+        Names current = names;
+        return current == null ? null : current.get(departmentId);
+    }
+
+    /**
+     * @return true if the department is known
+     */
+    public boolean contains(long departmentId) {
+        Names current = names;
+        return current != null && current.indexOf(departmentId) >= 0;
+    }
+
+    /**
+     * Immutable ID-to-name table. Dense: ids is null and values[id] is the name.
+     * Sparse: ids is sorted and values[i] is the name of ids[i]
+     */
+    static final class Names {
+
+        /**
+         * The dense layout is used while the highest ID is at most this many times the
+         * number of departments, plus a small allowance for tiny tables
+         */
+        private static final int MAX_DENSE_SPREAD = 4;
+        private static final int DENSE_ALLOWANCE = 64;
+
+        private final long[] ids;
+        private final String[] values;
+        private final int size;
+
+        private Names(long[] ids, String[] values, int size) {
+            this.ids = ids;
+            this.values = values;
+            this.size = size;
+        }
+
+        static Names of(TreeMap<Long, String> departments) {
+            int size = departments.size();
+            long maxId = departments.isEmpty() ? -1 : departments.lastKey();
+            long minId = departments.isEmpty() ? 0 : departments.firstKey();
+
+            if (minId >= 0 && maxId < (long) size * MAX_DENSE_SPREAD + DENSE_ALLOWANCE) {
+                String[] values = new String[(int) maxId + 1];
+                departments.forEach((id, name) -> values[id.intValue()] = name);
+                return new Names(null, values, size);
+            }
+
+            long[] ids = new long[size];
+            String[] values = new String[size];
+            int i = 0;
+            for (var department : departments.entrySet()) {
+                ids[i] = department.getKey();
+                values[i] = department.getValue();
+                i++;
+            }
+            return new Names(ids, values, size);
+        }
+
+        boolean isDense() {
+            return ids == null;
+        }
+
+        int size() {
+            return size;
+        }
+
+        String get(long departmentId) {
+            int index = indexOf(departmentId);
+            return index < 0 ? null : values[index];
+        }
+
+        /**
+         * @return the slot of the department in values, or -1 if it is unknown
+         */
+        int indexOf(long departmentId) {
+            if (ids == null) {
+                return departmentId >= 0 && departmentId < values.length && values[(int) departmentId] != null
+                    ? (int) departmentId : -1;
+            }
+            int index = Arrays.binarySearch(ids, departmentId);
+            return index < 0 ? -1 : index;
+        }
+
+        TreeMap<Long, String> toMap() {
+            TreeMap<Long, String> departments = new TreeMap<>();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    departments.put(ids == null ? i : ids[i], values[i]);
+                }
+            }
+            return departments;
+        }
+    }
+}
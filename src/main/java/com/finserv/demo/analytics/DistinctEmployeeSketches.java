@@ -0,0 +1,360 @@
+package com.finserv.demo.analytics;
+
+import com.finserv.demo.dto.DistinctEmployeeCount;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.event.PaymentChangeEvent;
+import com.finserv.demo.event.PaymentSnapshot;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import com.finserv.demo.util.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * HyperLogLog sketches of the employees paid, one per month, department and day kind
+ * (on the 1st of the month or not), plus one per month and day kind across all
+ * departments. Loaded once at startup and then updated from committed PaymentChangeEvents,
+ * so "how many distinct employees were paid outside the 1st, per month / department"
+ * merges a handful of sketches instead of running COUNT(DISTINCT EMP_ID) over the table.
+ * Ranges merge the monthly sketches, and a lower precision can be asked per query (see
+ * HyperLogLog for the error at each precision).
+ *
+ * A payment counts towards its employee's department as known when the payment is
+ * added; later department moves are picked up by load(). Sketches cannot forget an
+ * employee, so deleting a payment or moving it to another month, employee or day kind
+ * marks its month stale and the next read of that month rebuilds it with one query
+ * on PAYMENT_MONTH.
+ *
+ * Enabled with finserv.analytics.distinct-employees.enabled=true
+ */
+@Component
+@ConditionalOnProperty(prefix = "finserv.analytics.distinct-employees", name = "enabled", havingValue = "true")
+public class DistinctEmployeeSketches {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistinctEmployeeSketches.class);
+
+    // Department keys of the cells that are not a department
+    private static final long ALL_DEPARTMENTS = Long.MIN_VALUE;
+    private static final long NO_DEPARTMENT = Long.MIN_VALUE + 1;
+
+    // Index of the day kind in a cell
+    private static final int OTHER_DAYS = 0;
+    private static final int FIRST_DAY = 1;
+
+    private static final String EMPLOYEE_DEPARTMENTS_SQL = "SELECT EMP_ID, DEPARTMENT FROM employees";
+
+    private static final String EMPLOYEE_DEPARTMENT_SQL = "SELECT DEPARTMENT FROM employees WHERE EMP_ID = ?";
+
+    private static final String PAYMENTS_SQL =
+        "SELECT PAYMENT_MONTH, EMP_ID, IS_FIRST_DAY FROM payments " +
+        "WHERE PAYMENT_MONTH IS NOT NULL AND EMP_ID IS NOT NULL";
+
+    private static final String MONTH_PAYMENTS_SQL =
+        "SELECT EMP_ID, IS_FIRST_DAY FROM payments WHERE PAYMENT_MONTH = ? AND EMP_ID IS NOT NULL";
+
+    // Month (yyyyMM) -> department key -> sketches by day kind
+    private final TreeMap<Integer, Map<Long, HyperLogLog[]>> months = new TreeMap<>();
+    private final Set<Integer> staleMonths = new HashSet<>();
+    private final Map<Long, Long> departmentByEmployee = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${finserv.analytics.distinct-employees.precision:14}")
+    private int precision;
+
+    /**
+     * (Re)build every sketch from the employees and payments tables
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalStateException("finserv.analytics.distinct-employees.precision must be between " +
+                HyperLogLog.MIN_PRECISION + " and " + HyperLogLog.MAX_PRECISION + ": " + precision);
+        }
+        long start = System.nanoTime();
+        months.clear();
+        staleMonths.clear();
+        departmentByEmployee.clear();
+        loaded = false;
+        jdbcTemplate.query(EMPLOYEE_DEPARTMENTS_SQL, resultSet -> {
+            long empId = resultSet.getLong(1);
+            long department = resultSet.getLong(2);
+            departmentByEmployee.put(empId, resultSet.wasNull() ? NO_DEPARTMENT : department);
+        });
+        jdbcTemplate.query(PAYMENTS_SQL, resultSet -> {
+            add(resultSet.getInt(1), resultSet.getLong(2), resultSet.getBoolean(3));
+        });
+        loaded = true;
+        logger.info("Built distinct-employee sketches for {} months in {} ms, {} KB of registers",
+            months.size(), (System.nanoTime() - start) / 1_000_000, sizeInBytes() / 1024);
+    }
+
+    /**
+     * Apply a committed payment write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPaymentChange(PaymentChangeEvent event) {
+        if (!loaded) {
+            // load() has not run yet and will read this row from the table
+            return;
+        }
+        PaymentSnapshot before = event.getBefore();
+        PaymentSnapshot after = event.getAfter();
+        if (event.getType() == PaymentChangeEvent.Type.UPDATED && before == null) {
+            // Without the old values the cell it leaves is unknown
+            logger.warn("Payment update without previous state, rebuilding distinct-employee sketches: {}", after);
+            load();
+            return;
+        }
+        boolean moved = before == null || after == null || !sameCell(before, after);
+        if (before != null && moved) {
+            markStale(before);
+        }
+        if (after != null && moved) {
+            add(after);
+        }
+    }
+
+    /**
+     * Rows were written without JPA events; rebuild from the tables
+     */
+    @EventListener
+    public void onPaymentsBulkLoaded(PaymentsBulkLoadedEvent event) {
+        load();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return Precision the sketches are kept at, the highest a query can ask for
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Distinct employees paid in a range of months
+     *
+     * @param from First month
+     * @param to Last month, inclusive
+     * @param departmentId Department to count, or null for all employees
+     * @param excludeFirstDay true to count only payments not made on the 1st of the month
+     * @param requestedPrecision Precision of the answer, or null for getPrecision()
+     * @return Estimate over the whole range
+     */
+    public synchronized DistinctEmployeeCount count(YearMonth from, YearMonth to, Long departmentId,
+                                                    boolean excludeFirstDay, Integer requestedPrecision) {
+        int answerPrecision = resolvePrecision(requestedPrecision);
+        HyperLogLog union = new HyperLogLog(precision);
+        for (Map<Long, HyperLogLog[]> cells : monthsBetween(from, to).values()) {
+            mergeCell(union, cells.get(departmentKey(departmentId)), excludeFirstDay);
+        }
+        return toCount(null, departmentId, union, answerPrecision);
+    }
+
+    /**
+     * Distinct employees paid in each month of a range
+     *
+     * @param from First month
+     * @param to Last month, inclusive
+     * @param departmentId Department to count, or null for all employees
+     * @param excludeFirstDay true to count only payments not made on the 1st of the month
+     * @param requestedPrecision Precision of the answers, or null for getPrecision()
+     * @return One estimate per month with such payments, oldest first
+     */
+    public synchronized List<DistinctEmployeeCount> countByMonth(YearMonth from, YearMonth to, Long departmentId,
+                                                                 boolean excludeFirstDay, Integer requestedPrecision) {
+        int answerPrecision = resolvePrecision(requestedPrecision);
+        List<DistinctEmployeeCount> counts = new ArrayList<>();
+        for (Map.Entry<Integer, Map<Long, HyperLogLog[]>> month : monthsBetween(from, to).entrySet()) {
+            HyperLogLog union = new HyperLogLog(precision);
+            mergeCell(union, month.getValue().get(departmentKey(departmentId)), excludeFirstDay);
+            if (!union.isEmpty()) {
+                counts.add(toCount(month.getKey(), departmentId, union, answerPrecision));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Distinct employees paid in a range of months, per department. Employees without a
+     * known department are left out
+     *
+     * @param from First month
+     * @param to Last month, inclusive
+     * @param excludeFirstDay true to count only payments not made on the 1st of the month
+     * @param requestedPrecision Precision of the answers, or null for getPrecision()
+     * @return One estimate per department with such payments, by department ID
+     */
+    public synchronized List<DistinctEmployeeCount> countByDepartment(YearMonth from, YearMonth to,
+                                                                      boolean excludeFirstDay, Integer requestedPrecision) {
+        int answerPrecision = resolvePrecision(requestedPrecision);
+        TreeMap<Long, HyperLogLog> byDepartment = new TreeMap<>();
+        for (Map<Long, HyperLogLog[]> cells : monthsBetween(from, to).values()) {
+            cells.forEach((department, cell) -> {
+                if (department != ALL_DEPARTMENTS && department != NO_DEPARTMENT) {
+                    mergeCell(byDepartment.computeIfAbsent(department, k -> new HyperLogLog(precision)),
+                        cell, excludeFirstDay);
+                }
+            });
+        }
+        List<DistinctEmployeeCount> counts = new ArrayList<>();
+        byDepartment.forEach((department, union) -> {
+            if (!union.isEmpty()) {
+                counts.add(toCount(null, department, union, answerPrecision));
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Months of the range that have sketches, with stale ones rebuilt first
+     */
+    private NavigableMap<Integer, Map<Long, HyperLogLog[]>> monthsBetween(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("from must not be after to: " + from + " / " + to);
+        }
+        int fromMonth = Payment.paymentMonth(from);
+        int toMonth = Payment.paymentMonth(to);
+        for (Integer month : new ArrayList<>(staleMonths)) {
+            if (month >= fromMonth && month <= toMonth) {
+                rebuildMonth(month);
+            }
+        }
+        return months.subMap(fromMonth, true, toMonth, true);
+    }
+
+    private int resolvePrecision(Integer requestedPrecision) {
+        if (requestedPrecision == null) {
+            return precision;
+        }
+        if (requestedPrecision < HyperLogLog.MIN_PRECISION || requestedPrecision > precision) {
+            throw new IllegalArgumentException("precision must be between " + HyperLogLog.MIN_PRECISION +
+                " and " + precision + ": " + requestedPrecision);
+        }
+        return requestedPrecision;
+    }
+
+    private static DistinctEmployeeCount toCount(Integer month, Long departmentId, HyperLogLog union,
+                                                 int answerPrecision) {
+        HyperLogLog answer = answerPrecision < union.getPrecision() ? union.reduce(answerPrecision) : union;
+        return new DistinctEmployeeCount(month, departmentId, answer.estimate(), answerPrecision,
+            HyperLogLog.relativeStandardError(answerPrecision));
+    }
+
+    private static void mergeCell(HyperLogLog union, HyperLogLog[] cell, boolean excludeFirstDay) {
+        if (cell == null) {
+            return;
+        }
+        if (cell[OTHER_DAYS] != null) {
+            union.merge(cell[OTHER_DAYS]);
+        }
+        if (!excludeFirstDay && cell[FIRST_DAY] != null) {
+            union.merge(cell[FIRST_DAY]);
+        }
+    }
+
+    private static long departmentKey(Long departmentId) {
+        return departmentId != null ? departmentId : ALL_DEPARTMENTS;
+    }
+
+    private void add(PaymentSnapshot payment) {
+        Integer month = Payment.paymentMonth(payment.getPaymentTime());
+        if (month != null && payment.getEmpId() != null) {
+            add(month, payment.getEmpId(), payment.isFirstDayOfMonth());
+        }
+    }
+
+    private void add(int month, long empId, boolean firstDay) {
+        Map<Long, HyperLogLog[]> cells = months.computeIfAbsent(month, k -> new HashMap<>());
+        int dayKind = firstDay ? FIRST_DAY : OTHER_DAYS;
+        sketch(cells, ALL_DEPARTMENTS, dayKind).add(empId);
+        sketch(cells, departmentOf(empId), dayKind).add(empId);
+    }
+
+    private HyperLogLog sketch(Map<Long, HyperLogLog[]> cells, long department, int dayKind) {
+        HyperLogLog[] cell = cells.computeIfAbsent(department, k -> new HyperLogLog[2]);
+        if (cell[dayKind] == null) {
+            cell[dayKind] = new HyperLogLog(precision);
+        }
+        return cell[dayKind];
+    }
+
+    /**
+     * Department of an employee, looked up once; an employee not in the table yet is
+     * not remembered, so a later insert is still seen
+     */
+    private long departmentOf(long empId) {
+        Long department = departmentByEmployee.get(empId);
+        if (department != null) {
+            return department;
+        }
+        List<Long> found = jdbcTemplate.query(EMPLOYEE_DEPARTMENT_SQL,
+            (resultSet, rowNum) -> resultSet.getObject(1, Long.class), empId);
+        if (found.isEmpty()) {
+            return NO_DEPARTMENT;
+        }
+        department = found.get(0) != null ? found.get(0) : NO_DEPARTMENT;
+        departmentByEmployee.put(empId, department);
+        return department;
+    }
+
+    private void markStale(PaymentSnapshot payment) {
+        Integer month = Payment.paymentMonth(payment.getPaymentTime());
+        if (month != null && months.containsKey(month)) {
+            staleMonths.add(month);
+        }
+    }
+
+    private void rebuildMonth(int month) {
+        months.remove(month);
+        jdbcTemplate.query(MONTH_PAYMENTS_SQL, resultSet -> {
+            add(month, resultSet.getLong(1), resultSet.getBoolean(2));
+        }, month);
+        staleMonths.remove(month);
+    }
+
+    private static boolean sameCell(PaymentSnapshot before, PaymentSnapshot after) {
+        return Objects.equals(before.getEmpId(), after.getEmpId())
+            && Objects.equals(Payment.paymentMonth(before.getPaymentTime()), Payment.paymentMonth(after.getPaymentTime()))
+            && before.isFirstDayOfMonth() == after.isFirstDayOfMonth();
+    }
+
+    private long sizeInBytes() {
+        long bytes = 0;
+        for (Map<Long, HyperLogLog[]> cells : months.values()) {
+            for (HyperLogLog[] cell : cells.values()) {
+                for (HyperLogLog sketch : cell) {
+                    bytes += sketch != null ? sketch.getSizeInBytes() : 0;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,333 @@
+package com.finserv.demo.analytics;
+
+import com.finserv.demo.dto.AggregateConsistencyResult;
+import com.finserv.demo.dto.PaymentBucketAggregate;
+import com.finserv.demo.event.PaymentChangeEvent;
+import com.finserv.demo.event.PaymentSnapshot;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Running count, sum and maximum of payment amounts per bucket: "first-day" and
+ * "other-days" (by the 1st-of-month rule) and one bucket per calendar month ("2025-01").
+ * Loaded once at startup and then updated from committed PaymentChangeEvents, so the
+ * max / highest-payment lookups are answered without touching the database.
+ *
+ * Count and sum are exact under deletes; a maximum cannot be "un-applied", so deleting
+ * or lowering a bucket's current max marks that bucket's max stale and the next read
+ * re-seeks it with one top-1 query.
+ *
+ * Enabled with finserv.analytics.aggregates.enabled=true
+ */
+@Component
+@ConditionalOnProperty(prefix = "finserv.analytics.aggregates", name = "enabled", havingValue = "true")
+public class PaymentAggregates {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentAggregates.class);
+
+    public static final String FIRST_DAY = "first-day";
+    public static final String OTHER_DAYS = "other-days";
+
+    private static final String HIGHEST_BY_FLAG_SQL =
+        "SELECT PAYMENT_ID, EMP_ID, AMOUNT FROM payments WHERE IS_FIRST_DAY = ? " +
+        "ORDER BY IS_FIRST_DAY, AMOUNT DESC, PAYMENT_ID FETCH FIRST 1 ROWS ONLY";
+
+    private static final String HIGHEST_IN_RANGE_SQL =
+        "SELECT PAYMENT_ID, EMP_ID, AMOUNT FROM payments WHERE PAYMENT_TIME >= ? AND PAYMENT_TIME < ? " +
+        "ORDER BY AMOUNT DESC, PAYMENT_ID FETCH FIRST 1 ROWS ONLY";
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * (Re)build every bucket from the payments table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.nanoTime();
+        buckets.clear();
+        loaded = false;
+        jdbcTemplate.query("SELECT PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME FROM payments", resultSet -> {
+            Timestamp paymentTime = resultSet.getTimestamp(4);
+            add(resultSet.getLong(1), resultSet.getLong(2), PaymentColumnStore.toMinorUnits(resultSet.getBigDecimal(3)),
+                paymentTime != null ? paymentTime.toLocalDateTime() : null);
+        });
+        loaded = true;
+        logger.info("Built {} payment aggregate buckets in {} ms", buckets.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Apply a committed payment write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPaymentChange(PaymentChangeEvent event) {
+        if (!loaded) {
+            // load() has not run yet and will read this row from the table
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED -> add(event.getAfter());
+            case DELETED -> remove(event.getBefore());
+            case UPDATED -> {
+                if (event.getBefore() == null) {
+                    // Without the old values there is nothing to subtract
+                    logger.warn("Payment update without previous state, rebuilding aggregates: {}", event.getAfter());
+                    load();
+                    return;
+                }
+                remove(event.getBefore());
+                add(event.getAfter());
+            }
+        }
+    }
+
+    /**
+     * Rows were written without JPA events; rebuild from the table
+     */
+    @EventListener
+    public void onPaymentsBulkLoaded(PaymentsBulkLoadedEvent event) {
+        load();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Highest payment in a bucket, ties broken by lowest payment ID (the same ranking
+     * as the SQL path)
+     *
+     * @param bucket FIRST_DAY, OTHER_DAYS or a month key such as "2025-01"
+     * @return Payment ID, employee ID and amount of that payment, or null if the bucket is empty
+     */
+    public synchronized PaymentColumns highestPayment(String bucket) {
+        Bucket aggregate = buckets.get(bucket);
+        if (aggregate == null) {
+            return null;
+        }
+        if (aggregate.maxStale) {
+            refreshMax(bucket, aggregate);
+        }
+        return new PaymentColumns(aggregate.maxPaymentId, aggregate.maxEmpId, aggregate.maxAmount);
+    }
+
+    /**
+     * Highest payment not made on the 1st day of month
+     *
+     * @return Payment ID, employee ID and amount of that payment, or null if there is none
+     */
+    public PaymentColumns highestPaymentNotOnFirstDay() {
+        return highestPayment(OTHER_DAYS);
+    }
+
+    /**
+     * Current aggregates of every non-empty bucket, flag buckets first then months in order
+     *
+     * @return List of bucket aggregates
+     */
+    public synchronized List<PaymentBucketAggregate> snapshot() {
+        List<PaymentBucketAggregate> result = new ArrayList<>();
+        for (String bucket : orderedBucketKeys()) {
+            PaymentColumns highest = highestPayment(bucket);
+            Bucket aggregate = buckets.get(bucket);
+            result.add(new PaymentBucketAggregate(bucket, aggregate.count,
+                PaymentColumnStore.fromMinorUnits(aggregate.sum),
+                PaymentColumnStore.fromMinorUnits(highest.getAmount()), highest.getPaymentId()));
+        }
+        return result;
+    }
+
+    /**
+     * Recompute count, sum and max of every bucket with SQL and compare them with the
+     * maintained values. Meant for ops checks, it scans the whole table
+     *
+     * @return Buckets checked and a description of every difference found
+     */
+    public synchronized AggregateConsistencyResult checkConsistency() {
+        Map<String, PaymentBucketAggregate> expected = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT IS_FIRST_DAY, COUNT(*), SUM(AMOUNT), MAX(AMOUNT) FROM payments GROUP BY IS_FIRST_DAY",
+            resultSet -> {
+                String bucket = resultSet.getBoolean(1) ? FIRST_DAY : OTHER_DAYS;
+                expected.put(bucket, new PaymentBucketAggregate(bucket, resultSet.getLong(2),
+                    resultSet.getBigDecimal(3), resultSet.getBigDecimal(4), null));
+            });
+        jdbcTemplate.query(
+            "SELECT YEAR(PAYMENT_TIME), MONTH(PAYMENT_TIME), COUNT(*), SUM(AMOUNT), MAX(AMOUNT) FROM payments " +
+            "WHERE PAYMENT_TIME IS NOT NULL GROUP BY YEAR(PAYMENT_TIME), MONTH(PAYMENT_TIME)",
+            resultSet -> {
+                String bucket = YearMonth.of(resultSet.getInt(1), resultSet.getInt(2)).toString();
+                expected.put(bucket, new PaymentBucketAggregate(bucket, resultSet.getLong(3),
+                    resultSet.getBigDecimal(4), resultSet.getBigDecimal(5), null));
+            });
+
+        Map<String, PaymentBucketAggregate> actual = new HashMap<>();
+        for (PaymentBucketAggregate aggregate : snapshot()) {
+            actual.put(aggregate.getBucket(), aggregate);
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (PaymentBucketAggregate sql : expected.values()) {
+            PaymentBucketAggregate maintained = actual.get(sql.getBucket());
+            if (maintained == null) {
+                mismatches.add(sql.getBucket() + ": missing, SQL has " + sql.getCount() + " payments");
+                continue;
+            }
+            if (maintained.getCount() != sql.getCount()) {
+                mismatches.add(sql.getBucket() + ": count " + maintained.getCount() + " != " + sql.getCount());
+            }
+            if (maintained.getSum().compareTo(sql.getSum()) != 0) {
+                mismatches.add(sql.getBucket() + ": sum " + maintained.getSum() + " != " + sql.getSum());
+            }
+            if (maintained.getMaxAmount().compareTo(sql.getMaxAmount()) != 0) {
+                mismatches.add(sql.getBucket() + ": max " + maintained.getMaxAmount() + " != " + sql.getMaxAmount());
+            }
+        }
+        for (String bucket : actual.keySet()) {
+            if (!expected.containsKey(bucket)) {
+                mismatches.add(bucket + ": not in SQL, maintained count " + actual.get(bucket).getCount());
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            logger.warn("Payment aggregates differ from SQL: {}", mismatches);
+        }
+        return new AggregateConsistencyResult(expected.size(), mismatches);
+    }
+
+    private void add(PaymentSnapshot payment) {
+        add(payment.getPaymentId(), Objects.requireNonNullElse(payment.getEmpId(), 0L),
+            PaymentColumnStore.toMinorUnits(payment.getAmount()), payment.getPaymentTime());
+    }
+
+    private void add(long paymentId, long empId, long amount, LocalDateTime paymentTime) {
+        bucket(firstDayBucket(paymentTime)).add(paymentId, empId, amount);
+        if (paymentTime != null) {
+            bucket(YearMonth.from(paymentTime).toString()).add(paymentId, empId, amount);
+        }
+    }
+
+    private void remove(PaymentSnapshot payment) {
+        long amount = PaymentColumnStore.toMinorUnits(payment.getAmount());
+        remove(firstDayBucket(payment.getPaymentTime()), payment.getPaymentId(), amount);
+        if (payment.getPaymentTime() != null) {
+            remove(YearMonth.from(payment.getPaymentTime()).toString(), payment.getPaymentId(), amount);
+        }
+    }
+
+    private void remove(String bucket, long paymentId, long amount) {
+        Bucket aggregate = buckets.get(bucket);
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.count--;
+        aggregate.sum -= amount;
+        if (aggregate.count == 0) {
+            buckets.remove(bucket);
+        } else if (aggregate.maxPaymentId == paymentId) {
+            aggregate.maxStale = true;
+        }
+    }
+
+    private Bucket bucket(String key) {
+        return buckets.computeIfAbsent(key, k -> new Bucket());
+    }
+
+    private static String firstDayBucket(LocalDateTime paymentTime) {
+        return paymentTime != null && paymentTime.getDayOfMonth() == 1 ? FIRST_DAY : OTHER_DAYS;
+    }
+
+    /**
+     * Re-seek a bucket's maximum with a top-1 query; the flag buckets read
+     * IDX_PAYMENTS_FIRST_DAY_AMOUNT in order, month buckets scan that month
+     */
+    private void refreshMax(String bucket, Bucket aggregate) {
+        List<PaymentColumns> highest;
+        if (FIRST_DAY.equals(bucket) || OTHER_DAYS.equals(bucket)) {
+            highest = jdbcTemplate.query(HIGHEST_BY_FLAG_SQL, (resultSet, rowNum) -> columns(resultSet),
+                FIRST_DAY.equals(bucket));
+        } else {
+            YearMonth month = YearMonth.parse(bucket);
+            highest = jdbcTemplate.query(HIGHEST_IN_RANGE_SQL, (resultSet, rowNum) -> columns(resultSet),
+                Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+        }
+        if (highest.isEmpty()) {
+            // Nothing left in the table; the delete events will empty the bucket
+            return;
+        }
+        PaymentColumns max = highest.get(0);
+        aggregate.maxPaymentId = max.getPaymentId();
+        aggregate.maxEmpId = max.getEmpId();
+        aggregate.maxAmount = max.getAmount();
+        aggregate.maxStale = false;
+    }
+
+    private static PaymentColumns columns(ResultSet resultSet) throws SQLException {
+        return new PaymentColumns(resultSet.getLong(1), resultSet.getLong(2),
+            PaymentColumnStore.toMinorUnits(resultSet.getBigDecimal(3)));
+    }
+
+    private List<String> orderedBucketKeys() {
+        List<String> keys = new ArrayList<>();
+        if (buckets.containsKey(FIRST_DAY)) {
+            keys.add(FIRST_DAY);
+        }
+        if (buckets.containsKey(OTHER_DAYS)) {
+            keys.add(OTHER_DAYS);
+        }
+        TreeMap<String, Bucket> months = new TreeMap<>(buckets);
+        months.remove(FIRST_DAY);
+        months.remove(OTHER_DAYS);
+        keys.addAll(months.keySet());
+        return keys;
+    }
+
+    /**
+     * Count, sum and max of one bucket, amounts in minor units
+     */
+    private static final class Bucket {
+        long count;
+        long sum;
+        long maxAmount;
+        long maxPaymentId;
+        long maxEmpId;
+        boolean maxStale;
+
+        void add(long paymentId, long empId, long amount) {
+            boolean empty = count == 0;
+            count++;
+            sum = Math.addExact(sum, amount);
+            // While stale the next read re-seeks the max from the table, which includes this row
+            if (!maxStale && (empty || amount > maxAmount || (amount == maxAmount && paymentId < maxPaymentId))) {
+                maxAmount = amount;
+                maxPaymentId = paymentId;
+                maxEmpId = empId;
+            }
+        }
+    }
+}
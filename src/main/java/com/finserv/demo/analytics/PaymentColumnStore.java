@@ -0,0 +1,273 @@
+package com.finserv.demo.analytics;
+
+import com.finserv.demo.event.PaymentChangeEvent;
+import com.finserv.demo.event.PaymentSnapshot;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process columnar copy of the payments table, kept as parallel primitive arrays
+ * (payment ID, employee ID, amount in minor units, epoch day, day of month).
+ * Loaded once at startup and kept in sync with committed JPA writes through
+ * PaymentChangeEvents, so analysis scans run over primitives without allocating
+ * entities, BigDecimals or LocalDateTimes per row.
+ *
+ * Enabled with finserv.analytics.column-store.enabled=true
+ */
+@Component
+@ConditionalOnProperty(prefix = "finserv.analytics.column-store", name = "enabled", havingValue = "true")
+public class PaymentColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentColumnStore.class);
+
+    /**
+     * Amounts are stored as long multiples of 10^-MINOR_UNIT_SCALE (cents)
+     */
+    public static final int MINOR_UNIT_SCALE = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] paymentIds = new long[INITIAL_CAPACITY];
+    private long[] empIds = new long[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private byte[] daysOfMonth = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    // Only touched on the write path, to find a payment's row for updates and deletes
+    private final Map<Long, Integer> rowByPaymentId = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * (Re)load every payment from the database, replacing the current contents
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            jdbcTemplate.query("SELECT PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME FROM payments", resultSet -> {
+                Timestamp paymentTime = resultSet.getTimestamp(4);
+                upsert(resultSet.getLong(1), resultSet.getLong(2), toMinorUnits(resultSet.getBigDecimal(3)),
+                    paymentTime != null ? paymentTime.toLocalDateTime() : null);
+            });
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Loaded {} payments into column store in {} ms", size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Apply a committed payment write. Inserts are upserts, so a row that was already
+     * picked up by load() is not counted twice
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentChange(PaymentChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == PaymentChangeEvent.Type.DELETED) {
+                remove(event.getBefore().getPaymentId());
+            } else {
+                PaymentSnapshot after = event.getAfter();
+                upsert(after.getPaymentId(), after.getEmpId() != null ? after.getEmpId() : 0L,
+                    toMinorUnits(after.getAmount()), after.getPaymentTime());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rows were written without JPA events; rebuild from the table
+     */
+    @EventListener
+    public void onPaymentsBulkLoaded(PaymentsBulkLoadedEvent event) {
+        load();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maximum amount among payments not made on the 1st day of month, in minor units
+     *
+     * @return Maximum amount or empty if there is no such payment
+     */
+    public OptionalLong maxAmountNotOnFirstDay() {
+        lock.readLock().lock();
+        try {
+            int row = highestRowNotOnFirstDay();
+            return row < 0 ? OptionalLong.empty() : OptionalLong.of(amounts[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Highest payment not made on the 1st day of month, ties broken by lowest payment ID
+     * (the same ranking as the SQL path)
+     *
+     * @return Payment ID, employee ID and amount of that payment, or null if there is none
+     */
+    public PaymentColumns highestPaymentNotOnFirstDay() {
+        lock.readLock().lock();
+        try {
+            int row = highestRowNotOnFirstDay();
+            return row < 0 ? null : new PaymentColumns(paymentIds[row], empIds[row], amounts[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Run a read-only scan over the employee ID and amount columns, holding the read lock
+     * for its whole duration, so writes wait but any number of threads may read the
+     * arrays in parallel. Only rows [0, size) are valid; the arrays must not be modified
+     * or kept after the scan returns
+     *
+     * @param scan Scan over (empIds, amounts, size)
+     * @return Result of the scan
+     */
+    public <R> R scanAmounts(AmountScan<R> scan) {
+        lock.readLock().lock();
+        try {
+            return scan.scan(empIds, amounts, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface AmountScan<R> {
+        R scan(long[] empIds, long[] amounts, int size);
+    }
+
+    /**
+     * Convert an amount to minor units
+     *
+     * @param amount Amount with at most MINOR_UNIT_SCALE decimals
+     * @return Amount in minor units
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert minor units back to an amount
+     *
+     * @param minorUnits Amount in minor units
+     * @return Amount with MINOR_UNIT_SCALE decimals
+     */
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+
+    /**
+     * Single pass over the amount and day-of-month columns; caller holds the read lock
+     */
+    private int highestRowNotOnFirstDay() {
+        int best = -1;
+        for (int row = 0; row < size; row++) {
+            if (daysOfMonth[row] == 1) {
+                continue;
+            }
+            if (best < 0 || amounts[row] > amounts[best]
+                    || (amounts[row] == amounts[best] && paymentIds[row] < paymentIds[best])) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    private void upsert(long paymentId, long empId, long amount, LocalDateTime paymentTime) {
+        Integer existing = rowByPaymentId.get(paymentId);
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowByPaymentId.put(paymentId, row);
+        }
+        paymentIds[row] = paymentId;
+        empIds[row] = empId;
+        amounts[row] = amount;
+        // A payment without a time is never "on the 1st"; day 0 marks it
+        epochDays[row] = paymentTime != null ? (int) paymentTime.toLocalDate().toEpochDay() : 0;
+        daysOfMonth[row] = paymentTime != null ? (byte) paymentTime.getDayOfMonth() : 0;
+    }
+
+    /**
+     * Remove a row by moving the last row into its slot
+     */
+    private void remove(long paymentId) {
+        Integer removed = rowByPaymentId.remove(paymentId);
+        if (removed == null) {
+            return;
+        }
+        int row = removed;
+        int last = --size;
+        if (row != last) {
+            paymentIds[row] = paymentIds[last];
+            empIds[row] = empIds[last];
+            amounts[row] = amounts[last];
+            epochDays[row] = epochDays[last];
+            daysOfMonth[row] = daysOfMonth[last];
+            rowByPaymentId.put(paymentIds[row], row);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= paymentIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, paymentIds.length + (paymentIds.length >> 1));
+        paymentIds = Arrays.copyOf(paymentIds, newCapacity);
+        empIds = Arrays.copyOf(empIds, newCapacity);
+        amounts = Arrays.copyOf(amounts, newCapacity);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        daysOfMonth = Arrays.copyOf(daysOfMonth, newCapacity);
+    }
+
+    private void clear() {
+        size = 0;
+        rowByPaymentId.clear();
+        loaded = false;
+    }
+}
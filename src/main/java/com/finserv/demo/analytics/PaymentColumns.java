@@ -0,0 +1,32 @@
+package com.finserv.demo.analytics;
+
+/**
+ * Column values of a single payment row, as answered by the in-memory analytics
+ * components without loading the Payment entity
+ */
+public final class PaymentColumns {
+    private final long paymentId;
+    private final long empId;
+    private final long amount;
+
+    public PaymentColumns(long paymentId, long empId, long amount) {
+        this.paymentId = paymentId;
+        this.empId = empId;
+        this.amount = amount;
+    }
+
+    public long getPaymentId() {
+        return paymentId;
+    }
+
+    public long getEmpId() {
+        return empId;
+    }
+
+    /**
+     * @return Amount in minor units
+     */
+    public long getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.finserv.demo.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Caffeine-backed lookup caches declared on EmployeeRepository and
+ * DepartmentRepository. Size and statistics come from spring.cache.caffeine.spec;
+ * the caches are listed in spring.cache.cache-names so they exist at startup and
+ * their hit/miss/eviction counts are published as cache.* metrics
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+    public static final String DEPARTMENTS_CACHE = "departments";
+}
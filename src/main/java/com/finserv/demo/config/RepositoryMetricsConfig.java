@@ -0,0 +1,124 @@
+package com.finserv.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * Records how many rows every repository method returns, as the distribution summary
+ * finserv.repository.rows tagged by repository and method. Latency per method is the
+ * spring.data.repository.invocations timer that Boot already records, with the same
+ * tags; both sit inside the repository proxy, so lookups answered by the Caffeine
+ * caches are not counted here (see the cache.* metrics).
+ *
+ * Collections, pages and Optionals count their elements, a single entity or value
+ * counts as 1 (0 when null). Streams, void and primitive results (count, delete)
+ * are not recorded
+ */
+@Configuration(proxyBeanMethods = false)
+public class RepositoryMetricsConfig {
+
+    public static final String ROWS_METRIC = "finserv.repository.rows";
+
+    /**
+     * Adds the row-count interceptor to every repository proxy before it is created.
+     * Static, and the registry is resolved lazily, so this post-processor does not
+     * force the meter registry to be created early
+     */
+    @Bean
+    static BeanPostProcessor repositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new RowCountInterceptor(meterRegistry, repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    static final class RowCountInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        RowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repositoryInterface.getSimpleName();
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            Method method = invocation.getMethod();
+            long rows = rowCount(method.getReturnType(), result);
+            if (rows >= 0) {
+                DistributionSummary summary = summaries.computeIfAbsent(method, this::summary);
+                if (summary != null) {
+                    summary.record(rows);
+                }
+            }
+            return result;
+        }
+
+        private DistributionSummary summary(Method method) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return null;
+            }
+            return DistributionSummary.builder(ROWS_METRIC)
+                .description("Rows returned per repository call")
+                .baseUnit("rows")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .register(registry);
+        }
+
+        /**
+         * @return rows in the result, or -1 if the result is not recorded
+         */
+        static long rowCount(Class<?> returnType, Object result) {
+            if (returnType.isPrimitive() || BaseStream.class.isAssignableFrom(returnType)) {
+                return -1;
+            }
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Iterable<?> iterable) {
+                long rows = 0;
+                for (Object ignored : iterable) {
+                    rows++;
+                }
+                return rows;
+            }
+            return 1;
+        }
+    }
+}
@@ -1,14 +1,90 @@
 package com.finserv.demo.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * RestTemplate on a pooled Apache HttpClient: connections are kept alive and reused
+ * per route instead of a new TCP (and TLS) handshake per call, idle ones are evicted,
+ * and connect, pool wait and read are each bounded by a timeout.
+ *
+ * Built through RestTemplateBuilder, so every request is timed as http.client.requests;
+ * pool usage (leased, available, pending) is published as httpcomponents.httpclient.pool.*
+ */
 @Configuration
 public class RestTemplateConfig {
     
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            @Value("${finserv.http.max-connections:50}") int maxConnections,
+            @Value("${finserv.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${finserv.http.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${finserv.http.read-timeout:10s}") Duration readTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                // A pooled connection unused this long is checked before reuse,
+                // so a peer that closed it quietly does not fail the request
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+    }
+    
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          @Value("${finserv.http.read-timeout:10s}") Duration readTimeout,
+                                          @Value("${finserv.http.pool-timeout:2s}") Duration poolTimeout,
+                                          @Value("${finserv.http.keep-alive:30s}") Duration keepAlive,
+                                          @Value("${finserv.http.idle-eviction:30s}") Duration idleEviction) {
+        TimeValue maxKeepAlive = TimeValue.of(keepAlive);
+        return HttpClients.custom()
+            .setConnectionManager(httpConnectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build())
+            // Honour a shorter Keep-Alive from the server, otherwise keep connections for keepAlive
+            .setKeepAliveStrategy((response, context) -> {
+                TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return serverKeepAlive.compareTo(maxKeepAlive) < 0 ? serverKeepAlive : maxKeepAlive;
+            })
+            // Callers own retries (see WebhookService); the client's own default would
+            // silently repeat a non-idempotent POST on 503
+            .disableAutomaticRetries()
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(idleEviction))
+            .build();
+    }
+    
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+            .build();
+    }
+    
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "restTemplate");
     }
 }
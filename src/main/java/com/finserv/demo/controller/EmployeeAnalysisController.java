@@ -0,0 +1,68 @@
+package com.finserv.demo.controller;
+
+import com.finserv.demo.dto.YoungerEmployeeCount;
+import com.finserv.demo.service.EmployeeAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for employee analysis operations
+ */
+@RestController
+@RequestMapping("/api/employees")
+@CrossOrigin(origins = "*")
+public class EmployeeAnalysisController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAnalysisController.class);
+    
+    @Autowired
+    private EmployeeAnalysisService employeeAnalysisService;
+    
+    /**
+     * Get, for every employee, the number of younger employees in the same department
+     * 
+     * @param engine "sql" for the window-function query, "java" for the in-memory ranking
+     * @return Counts ordered by employee ID descending
+     */
+    @GetMapping("/younger-count")
+    public ResponseEntity<List<YoungerEmployeeCount>> getYoungerEmployeeCounts(
+            @RequestParam(defaultValue = EmployeeAnalysisService.ENGINE_SQL) String engine) {
+        logger.info("Request received for younger employee counts, engine={}", engine);
+        
+        try {
+            List<YoungerEmployeeCount> counts = employeeAnalysisService.getYoungerEmployeeCounts(engine);
+            logger.info("Successfully retrieved younger employee counts for {} employees", counts.size());
+            return ResponseEntity.ok(counts);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid younger employee count request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving younger employee counts: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the SQL query for the younger employees per department analysis
+     * 
+     * @return SQL query string
+     */
+    @GetMapping("/younger-count/sql-query")
+    public ResponseEntity<String> getYoungerEmployeesSqlQuery() {
+        logger.info("Request received for younger employees SQL query");
+        
+        try {
+            return ResponseEntity.ok(employeeAnalysisService.getYoungerEmployeesSqlQuery());
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving younger employees SQL query: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
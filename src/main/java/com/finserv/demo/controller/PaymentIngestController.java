@@ -0,0 +1,55 @@
+package com.finserv.demo.controller;
+
+import com.finserv.demo.dto.PaymentIngestSummary;
+import com.finserv.demo.service.PaymentIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for loading payments in bulk
+ */
+@RestController
+@RequestMapping("/api/payments")
+@CrossOrigin(origins = "*")
+public class PaymentIngestController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIngestController.class);
+    
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+    
+    @Autowired
+    private PaymentIngestService paymentIngestService;
+    
+    /**
+     * Load payments from a streamed CSV (empId,amount,paymentTime) or NDJSON body.
+     * The body is consumed incrementally while rows are written, so any size works
+     * 
+     * @param request Request whose body holds the payments
+     * @return Summary of rows read, loaded and rejected
+     */
+    @PostMapping(value = "/bulk", consumes = {CSV, NDJSON})
+    public ResponseEntity<PaymentIngestSummary> bulkLoad(HttpServletRequest request) {
+        String format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))
+            ? PaymentIngestService.FORMAT_CSV : PaymentIngestService.FORMAT_NDJSON;
+        logger.info("Request received for bulk payment load, format={}", format);
+        
+        try {
+            PaymentIngestSummary summary = paymentIngestService.ingest(request.getInputStream(), format);
+            logger.info("Successfully loaded payments: {}", summary);
+            return ResponseEntity.ok(summary);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk payment load request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error loading payments: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
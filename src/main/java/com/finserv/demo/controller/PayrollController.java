@@ -0,0 +1,84 @@
+package com.finserv.demo.controller;
+
+import com.finserv.demo.dto.PayrollMonthTotals;
+import com.finserv.demo.entity.PayrollRollup;
+import com.finserv.demo.service.PayrollRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * REST Controller for payroll reports, served from the per-employee monthly rollup
+ */
+@RestController
+@RequestMapping("/api/payroll")
+@CrossOrigin(origins = "*")
+public class PayrollController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PayrollController.class);
+    
+    @Autowired
+    private PayrollRollupService payrollRollupService;
+    
+    /**
+     * Get an employee's payment count, total and maximum per month
+     * 
+     * @param empId Employee ID
+     * @param from First month, e.g. 2025-01
+     * @param to Last month, inclusive
+     * @return One row per month with payments, oldest first
+     */
+    @GetMapping("/employees/{empId}")
+    public ResponseEntity<List<PayrollRollup>> getEmployeeHistory(
+            @PathVariable Long empId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        logger.info("Request received for payroll history of employee {} from {} to {}", empId, from, to);
+        
+        try {
+            List<PayrollRollup> history = payrollRollupService.getEmployeeHistory(empId, from, to);
+            logger.info("Successfully retrieved {} payroll months for employee {}", history.size(), empId);
+            return ResponseEntity.ok(history);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payroll history request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving payroll history: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the payroll totals across all employees per month
+     * 
+     * @param from First month, e.g. 2025-01
+     * @param to Last month, inclusive
+     * @return One row per month with payments, oldest first
+     */
+    @GetMapping("/months")
+    public ResponseEntity<List<PayrollMonthTotals>> getMonthTotals(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        logger.info("Request received for payroll month totals from {} to {}", from, to);
+        
+        try {
+            List<PayrollMonthTotals> totals = payrollRollupService.getMonthTotals(from, to);
+            logger.info("Successfully retrieved payroll totals for {} months", totals.size());
+            return ResponseEntity.ok(totals);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payroll month totals request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving payroll month totals: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package com.finserv.demo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.finserv.demo.dto.AggregateConsistencyResult;
+import com.finserv.demo.dto.DepartmentSalaryStats;
+import com.finserv.demo.dto.DistinctEmployeeCount;
+import com.finserv.demo.dto.PaymentBucketAggregate;
+import com.finserv.demo.dto.PaymentPage;
+import com.finserv.demo.dto.PaymentRangePage;
+import com.finserv.demo.dto.PaymentRetentionResult;
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisReport;
+import com.finserv.demo.dto.SalaryAnalysisRequest;
 import com.finserv.demo.dto.SalaryAnalysisResult;
 import com.finserv.demo.entity.Payment;
+import com.finserv.demo.service.DepartmentStatsService;
+import com.finserv.demo.service.PaymentRetentionService;
 import com.finserv.demo.service.SalaryAnalysisService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -22,9 +43,20 @@ public class SalaryAnalysisController {
     
     private static final Logger logger = LoggerFactory.getLogger(SalaryAnalysisController.class);
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     @Autowired
     private SalaryAnalysisService salaryAnalysisService;
     
+    @Autowired
+    private PaymentRetentionService paymentRetentionService;
+    
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Get the highest salary not credited on 1st day of month
      * 
@@ -91,6 +123,216 @@ public class SalaryAnalysisController {
         }
     }
     
+    /**
+     * Stream all payments not on the 1st day of month as newline-delimited JSON.
+     * Rows are read from a database cursor and written as they arrive, so memory stays
+     * constant however many payments match
+     * 
+     * @return NDJSON stream of payments, one per line
+     */
+    @GetMapping(value = "/payments-not-first-day/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamPaymentsNotOnFirstDay() {
+        logger.info("Request received for payment stream not on first day");
+        
+        StreamingResponseBody body = outputStream -> {
+            // Values are separated by newlines; the generator flushes its small buffer to
+            // the response as it fills, so nothing accumulates beyond one chunk
+            SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(outputStream);
+            long count = salaryAnalysisService.streamPaymentsNotOnFirstDay(payment -> {
+                try {
+                    writer.write(payment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (count > 0) {
+                outputStream.write('\n');
+            }
+            logger.info("Successfully streamed {} payments not on first day", count);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+    
+    /**
+     * Get one keyset page of payments not on the 1st day of month, in payment ID order
+     * 
+     * @param after Last payment ID of the previous page (nextAfter), 0 for the first page
+     * @param limit Page size
+     * @return Page of payments with the cursor for the next page
+     */
+    @GetMapping("/payments-not-first-day/page")
+    public ResponseEntity<PaymentPage> getPaymentsNotOnFirstDayPage(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Request received for payments not on first day after {}, limit {}", after, limit);
+        
+        try {
+            PaymentPage page = salaryAnalysisService.getPaymentsNotOnFirstDayAfter(after, limit);
+            logger.info("Successfully retrieved {} payments, nextAfter={}", 
+                page.getPayments().size(), page.getNextAfter());
+            return ResponseEntity.ok(page);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payments page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving payments page: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get one keyset page of payments made in [from, to), oldest first
+     * 
+     * @param from Inclusive start of the range, e.g. 2025-01-01T00:00
+     * @param to Exclusive end of the range
+     * @param afterTime nextAfterTime of the previous page, omitted for the first page
+     * @param afterId nextAfterId of the previous page, omitted for the first page
+     * @param limit Page size
+     * @return Page of payments with the cursor for the next page
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<PaymentRangePage> getPaymentsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTime,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Request received for payments between {} and {} after {}/{}, limit {}", 
+            from, to, afterTime, afterId, limit);
+        
+        try {
+            PaymentRangePage page = salaryAnalysisService.getPaymentsBetween(from, to, afterTime, afterId, limit);
+            logger.info("Successfully retrieved {} payments, nextAfterTime={}, nextAfterId={}", 
+                page.getPayments().size(), page.getNextAfterTime(), page.getNextAfterId());
+            return ResponseEntity.ok(page);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payments range request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving payments in range: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the highest salary not credited on 1st day of month among payments made in [from, to)
+     * 
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @return Salary analysis result with employee details
+     */
+    @GetMapping("/highest-not-first-day/range")
+    public ResponseEntity<SalaryAnalysisResult> getHighestSalaryNotOnFirstDayBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Request received for highest salary not on first day between {} and {}", from, to);
+        
+        try {
+            SalaryAnalysisResult result = salaryAnalysisService.findHighestSalaryNotOnFirstDayBetween(from, to);
+            
+            if (result != null) {
+                logger.info("Successfully retrieved salary analysis result: {}", result);
+                return ResponseEntity.ok(result);
+            } else {
+                logger.warn("No salary analysis result found between {} and {}", from, to);
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid salary analysis range request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving salary analysis in range: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get payment totals, overall and not on the 1st day of month, of payments made in [from, to)
+     * 
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @return Payment totals
+     */
+    @GetMapping("/totals")
+    public ResponseEntity<PaymentTotals> getPaymentTotalsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        logger.info("Request received for payment totals between {} and {}", from, to);
+        
+        try {
+            PaymentTotals totals = salaryAnalysisService.getPaymentTotalsBetween(from, to);
+            logger.info("Successfully retrieved payment totals: {}", totals);
+            return ResponseEntity.ok(totals);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payment totals request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving payment totals: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Remove all payments made before a month, a whole month at a time
+     * 
+     * @param before First month to keep, e.g. 2024-01
+     * @param archive Whether to copy the removed payments into payments_archive first
+     * @return Months removed and row counts
+     */
+    @PostMapping("/payments/retention")
+    public ResponseEntity<PaymentRetentionResult> removePaymentsBefore(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth before,
+            @RequestParam(defaultValue = "true") boolean archive) {
+        logger.info("Request received for payment retention before {}, archive={}", before, archive);
+        
+        try {
+            PaymentRetentionResult result = paymentRetentionService.removePaymentsBefore(before, archive);
+            logger.info("Successfully applied payment retention: {}", result);
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid payment retention request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error applying payment retention: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the K highest payments, highest amount first with ties broken by payment ID
+     * 
+     * @param k Number of payments to return
+     * @param excludeFirstDay Whether to skip payments made on the 1st day of month
+     * @return List of payments
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<Payment>> getTopPayments(
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "true") boolean excludeFirstDay) {
+        logger.info("Request received for top {} payments, excludeFirstDay={}", k, excludeFirstDay);
+        
+        try {
+            List<Payment> payments = salaryAnalysisService.getTopPayments(k, excludeFirstDay);
+            logger.info("Successfully retrieved {} top payments", payments.size());
+            return ResponseEntity.ok(payments);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid top payments request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving top payments: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     /**
      * Get the maximum amount among payments not on the 1st day
      * 
@@ -117,6 +359,219 @@ public class SalaryAnalysisController {
         }
     }
     
+    /**
+     * Compute several salary metrics together, sharing one pass over the payments
+     * instead of one query per metric
+     * 
+     * @param request Metrics to compute
+     * @return Report with a value for each requested metric
+     */
+    @PostMapping("/analyze")
+    public ResponseEntity<SalaryAnalysisReport> analyze(@RequestBody SalaryAnalysisRequest request) {
+        logger.info("Request received for salary analysis of {}", request.getMetrics());
+        
+        try {
+            SalaryAnalysisReport report = salaryAnalysisService.analyze(request.getMetrics());
+            logger.info("Successfully computed salary analysis: {}", report);
+            return ResponseEntity.ok(report);
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid salary analysis request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error computing salary analysis: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get salary statistics per department: payment count, min, max, mean and
+     * approximate p50 / p90 / p99
+     * 
+     * @return One entry per department with payments
+     */
+    @GetMapping("/departments/stats")
+    public ResponseEntity<List<DepartmentSalaryStats>> getDepartmentStats() {
+        logger.info("Request received for department salary statistics");
+        
+        try {
+            List<DepartmentSalaryStats> stats = departmentStatsService.getDepartmentStats();
+            logger.info("Successfully computed salary statistics for {} departments", stats.size());
+            return ResponseEntity.ok(stats);
+            
+        } catch (Exception e) {
+            logger.error("Error computing department salary statistics: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the maintained count, sum and max of every payment bucket
+     * 
+     * @return List of bucket aggregates
+     */
+    @GetMapping("/aggregates")
+    public ResponseEntity<List<PaymentBucketAggregate>> getPaymentAggregates() {
+        logger.info("Request received for payment aggregates");
+        
+        try {
+            List<PaymentBucketAggregate> aggregates = salaryAnalysisService.getPaymentAggregates();
+            
+            if (aggregates != null) {
+                logger.info("Successfully retrieved {} payment aggregate buckets", aggregates.size());
+                return ResponseEntity.ok(aggregates);
+            } else {
+                logger.warn("Payment aggregates are not enabled");
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error retrieving payment aggregates: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Compare the maintained payment aggregates with the SQL answer
+     * 
+     * @return Consistency result with any mismatching buckets
+     */
+    @GetMapping("/aggregates/consistency")
+    public ResponseEntity<AggregateConsistencyResult> checkPaymentAggregates() {
+        logger.info("Request received for payment aggregates consistency check");
+        
+        try {
+            AggregateConsistencyResult result = salaryAnalysisService.checkPaymentAggregates();
+            
+            if (result != null) {
+                logger.info("Payment aggregates consistency check: {}", result);
+                return ResponseEntity.ok(result);
+            } else {
+                logger.warn("Payment aggregates are not enabled");
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error checking payment aggregates: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the approximate number of distinct employees paid in a range of months, from
+     * HyperLogLog sketches (relative standard error 1.04 / sqrt(2^precision))
+     * 
+     * @param from First month, e.g. 2025-01
+     * @param to Last month, inclusive
+     * @param departmentId Department to count, all employees if omitted
+     * @param excludeFirstDay Count only payments not made on the 1st of the month
+     * @param precision Sketch precision, at most the maintained one (the default)
+     * @return Estimate over the whole range
+     */
+    @GetMapping("/distinct-employees")
+    public ResponseEntity<DistinctEmployeeCount> countDistinctEmployees(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(defaultValue = "true") boolean excludeFirstDay,
+            @RequestParam(required = false) Integer precision) {
+        logger.info("Request received for distinct employees from {} to {} (department {}, excludeFirstDay {})",
+            from, to, departmentId, excludeFirstDay);
+        
+        try {
+            DistinctEmployeeCount count = salaryAnalysisService.countDistinctEmployees(
+                from, to, departmentId, excludeFirstDay, precision);
+            
+            if (count != null) {
+                logger.info("Successfully estimated distinct employees: {}", count);
+                return ResponseEntity.ok(count);
+            } else {
+                logger.warn("Distinct-employee sketches are not enabled");
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid distinct employees request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error estimating distinct employees: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the approximate number of distinct employees paid in each month of a range
+     * 
+     * @return One estimate per month with payments, oldest first
+     * @see #countDistinctEmployees
+     */
+    @GetMapping("/distinct-employees/months")
+    public ResponseEntity<List<DistinctEmployeeCount>> countDistinctEmployeesByMonth(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(defaultValue = "true") boolean excludeFirstDay,
+            @RequestParam(required = false) Integer precision) {
+        logger.info("Request received for distinct employees per month from {} to {} (department {}, excludeFirstDay {})",
+            from, to, departmentId, excludeFirstDay);
+        
+        try {
+            List<DistinctEmployeeCount> counts = salaryAnalysisService.countDistinctEmployeesByMonth(
+                from, to, departmentId, excludeFirstDay, precision);
+            
+            if (counts != null) {
+                logger.info("Successfully estimated distinct employees for {} months", counts.size());
+                return ResponseEntity.ok(counts);
+            } else {
+                logger.warn("Distinct-employee sketches are not enabled");
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid distinct employees request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error estimating distinct employees per month: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Get the approximate number of distinct employees paid in a range of months, per department
+     * 
+     * @return One estimate per department with payments, by department ID
+     * @see #countDistinctEmployees
+     */
+    @GetMapping("/distinct-employees/departments")
+    public ResponseEntity<List<DistinctEmployeeCount>> countDistinctEmployeesByDepartment(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "true") boolean excludeFirstDay,
+            @RequestParam(required = false) Integer precision) {
+        logger.info("Request received for distinct employees per department from {} to {} (excludeFirstDay {})",
+            from, to, excludeFirstDay);
+        
+        try {
+            List<DistinctEmployeeCount> counts = salaryAnalysisService.countDistinctEmployeesByDepartment(
+                from, to, excludeFirstDay, precision);
+            
+            if (counts != null) {
+                logger.info("Successfully estimated distinct employees for {} departments", counts.size());
+                return ResponseEntity.ok(counts);
+            } else {
+                logger.warn("Distinct-employee sketches are not enabled");
+                return ResponseEntity.notFound().build();
+            }
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid distinct employees request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error estimating distinct employees per department: ", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     /**
      * Health check endpoint
      * 
@@ -0,0 +1,57 @@
+package com.finserv.demo.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a comparison of the incrementally maintained payment aggregates
+ * against the same aggregates computed by SQL
+ */
+public class AggregateConsistencyResult {
+    private boolean consistent;
+    private int bucketsChecked;
+    private List<String> mismatches;
+
+    // Default constructor
+    public AggregateConsistencyResult() {}
+
+    // Parameterized constructor
+    public AggregateConsistencyResult(int bucketsChecked, List<String> mismatches) {
+        this.consistent = mismatches.isEmpty();
+        this.bucketsChecked = bucketsChecked;
+        this.mismatches = mismatches;
+    }
+
+    // Getters and Setters
+    public boolean isConsistent() {
+        return consistent;
+    }
+
+    public void setConsistent(boolean consistent) {
+        this.consistent = consistent;
+    }
+
+    public int getBucketsChecked() {
+        return bucketsChecked;
+    }
+
+    public void setBucketsChecked(int bucketsChecked) {
+        this.bucketsChecked = bucketsChecked;
+    }
+
+    public List<String> getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(List<String> mismatches) {
+        this.mismatches = mismatches;
+    }
+
+    @Override
+    public String toString() {
+        return "AggregateConsistencyResult{" +
+                "consistent=" + consistent +
+                ", bucketsChecked=" + bucketsChecked +
+                ", mismatches=" + mismatches +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.finserv.demo.dto;
+
+/**
+ * DTO summarizing a bulk load: how many rows were written, in how many
+ * transactions, and the resulting throughput
+ */
+public class BulkLoadSummary {
+    private long rowsLoaded;
+    private int chunks;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    // Default constructor
+    public BulkLoadSummary() {}
+
+    // Parameterized constructor
+    public BulkLoadSummary(long rowsLoaded, int chunks, long elapsedMillis) {
+        this.rowsLoaded = rowsLoaded;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? rowsLoaded * 1000 / elapsedMillis : rowsLoaded;
+    }
+
+    // Getters and Setters
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public void setRowsLoaded(long rowsLoaded) {
+        this.rowsLoaded = rowsLoaded;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadSummary{" +
+                "rowsLoaded=" + rowsLoaded +
+                ", chunks=" + chunks +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                '}';
+    }
+}
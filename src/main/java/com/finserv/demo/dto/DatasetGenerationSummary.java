@@ -0,0 +1,142 @@
+package com.finserv.demo.dto;
+
+/**
+ * DTO summarizing a generated dataset: rows written per table, the first ID of each
+ * table's contiguous ID range, and the overall throughput
+ */
+public class DatasetGenerationSummary {
+    private int departments;
+    private long employees;
+    private long payments;
+    private long orders;
+    private long firstDepartmentId;
+    private long firstEmployeeId;
+    private long firstPaymentId;
+    private long firstOrderId;
+    private int parallelism;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    // Default constructor
+    public DatasetGenerationSummary() {}
+
+    // Parameterized constructor
+    public DatasetGenerationSummary(int departments, long employees, long payments, long orders,
+                                    long firstDepartmentId, long firstEmployeeId, long firstPaymentId, long firstOrderId,
+                                    int parallelism, long elapsedMillis) {
+        this.departments = departments;
+        this.employees = employees;
+        this.payments = payments;
+        this.orders = orders;
+        this.firstDepartmentId = firstDepartmentId;
+        this.firstEmployeeId = firstEmployeeId;
+        this.firstPaymentId = firstPaymentId;
+        this.firstOrderId = firstOrderId;
+        this.parallelism = parallelism;
+        this.elapsedMillis = elapsedMillis;
+        long rows = departments + employees + payments + orders;
+        this.rowsPerSecond = elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows;
+    }
+
+    // Getters and Setters
+    public int getDepartments() {
+        return departments;
+    }
+
+    public void setDepartments(int departments) {
+        this.departments = departments;
+    }
+
+    public long getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(long employees) {
+        this.employees = employees;
+    }
+
+    public long getPayments() {
+        return payments;
+    }
+
+    public void setPayments(long payments) {
+        this.payments = payments;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public void setOrders(long orders) {
+        this.orders = orders;
+    }
+
+    public long getFirstDepartmentId() {
+        return firstDepartmentId;
+    }
+
+    public void setFirstDepartmentId(long firstDepartmentId) {
+        this.firstDepartmentId = firstDepartmentId;
+    }
+
+    public long getFirstEmployeeId() {
+        return firstEmployeeId;
+    }
+
+    public void setFirstEmployeeId(long firstEmployeeId) {
+        this.firstEmployeeId = firstEmployeeId;
+    }
+
+    public long getFirstPaymentId() {
+        return firstPaymentId;
+    }
+
+    public void setFirstPaymentId(long firstPaymentId) {
+        this.firstPaymentId = firstPaymentId;
+    }
+
+    public long getFirstOrderId() {
+        return firstOrderId;
+    }
+
+    public void setFirstOrderId(long firstOrderId) {
+        this.firstOrderId = firstOrderId;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetGenerationSummary{" +
+                "departments=" + departments +
+                ", employees=" + employees +
+                ", payments=" + payments +
+                ", orders=" + orders +
+                ", parallelism=" + parallelism +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                '}';
+    }
+}
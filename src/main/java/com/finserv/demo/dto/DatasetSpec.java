@@ -0,0 +1,197 @@
+package com.finserv.demo.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO describing a synthetic dataset: how many rows of each table to generate and the
+ * distributions to draw them from. The same seed and settings always produce the same
+ * rows. Field defaults are the values used when a setting is left out
+ */
+public class DatasetSpec {
+    private long seed = 42;
+    private int departments = 6;
+    private long employees = 1_000;
+    private long payments = 100_000;
+    private long orders = 0;
+
+    /**
+     * Employees' base salaries are log-normal around the median; salarySpread is the
+     * standard deviation of the log, so larger values give a longer high-salary tail.
+     * Each payment varies its employee's base salary by up to +/- paymentJitter
+     */
+    private BigDecimal salaryMedian = new BigDecimal("65000");
+    private double salarySpread = 0.35;
+    private double paymentJitter = 0.05;
+
+    /**
+     * Share of payments made on the 1st day of the month, between 0 and 1
+     */
+    private double firstDayShare = 0.3;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dobFrom = LocalDate.of(1960, 1, 1);
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dobTo = LocalDate.of(2004, 1, 1);
+
+    /**
+     * Payments and orders are dated in the months from paymentsFrom up to, excluding, paymentsTo
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate paymentsFrom = LocalDate.of(2024, 1, 1);
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate paymentsTo = LocalDate.of(2026, 1, 1);
+
+    /**
+     * Worker threads writing partitions; 0 means one per available processor.
+     * Does not affect the generated rows
+     */
+    private int parallelism = 0;
+
+    // Default constructor
+    public DatasetSpec() {}
+
+    // Parameterized constructor
+    public DatasetSpec(long seed, int departments, long employees, long payments, long orders) {
+        this.seed = seed;
+        this.departments = departments;
+        this.employees = employees;
+        this.payments = payments;
+        this.orders = orders;
+    }
+
+    // Getters and Setters
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getDepartments() {
+        return departments;
+    }
+
+    public void setDepartments(int departments) {
+        this.departments = departments;
+    }
+
+    public long getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(long employees) {
+        this.employees = employees;
+    }
+
+    public long getPayments() {
+        return payments;
+    }
+
+    public void setPayments(long payments) {
+        this.payments = payments;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public void setOrders(long orders) {
+        this.orders = orders;
+    }
+
+    public BigDecimal getSalaryMedian() {
+        return salaryMedian;
+    }
+
+    public void setSalaryMedian(BigDecimal salaryMedian) {
+        this.salaryMedian = salaryMedian;
+    }
+
+    public double getSalarySpread() {
+        return salarySpread;
+    }
+
+    public void setSalarySpread(double salarySpread) {
+        this.salarySpread = salarySpread;
+    }
+
+    public double getPaymentJitter() {
+        return paymentJitter;
+    }
+
+    public void setPaymentJitter(double paymentJitter) {
+        this.paymentJitter = paymentJitter;
+    }
+
+    public double getFirstDayShare() {
+        return firstDayShare;
+    }
+
+    public void setFirstDayShare(double firstDayShare) {
+        this.firstDayShare = firstDayShare;
+    }
+
+    public LocalDate getDobFrom() {
+        return dobFrom;
+    }
+
+    public void setDobFrom(LocalDate dobFrom) {
+        this.dobFrom = dobFrom;
+    }
+
+    public LocalDate getDobTo() {
+        return dobTo;
+    }
+
+    public void setDobTo(LocalDate dobTo) {
+        this.dobTo = dobTo;
+    }
+
+    public LocalDate getPaymentsFrom() {
+        return paymentsFrom;
+    }
+
+    public void setPaymentsFrom(LocalDate paymentsFrom) {
+        this.paymentsFrom = paymentsFrom;
+    }
+
+    public LocalDate getPaymentsTo() {
+        return paymentsTo;
+    }
+
+    public void setPaymentsTo(LocalDate paymentsTo) {
+        this.paymentsTo = paymentsTo;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetSpec{" +
+                "seed=" + seed +
+                ", departments=" + departments +
+                ", employees=" + employees +
+                ", payments=" + payments +
+                ", orders=" + orders +
+                ", salaryMedian=" + salaryMedian +
+                ", salarySpread=" + salarySpread +
+                ", paymentJitter=" + paymentJitter +
+                ", firstDayShare=" + firstDayShare +
+                ", dobFrom=" + dobFrom +
+                ", dobTo=" + dobTo +
+                ", paymentsFrom=" + paymentsFrom +
+                ", paymentsTo=" + paymentsTo +
+                ", parallelism=" + parallelism +
+                '}';
+    }
+}
@@ -0,0 +1,126 @@
+package com.finserv.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the salary statistics of one department over all its payments. Count, minimum,
+ * maximum and mean are exact; the percentiles come from a quantile sketch and are within
+ * the sketch accuracy of the exact value
+ */
+public class DepartmentSalaryStats {
+    private Long departmentId;
+    private String departmentName;
+    private long paymentCount;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private BigDecimal meanSalary;
+    private BigDecimal p50Salary;
+    private BigDecimal p90Salary;
+    private BigDecimal p99Salary;
+
+    // Default constructor
+    public DepartmentSalaryStats() {}
+
+    // Parameterized constructor
+    public DepartmentSalaryStats(Long departmentId, String departmentName, long paymentCount, BigDecimal minSalary,
+                                 BigDecimal maxSalary, BigDecimal meanSalary, BigDecimal p50Salary,
+                                 BigDecimal p90Salary, BigDecimal p99Salary) {
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.paymentCount = paymentCount;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.meanSalary = meanSalary;
+        this.p50Salary = p50Salary;
+        this.p90Salary = p90Salary;
+        this.p99Salary = p99Salary;
+    }
+
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+
+    public BigDecimal getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(BigDecimal minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public BigDecimal getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(BigDecimal maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public BigDecimal getMeanSalary() {
+        return meanSalary;
+    }
+
+    public void setMeanSalary(BigDecimal meanSalary) {
+        this.meanSalary = meanSalary;
+    }
+
+    public BigDecimal getP50Salary() {
+        return p50Salary;
+    }
+
+    public void setP50Salary(BigDecimal p50Salary) {
+        this.p50Salary = p50Salary;
+    }
+
+    public BigDecimal getP90Salary() {
+        return p90Salary;
+    }
+
+    public void setP90Salary(BigDecimal p90Salary) {
+        this.p90Salary = p90Salary;
+    }
+
+    public BigDecimal getP99Salary() {
+        return p99Salary;
+    }
+
+    public void setP99Salary(BigDecimal p99Salary) {
+        this.p99Salary = p99Salary;
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentSalaryStats{" +
+                "departmentId=" + departmentId +
+                ", departmentName='" + departmentName + '\'' +
+                ", paymentCount=" + paymentCount +
+                ", minSalary=" + minSalary +
+                ", maxSalary=" + maxSalary +
+                ", meanSalary=" + meanSalary +
+                ", p50Salary=" + p50Salary +
+                ", p90Salary=" + p90Salary +
+                ", p99Salary=" + p99Salary +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.finserv.demo.dto;
+
+/**
+ * DTO for an approximate number of distinct employees paid, from HyperLogLog sketches.
+ * paymentMonth is null when the count spans the whole requested range, departmentId is
+ * null when it spans all departments. About 68% of estimates are within
+ * relativeStandardError of the exact count, about 99.7% within three times it
+ */
+public class DistinctEmployeeCount {
+    private Integer paymentMonth;
+    private Long departmentId;
+    private long distinctEmployees;
+    private int precision;
+    private double relativeStandardError;
+
+    // Default constructor
+    public DistinctEmployeeCount() {}
+
+    // Parameterized constructor
+    public DistinctEmployeeCount(Integer paymentMonth, Long departmentId, long distinctEmployees,
+                                 int precision, double relativeStandardError) {
+        this.paymentMonth = paymentMonth;
+        this.departmentId = departmentId;
+        this.distinctEmployees = distinctEmployees;
+        this.precision = precision;
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    // Getters and Setters
+    public Integer getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    public void setPaymentMonth(Integer paymentMonth) {
+        this.paymentMonth = paymentMonth;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public long getDistinctEmployees() {
+        return distinctEmployees;
+    }
+
+    public void setDistinctEmployees(long distinctEmployees) {
+        this.distinctEmployees = distinctEmployees;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    public double getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(double relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    @Override
+    public String toString() {
+        return "DistinctEmployeeCount{" +
+                "paymentMonth=" + paymentMonth +
+                ", departmentId=" + departmentId +
+                ", distinctEmployees=" + distinctEmployees +
+                ", precision=" + precision +
+                ", relativeStandardError=" + relativeStandardError +
+                '}';
+    }
+}
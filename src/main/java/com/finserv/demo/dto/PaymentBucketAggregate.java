@@ -0,0 +1,79 @@
+package com.finserv.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the running count, sum and maximum of one payment bucket
+ * ("first-day", "other-days" or a month such as "2025-01")
+ */
+public class PaymentBucketAggregate {
+    private String bucket;
+    private long count;
+    private BigDecimal sum;
+    private BigDecimal maxAmount;
+    private Long maxPaymentId;
+
+    // Default constructor
+    public PaymentBucketAggregate() {}
+
+    // Parameterized constructor
+    public PaymentBucketAggregate(String bucket, long count, BigDecimal sum, BigDecimal maxAmount, Long maxPaymentId) {
+        this.bucket = bucket;
+        this.count = count;
+        this.sum = sum;
+        this.maxAmount = maxAmount;
+        this.maxPaymentId = maxPaymentId;
+    }
+
+    // Getters and Setters
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getSum() {
+        return sum;
+    }
+
+    public void setSum(BigDecimal sum) {
+        this.sum = sum;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public Long getMaxPaymentId() {
+        return maxPaymentId;
+    }
+
+    public void setMaxPaymentId(Long maxPaymentId) {
+        this.maxPaymentId = maxPaymentId;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentBucketAggregate{" +
+                "bucket='" + bucket + '\'' +
+                ", count=" + count +
+                ", sum=" + sum +
+                ", maxAmount=" + maxAmount +
+                ", maxPaymentId=" + maxPaymentId +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.finserv.demo.dto;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a streamed payment ingest: rows read, loaded and rejected, the
+ * first few reject reasons, and the resulting throughput
+ */
+public class PaymentIngestSummary {
+    private long rowsRead;
+    private long rowsLoaded;
+    private long rowsRejected;
+    private List<String> rejects;
+    private int chunks;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    // Default constructor
+    public PaymentIngestSummary() {}
+
+    // Parameterized constructor
+    public PaymentIngestSummary(long rowsRead, long rowsRejected, List<String> rejects, BulkLoadSummary load) {
+        this.rowsRead = rowsRead;
+        this.rowsLoaded = load.getRowsLoaded();
+        this.rowsRejected = rowsRejected;
+        this.rejects = rejects;
+        this.chunks = load.getChunks();
+        this.elapsedMillis = load.getElapsedMillis();
+        this.rowsPerSecond = elapsedMillis > 0 ? rowsRead * 1000 / elapsedMillis : rowsRead;
+    }
+
+    // Getters and Setters
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public void setRowsLoaded(long rowsLoaded) {
+        this.rowsLoaded = rowsLoaded;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public List<String> getRejects() {
+        return rejects;
+    }
+
+    public void setRejects(List<String> rejects) {
+        this.rejects = rejects;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentIngestSummary{" +
+                "rowsRead=" + rowsRead +
+                ", rowsLoaded=" + rowsLoaded +
+                ", rowsRejected=" + rowsRejected +
+                ", chunks=" + chunks +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.finserv.demo.dto;
+
+import com.finserv.demo.entity.Payment;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset-paginated page of payments.
+ * Pass nextAfter back as the "after" parameter to fetch the following page;
+ * it is null once the last page has been returned
+ */
+public class PaymentPage {
+    private List<Payment> payments;
+    private Long nextAfter;
+
+    // Default constructor
+    public PaymentPage() {}
+
+    // Parameterized constructor
+    public PaymentPage(List<Payment> payments, Long nextAfter) {
+        this.payments = payments;
+        this.nextAfter = nextAfter;
+    }
+
+    // Getters and Setters
+    public List<Payment> getPayments() {
+        return payments;
+    }
+
+    public void setPayments(List<Payment> payments) {
+        this.payments = payments;
+    }
+
+    public Long getNextAfter() {
+        return nextAfter;
+    }
+
+    public void setNextAfter(Long nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentPage{" +
+                "payments=" + payments.size() +
+                ", nextAfter=" + nextAfter +
+                '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.finserv.demo.dto;
+
+import com.finserv.demo.entity.Payment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for one keyset-paginated page of payments in a time range, oldest first.
+ * Pass nextAfterTime and nextAfterId back as "afterTime" and "afterId" to fetch the
+ * following page; both are null once the last page has been returned
+ */
+public class PaymentRangePage {
+    private List<Payment> payments;
+    private LocalDateTime nextAfterTime;
+    private Long nextAfterId;
+
+    // Default constructor
+    public PaymentRangePage() {}
+
+    // Parameterized constructor
+    public PaymentRangePage(List<Payment> payments, LocalDateTime nextAfterTime, Long nextAfterId) {
+        this.payments = payments;
+        this.nextAfterTime = nextAfterTime;
+        this.nextAfterId = nextAfterId;
+    }
+
+    // Getters and Setters
+    public List<Payment> getPayments() {
+        return payments;
+    }
+
+    public void setPayments(List<Payment> payments) {
+        this.payments = payments;
+    }
+
+    public LocalDateTime getNextAfterTime() {
+        return nextAfterTime;
+    }
+
+    public void setNextAfterTime(LocalDateTime nextAfterTime) {
+        this.nextAfterTime = nextAfterTime;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentRangePage{" +
+                "payments=" + payments.size() +
+                ", nextAfterTime=" + nextAfterTime +
+                ", nextAfterId=" + nextAfterId +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.finserv.demo.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a payment retention run: which months were removed from the
+ * payments table and how many rows were archived and deleted
+ */
+public class PaymentRetentionResult {
+    private List<Integer> months;
+    private long rowsArchived;
+    private long rowsDeleted;
+
+    // Default constructor
+    public PaymentRetentionResult() {}
+
+    // Parameterized constructor
+    public PaymentRetentionResult(List<Integer> months, long rowsArchived, long rowsDeleted) {
+        this.months = months;
+        this.rowsArchived = rowsArchived;
+        this.rowsDeleted = rowsDeleted;
+    }
+
+    // Getters and Setters
+    public List<Integer> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<Integer> months) {
+        this.months = months;
+    }
+
+    public long getRowsArchived() {
+        return rowsArchived;
+    }
+
+    public void setRowsArchived(long rowsArchived) {
+        this.rowsArchived = rowsArchived;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public void setRowsDeleted(long rowsDeleted) {
+        this.rowsDeleted = rowsDeleted;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentRetentionResult{" +
+                "months=" + months +
+                ", rowsArchived=" + rowsArchived +
+                ", rowsDeleted=" + rowsDeleted +
+                '}';
+    }
+}
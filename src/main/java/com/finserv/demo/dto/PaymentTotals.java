@@ -0,0 +1,91 @@
+package com.finserv.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the conditional aggregates of the payments table, all computed by one
+ * statement in a single pass. Sums and maximums are null when no payment matches
+ */
+public class PaymentTotals {
+    private long paymentCount;
+    private BigDecimal totalAmount;
+    private BigDecimal maxAmount;
+    private long paymentCountNotFirstDay;
+    private BigDecimal totalAmountNotFirstDay;
+    private BigDecimal maxAmountNotFirstDay;
+
+    // Default constructor
+    public PaymentTotals() {}
+
+    // Parameterized constructor
+    public PaymentTotals(Long paymentCount, BigDecimal totalAmount, BigDecimal maxAmount,
+                         Long paymentCountNotFirstDay, BigDecimal totalAmountNotFirstDay, BigDecimal maxAmountNotFirstDay) {
+        this.paymentCount = paymentCount != null ? paymentCount : 0;
+        this.totalAmount = totalAmount;
+        this.maxAmount = maxAmount;
+        this.paymentCountNotFirstDay = paymentCountNotFirstDay != null ? paymentCountNotFirstDay : 0;
+        this.totalAmountNotFirstDay = totalAmountNotFirstDay;
+        this.maxAmountNotFirstDay = maxAmountNotFirstDay;
+    }
+
+    // Getters and Setters
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public long getPaymentCountNotFirstDay() {
+        return paymentCountNotFirstDay;
+    }
+
+    public void setPaymentCountNotFirstDay(long paymentCountNotFirstDay) {
+        this.paymentCountNotFirstDay = paymentCountNotFirstDay;
+    }
+
+    public BigDecimal getTotalAmountNotFirstDay() {
+        return totalAmountNotFirstDay;
+    }
+
+    public void setTotalAmountNotFirstDay(BigDecimal totalAmountNotFirstDay) {
+        this.totalAmountNotFirstDay = totalAmountNotFirstDay;
+    }
+
+    public BigDecimal getMaxAmountNotFirstDay() {
+        return maxAmountNotFirstDay;
+    }
+
+    public void setMaxAmountNotFirstDay(BigDecimal maxAmountNotFirstDay) {
+        this.maxAmountNotFirstDay = maxAmountNotFirstDay;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentTotals{" +
+                "paymentCount=" + paymentCount +
+                ", totalAmount=" + totalAmount +
+                ", maxAmount=" + maxAmount +
+                ", paymentCountNotFirstDay=" + paymentCountNotFirstDay +
+                ", totalAmountNotFirstDay=" + totalAmountNotFirstDay +
+                ", maxAmountNotFirstDay=" + maxAmountNotFirstDay +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.finserv.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the payroll of one month across all employees, summed from the
+ * per-employee rollup rows of that month
+ */
+public class PayrollMonthTotals {
+    private Integer paymentMonth;
+    private long employeeCount;
+    private long paymentCount;
+    private BigDecimal totalAmount;
+    private BigDecimal maxAmount;
+
+    // Default constructor
+    public PayrollMonthTotals() {}
+
+    // Parameterized constructor
+    public PayrollMonthTotals(Integer paymentMonth, Long employeeCount, Long paymentCount,
+                              BigDecimal totalAmount, BigDecimal maxAmount) {
+        this.paymentMonth = paymentMonth;
+        this.employeeCount = employeeCount != null ? employeeCount : 0;
+        this.paymentCount = paymentCount != null ? paymentCount : 0;
+        this.totalAmount = totalAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    // Getters and Setters
+    public Integer getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    public void setPaymentMonth(Integer paymentMonth) {
+        this.paymentMonth = paymentMonth;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollMonthTotals{" +
+                "paymentMonth=" + paymentMonth +
+                ", employeeCount=" + employeeCount +
+                ", paymentCount=" + paymentCount +
+                ", totalAmount=" + totalAmount +
+                ", maxAmount=" + maxAmount +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.finserv.demo.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO for a composite salary analysis: each requested metric with its value, in
+ * request order. Counts are numbers, amounts are decimals, HIGHEST_SALARY_NOT_FIRST_DAY
+ * is a SalaryAnalysisResult; a value is null when no payment matches
+ */
+public class SalaryAnalysisReport {
+    private Map<SalaryMetric, Object> metrics = new LinkedHashMap<>();
+
+    // Default constructor
+    public SalaryAnalysisReport() {}
+
+    // Parameterized constructor
+    public SalaryAnalysisReport(Map<SalaryMetric, Object> metrics) {
+        this.metrics = metrics;
+    }
+
+    // Getters and Setters
+    public Map<SalaryMetric, Object> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Map<SalaryMetric, Object> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryAnalysisReport{" +
+                "metrics=" + metrics +
+                '}';
+    }
+}
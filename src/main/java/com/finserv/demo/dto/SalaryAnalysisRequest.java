@@ -0,0 +1,34 @@
+package com.finserv.demo.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a composite salary analysis request: the metrics to compute together
+ */
+public class SalaryAnalysisRequest {
+    private List<SalaryMetric> metrics;
+
+    // Default constructor
+    public SalaryAnalysisRequest() {}
+
+    // Parameterized constructor
+    public SalaryAnalysisRequest(List<SalaryMetric> metrics) {
+        this.metrics = metrics;
+    }
+
+    // Getters and Setters
+    public List<SalaryMetric> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(List<SalaryMetric> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryAnalysisRequest{" +
+                "metrics=" + metrics +
+                '}';
+    }
+}
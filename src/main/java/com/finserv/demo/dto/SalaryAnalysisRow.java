@@ -0,0 +1,81 @@
+package com.finserv.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a payment joined with its employee and department.
+ * Populated directly by a JPQL constructor expression, so building a
+ * SalaryAnalysisResult needs neither managed entities nor extra lookups.
+ * The employee and department are outer-joined: employeeId / departmentId are
+ * null when the payment references a missing employee or department
+ */
+public class SalaryAnalysisRow {
+    private final Long paymentId;
+    private final BigDecimal amount;
+    private final Long employeeId;
+    private final String firstName;
+    private final String lastName;
+    private final LocalDate dob;
+    private final Long departmentId;
+    private final String departmentName;
+
+    public SalaryAnalysisRow(Long paymentId, BigDecimal amount, Long employeeId, String firstName, 
+                             String lastName, LocalDate dob, Long departmentId, String departmentName) {
+        this.paymentId = paymentId;
+        this.amount = amount;
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dob = dob;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+    }
+
+    // Getters
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public LocalDate getDob() {
+        return dob;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryAnalysisRow{" +
+                "paymentId=" + paymentId +
+                ", amount=" + amount +
+                ", employeeId=" + employeeId +
+                ", firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", dob=" + dob +
+                ", departmentId=" + departmentId +
+                ", departmentName='" + departmentName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.finserv.demo.dto;
+
+/**
+ * Metrics that can be requested together from POST /api/salary/analyze
+ */
+public enum SalaryMetric {
+    PAYMENT_COUNT(true),
+    TOTAL_AMOUNT(true),
+    MAX_AMOUNT(true),
+    PAYMENT_COUNT_NOT_FIRST_DAY(true),
+    TOTAL_AMOUNT_NOT_FIRST_DAY(true),
+    AVERAGE_AMOUNT_NOT_FIRST_DAY(true),
+    MAX_AMOUNT_NOT_FIRST_DAY(true),
+    HIGHEST_SALARY_NOT_FIRST_DAY(false);
+
+    private final boolean fromTotals;
+
+    SalaryMetric(boolean fromTotals) {
+        this.fromTotals = fromTotals;
+    }
+
+    /**
+     * @return true if the metric is answered from the single-pass PaymentTotals
+     */
+    public boolean isFromTotals() {
+        return fromTotals;
+    }
+}
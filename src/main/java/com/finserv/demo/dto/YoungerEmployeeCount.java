@@ -0,0 +1,77 @@
+package com.finserv.demo.dto;
+
+/**
+ * DTO for one row of the "younger employees per department" analysis:
+ * an employee and how many colleagues in the same department were born after them
+ */
+public class YoungerEmployeeCount {
+    private Long empId;
+    private String firstName;
+    private String lastName;
+    private String departmentName;
+    private long youngerEmployeesCount;
+
+    // Default constructor
+    public YoungerEmployeeCount() {}
+
+    // Parameterized constructor
+    public YoungerEmployeeCount(Long empId, String firstName, String lastName, String departmentName, long youngerEmployeesCount) {
+        this.empId = empId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.departmentName = departmentName;
+        this.youngerEmployeesCount = youngerEmployeesCount;
+    }
+
+    // Getters and Setters
+    public Long getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public long getYoungerEmployeesCount() {
+        return youngerEmployeesCount;
+    }
+
+    public void setYoungerEmployeesCount(long youngerEmployeesCount) {
+        this.youngerEmployeesCount = youngerEmployeesCount;
+    }
+
+    @Override
+    public String toString() {
+        return "YoungerEmployeeCount{" +
+                "empId=" + empId +
+                ", firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", departmentName='" + departmentName + '\'' +
+                ", youngerEmployeesCount=" + youngerEmployeesCount +
+                '}';
+    }
+}
@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "departments")
+@EntityListeners(DepartmentEntityListener.class)
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: Hibernate reserves 50 IDs per round trip and can batch inserts,
+    // which IDENTITY prevents (the ID is only known after each single-row INSERT)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "DEPARTMENT_SEQ", allocationSize = 50)
     @Column(name = "DEPARTMENT_ID")
     private Long departmentId;
     
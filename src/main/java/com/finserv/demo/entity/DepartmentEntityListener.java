@@ -0,0 +1,35 @@
+package com.finserv.demo.entity;
+
+import com.finserv.demo.event.DepartmentChangeEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA lifecycle listener that turns Department writes into DepartmentChangeEvents.
+ * Hibernate creates it through Spring's bean container, so the publisher is injected
+ */
+public class DepartmentEntityListener {
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Department department) {
+        publish(DepartmentChangeEvent.saved(department.getDepartmentId(), department.getDepartmentName()));
+    }
+
+    @PostRemove
+    void onRemove(Department department) {
+        publish(DepartmentChangeEvent.deleted(department.getDepartmentId()));
+    }
+
+    private void publish(DepartmentChangeEvent event) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
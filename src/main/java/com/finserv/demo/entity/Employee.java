@@ -4,10 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    // Serves per-department DOB ordering for the younger-employee counts
+    @Index(name = "IDX_EMPLOYEES_DEPARTMENT_DOB", columnList = "DEPARTMENT, DOB")
+})
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: Hibernate reserves 50 IDs per round trip and can batch inserts,
+    // which IDENTITY prevents (the ID is only known after each single-row INSERT)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "EMPLOYEE_SEQ", allocationSize = 50)
     @Column(name = "EMP_ID")
     private Long empId;
     
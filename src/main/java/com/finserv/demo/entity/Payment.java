@@ -1,14 +1,31 @@
 package com.finserv.demo.entity;
 
+import com.finserv.demo.event.PaymentSnapshot;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 @Entity
-@Table(name = "payments")
+@EntityListeners(PaymentEntityListener.class)
+@Table(name = "payments", indexes = {
+    // Lets "not on the 1st day" top-K / MAX lookups seek straight to the highest amount;
+    // PAYMENT_ID breaks ties so equal amounts still come back in index order
+    @Index(name = "IDX_PAYMENTS_FIRST_DAY_AMOUNT", columnList = "IS_FIRST_DAY, AMOUNT DESC, PAYMENT_ID"),
+    // Keyset pagination: seek to (flag, PAYMENT_ID > after) and read forward in ID order
+    @Index(name = "IDX_PAYMENTS_FIRST_DAY_ID", columnList = "IS_FIRST_DAY, PAYMENT_ID"),
+    // Month "partitions": a time-range read only touches the index ranges of the months it
+    // covers, in (time, ID) order so keyset pages need no sort
+    @Index(name = "IDX_PAYMENTS_MONTH_TIME", columnList = "PAYMENT_MONTH, PAYMENT_TIME, PAYMENT_ID"),
+    // Per-month "not on the 1st day" top-1 seeks for range analyses
+    @Index(name = "IDX_PAYMENTS_MONTH_FIRST_DAY_AMOUNT", columnList = "PAYMENT_MONTH, IS_FIRST_DAY, AMOUNT DESC, PAYMENT_ID")
+})
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: Hibernate reserves 50 IDs per round trip and can batch inserts,
+    // which IDENTITY prevents (the ID is only known after each single-row INSERT)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "PAYMENT_SEQ", allocationSize = 50)
     @Column(name = "PAYMENT_ID")
     private Long paymentId;
     
@@ -18,8 +35,31 @@ public class Payment {
     @Column(name = "AMOUNT")
     private BigDecimal amount;
     
-    @Column(name = "PAYMENT_TIME")
+    // Required: IS_FIRST_DAY is derived from it, and a payment without a time
+    // must not be counted as "not on the 1st day"
+    @Column(name = "PAYMENT_TIME", nullable = false)
     private LocalDateTime paymentTime;
+    
+    /**
+     * Persisted copy of "paymentTime falls on the 1st day of the month", kept in sync
+     * with paymentTime so queries can filter on an indexed column instead of DAY(...)
+     */
+    @Column(name = "IS_FIRST_DAY", nullable = false)
+    private boolean firstDayOfMonth;
+    
+    /**
+     * Month key (yyyyMM) of paymentTime. Computed by the database so JDBC bulk loads get it
+     * too; the Java copy is derived the same way and never written
+     */
+    @Column(name = "PAYMENT_MONTH", insertable = false, updatable = false,
+            columnDefinition = "INTEGER GENERATED ALWAYS AS (YEAR(PAYMENT_TIME) * 100 + MONTH(PAYMENT_TIME))")
+    private Integer paymentMonth;
+    
+    /**
+     * State as last loaded from / written to the database, maintained by PaymentEntityListener
+     */
+    @Transient
+    private PaymentSnapshot persistedState;
 
     // Default constructor
     public Payment() {}
@@ -28,7 +68,7 @@ public class Payment {
     public Payment(Long empId, BigDecimal amount, LocalDateTime paymentTime) {
         this.empId = empId;
         this.amount = amount;
-        this.paymentTime = paymentTime;
+        setPaymentTime(paymentTime);
     }
 
     // Getters and Setters
@@ -62,6 +102,65 @@ public class Payment {
 
     public void setPaymentTime(LocalDateTime paymentTime) {
         this.paymentTime = paymentTime;
+        this.firstDayOfMonth = isFirstDayOfMonth(paymentTime);
+        this.paymentMonth = paymentMonth(paymentTime);
+    }
+
+    public boolean isFirstDayOfMonth() {
+        return firstDayOfMonth;
+    }
+
+    public Integer getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    PaymentSnapshot getPersistedState() {
+        return persistedState;
+    }
+
+    void setPersistedState(PaymentSnapshot persistedState) {
+        this.persistedState = persistedState;
+    }
+
+    /**
+     * Re-derive the first-day flag and month key right before the row is written, so they can never
+     * drift from paymentTime (e.g. when the entity was populated via field access)
+     */
+    @PrePersist
+    @PreUpdate
+    void syncFirstDayOfMonth() {
+        this.firstDayOfMonth = isFirstDayOfMonth(paymentTime);
+        this.paymentMonth = paymentMonth(paymentTime);
+    }
+
+    /**
+     * Check whether a payment time falls on the 1st day of its month
+     * 
+     * @param paymentTime Payment time, may be null
+     * @return true if the payment was made on the 1st day of the month
+     */
+    public static boolean isFirstDayOfMonth(LocalDateTime paymentTime) {
+        return paymentTime != null && paymentTime.getDayOfMonth() == 1;
+    }
+
+    /**
+     * Month key of a payment time, matching the PAYMENT_MONTH column
+     *
+     * @param paymentTime Payment time, may be null
+     * @return yyyyMM (e.g. 202501), or null if paymentTime is null
+     */
+    public static Integer paymentMonth(LocalDateTime paymentTime) {
+        return paymentTime == null ? null : paymentTime.getYear() * 100 + paymentTime.getMonthValue();
+    }
+
+    /**
+     * Month key of a calendar month, matching the PAYMENT_MONTH column
+     *
+     * @param month Calendar month
+     * @return yyyyMM (e.g. 202501)
+     */
+    public static int paymentMonth(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
     }
 
     @Override
@@ -71,6 +170,7 @@ public class Payment {
                 ", empId=" + empId +
                 ", amount=" + amount +
                 ", paymentTime=" + paymentTime +
+                ", firstDayOfMonth=" + firstDayOfMonth +
                 '}';
     }
 }
@@ -0,0 +1,55 @@
+package com.finserv.demo.entity;
+
+import com.finserv.demo.event.PaymentChangeEvent;
+import com.finserv.demo.event.PaymentSnapshot;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA lifecycle listener that turns Payment writes into PaymentChangeEvents.
+ * Hibernate creates it through Spring's bean container, so the publisher is injected.
+ * The last persisted state is kept on the entity so updates can report old values
+ */
+public class PaymentEntityListener {
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    void onLoad(Payment payment) {
+        payment.setPersistedState(PaymentSnapshot.of(payment));
+    }
+
+    @PostPersist
+    void onPersist(Payment payment) {
+        PaymentSnapshot after = PaymentSnapshot.of(payment);
+        payment.setPersistedState(after);
+        publish(PaymentChangeEvent.created(after));
+    }
+
+    @PostUpdate
+    void onUpdate(Payment payment) {
+        PaymentSnapshot before = payment.getPersistedState();
+        PaymentSnapshot after = PaymentSnapshot.of(payment);
+        payment.setPersistedState(after);
+        publish(PaymentChangeEvent.updated(before, after));
+    }
+
+    @PostRemove
+    void onRemove(Payment payment) {
+        PaymentSnapshot before = payment.getPersistedState() != null 
+            ? payment.getPersistedState() : PaymentSnapshot.of(payment);
+        payment.setPersistedState(null);
+        publish(PaymentChangeEvent.deleted(before));
+    }
+
+    private void publish(PaymentChangeEvent event) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
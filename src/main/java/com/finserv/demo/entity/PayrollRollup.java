@@ -0,0 +1,120 @@
+package com.finserv.demo.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment count, total and maximum per employee and month, maintained by
+ * PayrollRollupService on every payment write. Read-only through JPA: rows are only
+ * written with set-based SQL
+ */
+@Entity
+@Immutable
+@IdClass(PayrollRollupId.class)
+@Table(name = "payroll_rollup", indexes = {
+    // Per-month totals across employees; per-employee history reads the primary key
+    @Index(name = "IDX_PAYROLL_ROLLUP_MONTH", columnList = "PAYMENT_MONTH")
+})
+public class PayrollRollup {
+    @Id
+    @Column(name = "EMP_ID")
+    private Long empId;
+
+    @Id
+    @Column(name = "PAYMENT_MONTH")
+    private Integer paymentMonth;
+
+    @Column(name = "PAYMENT_COUNT", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "TOTAL_AMOUNT", precision = 38, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "MAX_AMOUNT", precision = 38, scale = 2, nullable = false)
+    private BigDecimal maxAmount;
+
+    /**
+     * Set when the payment holding maxAmount was deleted or lowered; maxAmount is then
+     * only an upper bound until PayrollRollupService re-seeks it
+     */
+    @JsonIgnore
+    @Column(name = "MAX_STALE", nullable = false)
+    private boolean maxStale;
+
+    // Default constructor
+    public PayrollRollup() {}
+
+    // Parameterized constructor
+    public PayrollRollup(Long empId, Integer paymentMonth, long paymentCount, BigDecimal totalAmount,
+                         BigDecimal maxAmount) {
+        this.empId = empId;
+        this.paymentMonth = paymentMonth;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    // Getters and Setters
+    public Long getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+
+    public Integer getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    public void setPaymentMonth(Integer paymentMonth) {
+        this.paymentMonth = paymentMonth;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public boolean isMaxStale() {
+        return maxStale;
+    }
+
+    public void setMaxStale(boolean maxStale) {
+        this.maxStale = maxStale;
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollRollup{" +
+                "empId=" + empId +
+                ", paymentMonth=" + paymentMonth +
+                ", paymentCount=" + paymentCount +
+                ", totalAmount=" + totalAmount +
+                ", maxAmount=" + maxAmount +
+                ", maxStale=" + maxStale +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.finserv.demo.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Primary key of PayrollRollup: employee and month key (yyyyMM)
+ */
+public class PayrollRollupId implements Serializable {
+    private Long empId;
+    private Integer paymentMonth;
+
+    // Default constructor
+    public PayrollRollupId() {}
+
+    // Parameterized constructor
+    public PayrollRollupId(Long empId, Integer paymentMonth) {
+        this.empId = empId;
+        this.paymentMonth = paymentMonth;
+    }
+
+    // Getters and Setters
+    public Long getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+
+    public Integer getPaymentMonth() {
+        return paymentMonth;
+    }
+
+    public void setPaymentMonth(Integer paymentMonth) {
+        this.paymentMonth = paymentMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PayrollRollupId other)) {
+            return false;
+        }
+        return Objects.equals(empId, other.empId) && Objects.equals(paymentMonth, other.paymentMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(empId, paymentMonth);
+    }
+}
@@ -0,0 +1,54 @@
+package com.finserv.demo.event;
+
+/**
+ * Published for every department row written through JPA.
+ * departmentName is null for DELETED.
+ * Published while Hibernate flushes, i.e. inside the writing transaction: listeners that
+ * must only see committed data use @TransactionalEventListener(AFTER_COMMIT)
+ */
+public class DepartmentChangeEvent {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final long departmentId;
+    private final String departmentName;
+
+    public DepartmentChangeEvent(Type type, long departmentId, String departmentName) {
+        this.type = type;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+    }
+
+    public static DepartmentChangeEvent saved(long departmentId, String departmentName) {
+        return new DepartmentChangeEvent(Type.SAVED, departmentId, departmentName);
+    }
+
+    public static DepartmentChangeEvent deleted(long departmentId) {
+        return new DepartmentChangeEvent(Type.DELETED, departmentId, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public long getDepartmentId() {
+        return departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    @Override
+    public String toString() {
+        return "DepartmentChangeEvent{" +
+                "type=" + type +
+                ", departmentId=" + departmentId +
+                ", departmentName='" + departmentName + '\'' +
+                '}';
+    }
+}
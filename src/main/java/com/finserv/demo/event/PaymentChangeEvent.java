@@ -0,0 +1,58 @@
+package com.finserv.demo.event;
+
+/**
+ * Published for every payment row written through JPA.
+ * before is null for CREATED, after is null for DELETED.
+ * Published while Hibernate flushes, i.e. inside the writing transaction: listeners that
+ * must only see committed data use @TransactionalEventListener(AFTER_COMMIT)
+ */
+public class PaymentChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final PaymentSnapshot before;
+    private final PaymentSnapshot after;
+
+    public PaymentChangeEvent(Type type, PaymentSnapshot before, PaymentSnapshot after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static PaymentChangeEvent created(PaymentSnapshot after) {
+        return new PaymentChangeEvent(Type.CREATED, null, after);
+    }
+
+    public static PaymentChangeEvent updated(PaymentSnapshot before, PaymentSnapshot after) {
+        return new PaymentChangeEvent(Type.UPDATED, before, after);
+    }
+
+    public static PaymentChangeEvent deleted(PaymentSnapshot before) {
+        return new PaymentChangeEvent(Type.DELETED, before, null);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public PaymentSnapshot getBefore() {
+        return before;
+    }
+
+    public PaymentSnapshot getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentChangeEvent{" +
+                "type=" + type +
+                ", before=" + before +
+                ", after=" + after +
+                '}';
+    }
+}
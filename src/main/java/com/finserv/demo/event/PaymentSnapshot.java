@@ -0,0 +1,66 @@
+package com.finserv.demo.event;
+
+import com.finserv.demo.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the persisted state of a payment, taken when the row is
+ * loaded or written, so change listeners can see both old and new values
+ */
+public final class PaymentSnapshot {
+    private final Long paymentId;
+    private final Long empId;
+    private final BigDecimal amount;
+    private final LocalDateTime paymentTime;
+
+    public PaymentSnapshot(Long paymentId, Long empId, BigDecimal amount, LocalDateTime paymentTime) {
+        this.paymentId = paymentId;
+        this.empId = empId;
+        this.amount = amount;
+        this.paymentTime = paymentTime;
+    }
+
+    /**
+     * Copy the current state of a payment entity
+     * 
+     * @param payment Payment entity
+     * @return Snapshot of its fields
+     */
+    public static PaymentSnapshot of(Payment payment) {
+        return new PaymentSnapshot(payment.getPaymentId(), payment.getEmpId(), 
+            payment.getAmount(), payment.getPaymentTime());
+    }
+
+    // Getters
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public Long getEmpId() {
+        return empId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getPaymentTime() {
+        return paymentTime;
+    }
+
+    public boolean isFirstDayOfMonth() {
+        return Payment.isFirstDayOfMonth(paymentTime);
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentSnapshot{" +
+                "paymentId=" + paymentId +
+                ", empId=" + empId +
+                ", amount=" + amount +
+                ", paymentTime=" + paymentTime +
+                '}';
+    }
+}
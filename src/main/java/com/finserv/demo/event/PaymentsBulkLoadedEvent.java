@@ -0,0 +1,26 @@
+package com.finserv.demo.event;
+
+/**
+ * Published after payments were written around JPA (e.g. by a JDBC seed load or a
+ * retention run deleting whole months), so no PaymentChangeEvents were raised for them:
+ * in-memory copies of the payments table must reload when they receive it
+ */
+public class PaymentsBulkLoadedEvent {
+
+    private final long rowsLoaded;
+
+    public PaymentsBulkLoadedEvent(long rowsLoaded) {
+        this.rowsLoaded = rowsLoaded;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentsBulkLoadedEvent{" +
+                "rowsLoaded=" + rowsLoaded +
+                '}';
+    }
+}
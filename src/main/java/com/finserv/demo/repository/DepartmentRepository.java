@@ -1,9 +1,70 @@
 package com.finserv.demo.repository;
 
+import com.finserv.demo.config.CacheConfig;
 import com.finserv.demo.entity.Department;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    // Lookups by ID are cached (misses are not); every write through this repository
+    // evicts the entries it may have changed. Changes that bypass the repository, such as
+    // dirty checking on a managed entity or native SQL, are not seen by the cache
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS_CACHE, unless = "#result == null")
+    Optional<Department> findById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, key = "#result.departmentId")
+    <S extends Department> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, key = "#result.departmentId")
+    <S extends Department> S saveAndFlush(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    <S extends Department> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    <S extends Department> List<S> saveAllAndFlush(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, key = "#p0.departmentId")
+    void delete(Department entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    void deleteAll(Iterable<? extends Department> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    void deleteAllInBatch(Iterable<Department> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.DEPARTMENTS_CACHE, allEntries = true)
+    void deleteAllInBatch();
 }
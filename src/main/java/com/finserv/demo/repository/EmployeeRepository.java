@@ -1,9 +1,90 @@
 package com.finserv.demo.repository;
 
+import com.finserv.demo.config.CacheConfig;
+import com.finserv.demo.dto.YoungerEmployeeCount;
 import com.finserv.demo.entity.Employee;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    
+    /**
+     * For every employee with a known department, count the colleagues in the same
+     * department born strictly later, in one sort per department instead of a
+     * correlated COUNT(*) per employee. With DOB descending, RANK() - 1 is the number
+     * of rows with a strictly later DOB (equal DOBs share a rank). NULL DOBs sort last
+     * and are never counted; an employee without a DOB gets 0, like the original query
+     * 
+     * @return Counts ordered by employee ID descending
+     */
+    @Query("SELECT new com.finserv.demo.dto.YoungerEmployeeCount(e.empId, e.firstName, e.lastName, d.departmentName, " +
+           "CASE WHEN e.dob IS NULL THEN 0L " +
+           "ELSE RANK() OVER (PARTITION BY e.department ORDER BY e.dob DESC NULLS LAST) - 1 END) " +
+           "FROM Employee e " +
+           "JOIN Department d ON d.departmentId = e.department " +
+           "ORDER BY e.empId DESC")
+    List<YoungerEmployeeCount> findYoungerEmployeeCounts();
+
+    // Lookups by ID are cached (misses are not); every write through this repository
+    // evicts the entries it may have changed. Changes that bypass the repository, such as
+    // dirty checking on a managed entity or native SQL, are not seen by the cache
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, unless = "#result == null")
+    Optional<Employee> findById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.empId")
+    <S extends Employee> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.empId")
+    <S extends Employee> S saveAndFlush(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    <S extends Employee> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    <S extends Employee> List<S> saveAllAndFlush(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#p0.empId")
+    void delete(Employee entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    void deleteAll(Iterable<? extends Employee> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    void deleteAllInBatch(Iterable<Employee> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    void deleteAllInBatch();
 }
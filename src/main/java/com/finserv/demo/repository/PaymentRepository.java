@@ -1,42 +1,215 @@
 package com.finserv.demo.repository;
 
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisRow;
 import com.finserv.demo.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     /**
-     * Find the highest payment amount among payments not made on the 1st day of month
+     * Find the highest payment amount among payments not made on the 1st day of month.
+     * Filters on the persisted first-day flag so the lookup is a single seek on
+     * IDX_PAYMENTS_FIRST_DAY_AMOUNT rather than a full scan evaluating DAY(...).
+     * The (constant) flag is repeated in ORDER BY so the sort key matches the index
+     * column-for-column; H2 only reads an index in order when it does. Ties on amount
+     * go to the lowest payment ID
      * 
      * @return Optional containing the highest payment or empty if none found
      */
-    @Query("SELECT p FROM Payment p WHERE DAY(p.paymentTime) != 1 ORDER BY p.amount DESC")
+    @Query("SELECT p FROM Payment p WHERE p.firstDayOfMonth = false " +
+           "ORDER BY p.firstDayOfMonth, p.amount DESC, p.paymentId LIMIT 1")
     Optional<Payment> findHighestPaymentNotOnFirstDay();
     
+    /**
+     * Find the highest payment not made on the 1st day of month together with the
+     * employee name, date of birth and department name, in a single statement.
+     * Payments drive the join through IDX_PAYMENTS_FIRST_DAY_AMOUNT; employee and
+     * department are primary-key lookups for the one surviving row. The joins are
+     * outer joins so a missing employee or department shows up as null IDs on the
+     * highest payment instead of silently falling through to the next one
+     * 
+     * @return Optional containing the joined row or empty if none found
+     */
+    @Query("SELECT new com.finserv.demo.dto.SalaryAnalysisRow(p.paymentId, p.amount, e.empId, e.firstName, " +
+           "e.lastName, e.dob, d.departmentId, d.departmentName) " +
+           "FROM Payment p " +
+           "LEFT JOIN Employee e ON e.empId = p.empId " +
+           "LEFT JOIN Department d ON d.departmentId = e.department " +
+           "WHERE p.firstDayOfMonth = false " +
+           "ORDER BY p.firstDayOfMonth, p.amount DESC, p.paymentId LIMIT 1")
+    Optional<SalaryAnalysisRow> findHighestSalaryNotOnFirstDay();
+    
     /**
      * Find all payments not made on the 1st day of month
      * 
      * @return List of payments not on 1st day
      */
-    @Query("SELECT p FROM Payment p WHERE DAY(p.paymentTime) != 1 ORDER BY p.amount DESC")
+    @Query("SELECT p FROM Payment p WHERE p.firstDayOfMonth = false ORDER BY p.firstDayOfMonth, p.amount DESC, p.paymentId")
     List<Payment> findByPaymentTimeNotOnFirstDay();
     
     /**
-     * Find the maximum amount among payments not made on the 1st day of month
+     * Stream all payments not made on the 1st day of month, in the same order as
+     * findByPaymentTimeNotOnFirstDay. Rows are pulled from the JDBC cursor in
+     * fetch-size chunks as the stream is consumed and loaded read-only (no dirty-check
+     * snapshots). Must be consumed inside a transaction and closed afterwards
+     * 
+     * @return Stream of payments not on 1st day
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p WHERE p.firstDayOfMonth = false ORDER BY p.firstDayOfMonth, p.amount DESC, p.paymentId")
+    Stream<Payment> streamNotOnFirstDay();
+    
+    /**
+     * Find the next page of payments not made on the 1st day of month, by keyset:
+     * payments with an ID greater than the last one already seen, in ID order.
+     * Each page is a range seek on IDX_PAYMENTS_FIRST_DAY_ID read in index order
+     * (the constant flag is repeated in ORDER BY for that), stopping after the page
+     * size, so deep pages cost the same as the first
+     * 
+     * @param after Last payment ID of the previous page, 0 for the first page
+     * @param pageable Page size, typically PageRequest.of(0, limit)
+     * @return List of payments after the given ID
+     */
+    @Query("SELECT p FROM Payment p WHERE p.firstDayOfMonth = false AND p.paymentId > :after " +
+           "ORDER BY p.firstDayOfMonth, p.paymentId")
+    List<Payment> findNotOnFirstDayAfter(@Param("after") long after, Pageable pageable);
+    
+    /**
+     * Find the highest payments with the given first-day flag, highest amount first and
+     * ties broken by payment ID. The page size is pushed into SQL as a row limit, and
+     * the ORDER BY matches IDX_PAYMENTS_FIRST_DAY_AMOUNT so only K index entries are read
+     * 
+     * @param firstDayOfMonth Whether to look at payments made on the 1st day of month
+     * @param pageable Page to fetch, typically PageRequest.of(0, k)
+     * @return List of at most pageable.getPageSize() payments
+     */
+    @Query("SELECT p FROM Payment p WHERE p.firstDayOfMonth = :firstDayOfMonth " +
+           "ORDER BY p.firstDayOfMonth, p.amount DESC, p.paymentId")
+    List<Payment> findTopByFirstDayOfMonth(@Param("firstDayOfMonth") boolean firstDayOfMonth, Pageable pageable);
+    
+    /**
+     * Find the maximum amount among payments not made on the 1st day of month.
+     * Expressed as a top-1 over the index order instead of MAX(...): H2 only
+     * short-circuits MAX on an index when there is no WHERE clause
      * 
      * @return Maximum amount or null if no payments found
      */
-    @Query("SELECT MAX(p.amount) FROM Payment p WHERE DAY(p.paymentTime) != 1")
+    @Query("SELECT p.amount FROM Payment p WHERE p.firstDayOfMonth = false ORDER BY p.firstDayOfMonth, p.amount DESC LIMIT 1")
     BigDecimal findMaxAmountNotOnFirstDay();
     
+    /**
+     * Compute every payment total, overall and for payments not on the 1st day of month,
+     * in one scan: each conditional aggregate only sees the rows its CASE selects
+     * 
+     * @return Totals; sums and maximums are null when no payment matches
+     */
+    @Query("SELECT new com.finserv.demo.dto.PaymentTotals(COUNT(p), SUM(p.amount), MAX(p.amount), " +
+           "COUNT(CASE WHEN p.firstDayOfMonth = false THEN 1 END), " +
+           "SUM(CASE WHEN p.firstDayOfMonth = false THEN p.amount END), " +
+           "MAX(CASE WHEN p.firstDayOfMonth = false THEN p.amount END)) " +
+           "FROM Payment p")
+    PaymentTotals findPaymentTotals();
+    
+    /**
+     * Find the next keyset page of payments in a time range, by month "partition": only
+     * the IDX_PAYMENTS_MONTH_TIME ranges of months between fromMonth and toMonth are read,
+     * in (time, ID) order, and the time bounds trim the edge months. The cursor is the
+     * (time, ID) of the last payment already seen
+     * 
+     * @param fromMonth Month key of afterTime
+     * @param toMonth Month key of the last instant before to
+     * @param afterTime Payment time of the last payment seen, or the range start
+     * @param afterId Payment ID of the last payment seen, 0 to include afterTime itself
+     * @param to Exclusive end of the range
+     * @param pageable Page size, typically PageRequest.of(0, limit)
+     * @return List of payments after the cursor and before to
+     */
+    @Query("SELECT p FROM Payment p WHERE p.paymentMonth BETWEEN :fromMonth AND :toMonth " +
+           "AND p.paymentTime < :to " +
+           "AND (p.paymentTime > :afterTime OR (p.paymentTime = :afterTime AND p.paymentId > :afterId)) " +
+           "ORDER BY p.paymentMonth, p.paymentTime, p.paymentId")
+    List<Payment> findInMonthsAfter(@Param("fromMonth") int fromMonth,
+                                    @Param("toMonth") int toMonth,
+                                    @Param("afterTime") LocalDateTime afterTime,
+                                    @Param("afterId") long afterId,
+                                    @Param("to") LocalDateTime to,
+                                    Pageable pageable);
+    
+    /**
+     * Find the first page of payments made in [from, to), oldest first
+     * 
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @param pageable Page size, typically PageRequest.of(0, limit)
+     * @return List of payments in the range
+     */
+    default List<Payment> findByPaymentTimeBetween(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        // to is exclusive: the last month read is the one of the instant before it
+        return findInMonthsAfter(Payment.paymentMonth(from), Payment.paymentMonth(to.minusNanos(1)),
+            from, 0L, to, pageable);
+    }
+    
+    /**
+     * Find the highest salary not on the 1st day within one month of a time range, joined
+     * like findHighestSalaryNotOnFirstDay. A seek on IDX_PAYMENTS_MONTH_FIRST_DAY_AMOUNT
+     * for that month; the time bounds only matter for a partially covered edge month
+     * 
+     * @param month Month key (yyyyMM)
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @return Optional containing the joined row or empty if the month has none
+     */
+    @Query("SELECT new com.finserv.demo.dto.SalaryAnalysisRow(p.paymentId, p.amount, e.empId, e.firstName, " +
+           "e.lastName, e.dob, d.departmentId, d.departmentName) " +
+           "FROM Payment p " +
+           "LEFT JOIN Employee e ON e.empId = p.empId " +
+           "LEFT JOIN Department d ON d.departmentId = e.department " +
+           "WHERE p.paymentMonth = :month AND p.firstDayOfMonth = false " +
+           "AND p.paymentTime >= :from AND p.paymentTime < :to " +
+           "ORDER BY p.paymentMonth, p.firstDayOfMonth, p.amount DESC, p.paymentId LIMIT 1")
+    Optional<SalaryAnalysisRow> findHighestSalaryNotOnFirstDayInMonth(@Param("month") int month,
+                                                                     @Param("from") LocalDateTime from,
+                                                                     @Param("to") LocalDateTime to);
+    
+    /**
+     * Compute the payment totals of a time range, like findPaymentTotals but scanning
+     * only the months between fromMonth and toMonth
+     * 
+     * @param fromMonth Month key of from
+     * @param toMonth Month key of the last instant before to
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range
+     * @return Totals; sums and maximums are null when no payment matches
+     */
+    @Query("SELECT new com.finserv.demo.dto.PaymentTotals(COUNT(p), SUM(p.amount), MAX(p.amount), " +
+           "COUNT(CASE WHEN p.firstDayOfMonth = false THEN 1 END), " +
+           "SUM(CASE WHEN p.firstDayOfMonth = false THEN p.amount END), " +
+           "MAX(CASE WHEN p.firstDayOfMonth = false THEN p.amount END)) " +
+           "FROM Payment p WHERE p.paymentMonth BETWEEN :fromMonth AND :toMonth " +
+           "AND p.paymentTime >= :from AND p.paymentTime < :to")
+    PaymentTotals findPaymentTotalsInMonths(@Param("fromMonth") int fromMonth,
+                                            @Param("toMonth") int toMonth,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+    
     /**
      * Find payments by employee ID
      * 
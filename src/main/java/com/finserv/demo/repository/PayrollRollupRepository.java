@@ -0,0 +1,45 @@
+package com.finserv.demo.repository;
+
+import com.finserv.demo.dto.PayrollMonthTotals;
+import com.finserv.demo.entity.PayrollRollup;
+import com.finserv.demo.entity.PayrollRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollRollupRepository extends JpaRepository<PayrollRollup, PayrollRollupId> {
+
+    /**
+     * Find an employee's monthly rollup rows in a month range, oldest first.
+     * A primary-key range read: one row per month, however many payments it holds
+     *
+     * @param empId Employee ID
+     * @param fromMonth First month key (yyyyMM), inclusive
+     * @param toMonth Last month key (yyyyMM), inclusive
+     * @return List of rollup rows
+     */
+    @Query("SELECT r FROM PayrollRollup r WHERE r.empId = :empId " +
+           "AND r.paymentMonth BETWEEN :fromMonth AND :toMonth ORDER BY r.paymentMonth")
+    List<PayrollRollup> findEmployeeHistory(@Param("empId") Long empId,
+                                            @Param("fromMonth") int fromMonth,
+                                            @Param("toMonth") int toMonth);
+
+    /**
+     * Sum the rollup rows of every month in a range, oldest first. Reads one row per
+     * employee and month through IDX_PAYROLL_ROLLUP_MONTH
+     *
+     * @param fromMonth First month key (yyyyMM), inclusive
+     * @param toMonth Last month key (yyyyMM), inclusive
+     * @return List of month totals; months without payments are left out
+     */
+    @Query("SELECT new com.finserv.demo.dto.PayrollMonthTotals(r.paymentMonth, COUNT(r), SUM(r.paymentCount), " +
+           "SUM(r.totalAmount), MAX(r.maxAmount)) " +
+           "FROM PayrollRollup r WHERE r.paymentMonth BETWEEN :fromMonth AND :toMonth " +
+           "GROUP BY r.paymentMonth ORDER BY r.paymentMonth")
+    List<PayrollMonthTotals> findMonthTotals(@Param("fromMonth") int fromMonth,
+                                             @Param("toMonth") int toMonth);
+}
@@ -0,0 +1,394 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.analytics.DepartmentDirectory;
+import com.finserv.demo.dto.DatasetGenerationSummary;
+import com.finserv.demo.dto.DatasetSpec;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service for generating large synthetic datasets of departments, employees, payments
+ * and orders, reproducibly from a seed.
+ *
+ * Every row draws its values from its own random stream, seeded from (seed, table, row
+ * number), so the rows do not depend on how the work is split: each table is cut into
+ * partitions of finserv.bulk-load.chunk-size rows that worker threads write in parallel,
+ * one JDBC batch and transaction per partition, holding no more than one partition each.
+ * Rows get contiguous IDs reserved past the current sequence (or identity) value, and
+ * payments and employees reference the departments and employees generated with them.
+ * Run it against an idle database: IDs other writers take while it runs may collide.
+ *
+ * CLI mode: start with finserv.generate.enabled=true and finserv.generate.* settings
+ * (see DatasetSpec); finserv.generate.exit=true stops the application when done
+ */
+@Service
+public class DatasetGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGeneratorService.class);
+
+    private static final String INSERT_DEPARTMENT_SQL =
+        "INSERT INTO departments (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (?, ?)";
+
+    private static final String INSERT_ORDER_SQL =
+        "INSERT INTO orders (id, customer_name, product_name, quantity, unit_price, order_date, status) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] DEPARTMENT_NAMES = {"HR", "Finance", "Engineering", "Sales", "Marketing", "IT"};
+
+    private static final String[] FIRST_NAMES = {
+        "John", "Sarah", "Michael", "Emily", "David", "Olivia", "James", "Sophia", "Liam", "Emma",
+        "Noah", "Ava", "Lucas", "Mia", "Ethan", "Isabella", "Mason", "Amelia", "Logan", "Harper"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Williams", "Johnson", "Smith", "Brown", "Jones", "Davis", "Wilson", "Anderson", "Miller", "Taylor",
+        "Thomas", "Moore", "Martin", "Jackson", "White", "Harris", "Clark", "Lewis", "Walker", "Young"
+    };
+
+    private static final String[] PRODUCTS = {"Laptop", "Mouse", "Keyboard", "Monitor", "Headset", "Dock"};
+    private static final long[] PRODUCT_PRICES_MINOR = {99_999, 2_999, 14_999, 29_999, 7_999, 19_999};
+
+    private static final String[] ORDER_STATUSES = {"Completed", "Shipped", "Pending", "Cancelled"};
+    private static final double[] ORDER_STATUS_SHARES = {0.7, 0.15, 0.1, 0.05};
+
+    // Independent random streams per table and per derived value
+    private static final long DEPARTMENT_STREAM = 1;
+    private static final long EMPLOYEE_STREAM = 2;
+    private static final long SALARY_STREAM = 3;
+    private static final long PAYMENT_STREAM = 4;
+    private static final long ORDER_STREAM = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired(required = false)
+    private DepartmentDirectory departmentDirectory;
+
+    @Value("${finserv.bulk-load.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${finserv.generate.enabled:false}")
+    private boolean generateOnStartup;
+
+    @Value("${finserv.generate.exit:false}")
+    private boolean exitWhenDone;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateOnStartup(ApplicationReadyEvent event) {
+        if (!generateOnStartup) {
+            return;
+        }
+        DatasetSpec spec = Binder.get(environment).bind("finserv.generate", DatasetSpec.class).orElseGet(DatasetSpec::new);
+        generate(spec);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /**
+     * Generate and insert the dataset the spec describes
+     *
+     * @param spec Row counts, seed and distributions
+     * @return Rows written per table, their first IDs and throughput
+     * @throws IllegalArgumentException if the spec is inconsistent
+     * @throws IllegalStateException if writing a partition fails; partitions committed before stay loaded
+     */
+    public DatasetGenerationSummary generate(DatasetSpec spec) {
+        validate(spec);
+        int parallelism = spec.getParallelism() > 0 ? spec.getParallelism() : Runtime.getRuntime().availableProcessors();
+        logger.info("Generating dataset with {} threads: {}", parallelism, spec);
+        long start = System.nanoTime();
+
+        RowGenerator rows = new RowGenerator(spec);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("dataset-generator-"));
+        try {
+            long firstDepartmentId = reserveIds("DEPARTMENT_SEQ", spec.getDepartments());
+            writePartitions(executor, "departments", INSERT_DEPARTMENT_SQL, spec.getDepartments(),
+                (ps, row) -> rows.department(ps, firstDepartmentId, row));
+
+            long firstEmployeeId = reserveIds("EMPLOYEE_SEQ", spec.getEmployees());
+            writePartitions(executor, "employees", SeedFileLoadService.INSERT_EMPLOYEE_SQL, spec.getEmployees(),
+                (ps, row) -> rows.employee(ps, firstEmployeeId, firstDepartmentId, row));
+
+            long firstPaymentId = reserveIds("PAYMENT_SEQ", spec.getPayments());
+            writePartitions(executor, "payments", SeedFileLoadService.INSERT_PAYMENT_SQL, spec.getPayments(),
+                (ps, row) -> rows.payment(ps, firstPaymentId, firstEmployeeId, row));
+
+            long firstOrderId = reserveOrderIds(spec.getOrders());
+            writePartitions(executor, "orders", INSERT_ORDER_SQL, spec.getOrders(),
+                (ps, row) -> rows.order(ps, firstOrderId, row));
+
+            DatasetGenerationSummary summary = new DatasetGenerationSummary(spec.getDepartments(), spec.getEmployees(),
+                spec.getPayments(), spec.getOrders(), firstDepartmentId, firstEmployeeId, firstPaymentId, firstOrderId,
+                parallelism, (System.nanoTime() - start) / 1_000_000);
+            logger.info("Generated dataset: {}", summary);
+
+            // Bulk inserts raise no entity events: refresh the in-memory copies
+            if (departmentDirectory != null && spec.getDepartments() > 0) {
+                departmentDirectory.load();
+            }
+            if (spec.getPayments() > 0) {
+                eventPublisher.publishEvent(new PaymentsBulkLoadedEvent(spec.getPayments()));
+            }
+            return summary;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void validate(DatasetSpec spec) {
+        if (spec.getDepartments() < 0 || spec.getEmployees() < 0 || spec.getPayments() < 0 || spec.getOrders() < 0) {
+            throw new IllegalArgumentException("row counts must not be negative");
+        }
+        if (spec.getEmployees() > 0 && spec.getDepartments() == 0) {
+            throw new IllegalArgumentException("employees need at least one department");
+        }
+        if (spec.getPayments() > 0 && spec.getEmployees() == 0) {
+            throw new IllegalArgumentException("payments need at least one employee");
+        }
+        if (spec.getFirstDayShare() < 0 || spec.getFirstDayShare() > 1) {
+            throw new IllegalArgumentException("firstDayShare must be between 0 and 1: " + spec.getFirstDayShare());
+        }
+        if (spec.getSalaryMedian() == null || spec.getSalaryMedian().signum() <= 0) {
+            throw new IllegalArgumentException("salaryMedian must be positive: " + spec.getSalaryMedian());
+        }
+        if (spec.getSalarySpread() < 0 || spec.getPaymentJitter() < 0 || spec.getPaymentJitter() >= 1) {
+            throw new IllegalArgumentException("salarySpread must be >= 0 and paymentJitter in [0, 1)");
+        }
+        if (!spec.getDobFrom().isBefore(spec.getDobTo())) {
+            throw new IllegalArgumentException("dobFrom must be before dobTo");
+        }
+        if (YearMonth.from(spec.getPaymentsFrom()).compareTo(YearMonth.from(spec.getPaymentsTo())) >= 0) {
+            throw new IllegalArgumentException("paymentsFrom must be in a month before paymentsTo");
+        }
+    }
+
+    /**
+     * Take a contiguous block of IDs from a pooled-lo sequence: the next value starts the
+     * block and the sequence is moved past its end
+     *
+     * @return first ID of the block
+     */
+    private long reserveIds(String sequence, long rows) {
+        if (rows == 0) {
+            return 0;
+        }
+        Long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (first + rows));
+        return first;
+    }
+
+    /**
+     * Orders use an identity column: start after the highest ID and move the identity
+     * past the block
+     */
+    private long reserveOrderIds(long rows) {
+        if (rows == 0) {
+            return 0;
+        }
+        Long first = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM orders", Long.class);
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN id RESTART WITH " + (first + rows));
+        return first;
+    }
+
+    /**
+     * Write rows 0 .. rows-1 of a table, one partition per task, and wait for all of them
+     */
+    private void writePartitions(ExecutorService executor, String table, String sql, long rows, RowWriter writer) {
+        if (rows == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Future<?>> partitions = new ArrayList<>();
+        for (long first = 0; first < rows; first += chunkSize) {
+            long partitionStart = first;
+            int partitionRows = (int) Math.min(chunkSize, rows - first);
+            partitions.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        writer.write(ps, partitionStart + i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return partitionRows;
+                    }
+                }))));
+        }
+
+        try {
+            for (Future<?> partition : partitions) {
+                partition.get();
+            }
+        } catch (ExecutionException e) {
+            partitions.forEach(partition -> partition.cancel(true));
+            throw new IllegalStateException("Generating " + table + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            partitions.forEach(partition -> partition.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generating " + table + " was interrupted", e);
+        }
+        logger.info("Generated {} {} in {} partitions ({} ms)", rows, table, partitions.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long row) throws SQLException;
+    }
+
+    /**
+     * Binds the values of row number n of each table; pure functions of the spec and n
+     */
+    static final class RowGenerator {
+
+        private final DatasetSpec spec;
+        private final long dobFromDay;
+        private final int dobDays;
+        private final YearMonth firstMonth;
+        private final int months;
+
+        RowGenerator(DatasetSpec spec) {
+            this.spec = spec;
+            this.dobFromDay = spec.getDobFrom().toEpochDay();
+            this.dobDays = (int) (spec.getDobTo().toEpochDay() - dobFromDay);
+            this.firstMonth = YearMonth.from(spec.getPaymentsFrom());
+            this.months = (int) firstMonth.until(YearMonth.from(spec.getPaymentsTo()), ChronoUnit.MONTHS);
+        }
+
+        void department(PreparedStatement ps, long firstId, long row) throws SQLException {
+            ps.setLong(1, firstId + row);
+            ps.setString(2, departmentName(row));
+        }
+
+        void employee(PreparedStatement ps, long firstId, long firstDepartmentId, long row) throws SQLException {
+            SplittableRandom random = random(EMPLOYEE_STREAM, row);
+            ps.setLong(1, firstId + row);
+            ps.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            ps.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            ps.setDate(4, Date.valueOf(LocalDate.ofEpochDay(dobFromDay + random.nextInt(dobDays))));
+            ps.setString(5, random.nextBoolean() ? "Male" : "Female");
+            ps.setLong(6, firstDepartmentId + random.nextInt(spec.getDepartments()));
+        }
+
+        void payment(PreparedStatement ps, long firstId, long firstEmployeeId, long row) throws SQLException {
+            SplittableRandom random = random(PAYMENT_STREAM, row);
+            long employee = random.nextLong(spec.getEmployees());
+            double jitter = 1 + spec.getPaymentJitter() * (2 * random.nextDouble() - 1);
+            LocalDateTime paymentTime = paymentTime(random);
+            ps.setLong(1, firstId + row);
+            ps.setLong(2, firstEmployeeId + employee);
+            ps.setBigDecimal(3, BigDecimal.valueOf(baseSalary(employee) * jitter).setScale(2, RoundingMode.HALF_UP));
+            ps.setTimestamp(4, Timestamp.valueOf(paymentTime));
+            ps.setBoolean(5, Payment.isFirstDayOfMonth(paymentTime));
+        }
+
+        void order(PreparedStatement ps, long firstId, long row) throws SQLException {
+            SplittableRandom random = random(ORDER_STREAM, row);
+            int product = random.nextInt(PRODUCTS.length);
+            ps.setLong(1, firstId + row);
+            ps.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            ps.setString(3, PRODUCTS[product]);
+            ps.setInt(4, 1 + random.nextInt(10));
+            ps.setBigDecimal(5, BigDecimal.valueOf(PRODUCT_PRICES_MINOR[product], 2));
+            ps.setDate(6, Date.valueOf(paymentTime(random).toLocalDate()));
+            ps.setString(7, orderStatus(random.nextDouble()));
+        }
+
+        static String departmentName(long row) {
+            String name = DEPARTMENT_NAMES[(int) (row % DEPARTMENT_NAMES.length)];
+            long round = row / DEPARTMENT_NAMES.length;
+            return round == 0 ? name : name + " " + (round + 1);
+        }
+
+        /**
+         * Base salary of employee number n, log-normal around the median
+         */
+        double baseSalary(long employee) {
+            double gaussian = random(SALARY_STREAM, employee).nextGaussian();
+            return spec.getSalaryMedian().doubleValue() * Math.exp(spec.getSalarySpread() * gaussian);
+        }
+
+        /**
+         * A time in a uniformly chosen month, on the 1st with probability firstDayShare and
+         * otherwise on a uniformly chosen later day of that month
+         */
+        private LocalDateTime paymentTime(SplittableRandom random) {
+            YearMonth month = firstMonth.plusMonths(random.nextInt(months));
+            int day = random.nextDouble() < spec.getFirstDayShare() ? 1 : 2 + random.nextInt(month.lengthOfMonth() - 1);
+            return month.atDay(day).atStartOfDay()
+                .plusSeconds(random.nextInt(86_400))
+                .plusNanos(random.nextInt(1000) * 1_000_000L);
+        }
+
+        private static String orderStatus(double draw) {
+            double cumulative = 0;
+            for (int i = 0; i < ORDER_STATUSES.length - 1; i++) {
+                cumulative += ORDER_STATUS_SHARES[i];
+                if (draw < cumulative) {
+                    return ORDER_STATUSES[i];
+                }
+            }
+            return ORDER_STATUSES[ORDER_STATUSES.length - 1];
+        }
+
+        private SplittableRandom random(long stream, long row) {
+            return new SplittableRandom(mix(mix(spec.getSeed() + stream * 0x9E3779B97F4A7C15L) + row));
+        }
+
+        /**
+         * 64-bit finalizer of SplittableRandom / MurmurHash3: spreads nearby inputs over
+         * unrelated outputs
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.analytics.PaymentColumnStore;
+import com.finserv.demo.dto.DepartmentSalaryStats;
+import com.finserv.demo.util.QuantileSketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service computing per-department salary statistics (count, min, max, mean and
+ * p50 / p90 / p99 of payment amounts) with a fork-join aggregation over payments.
+ *
+ * The payments are split recursively into slices (payment ID ranges read with one JDBC
+ * query each, or row ranges of the column store when it is loaded). Every slice
+ * accumulates its own per-department count, sum, min, max and QuantileSketch, and the
+ * slices are merged pairwise on the way back up; sketches merge exactly, so the result
+ * does not depend on how the work was split. Employees are resolved to departments
+ * through an in-memory table built once per call, so no row is joined in SQL.
+ * Slices are read independently, not as one snapshot: concurrent writes may or may not
+ * be seen.
+ */
+@Service
+public class DepartmentStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentStatsService.class);
+
+    /**
+     * Relative accuracy of the percentiles
+     */
+    public static final double SKETCH_ACCURACY = 0.005;
+
+    /**
+     * Column store rows per leaf task
+     */
+    private static final int COLUMN_SLICE_ROWS = 1 << 16;
+
+    /**
+     * Largest employee ID resolved through a dense array rather than a map
+     */
+    private static final long MAX_DENSE_EMPLOYEE_ID = 10_000_000;
+
+    private static final String DEPARTMENTS_SQL =
+        "SELECT DEPARTMENT_ID, DEPARTMENT_NAME FROM departments ORDER BY DEPARTMENT_ID";
+
+    private static final String EMPLOYEE_DEPARTMENTS_SQL =
+        "SELECT EMP_ID, DEPARTMENT FROM employees WHERE DEPARTMENT IS NOT NULL";
+
+    private static final String PAYMENT_ID_RANGE_SQL = "SELECT MIN(PAYMENT_ID), MAX(PAYMENT_ID) FROM payments";
+
+    // Amounts read as minor units (PaymentColumnStore.MINOR_UNIT_SCALE) so no BigDecimal is built per row
+    private static final String PAYMENT_SLICE_SQL =
+        "SELECT EMP_ID, CAST(AMOUNT * " + BigDecimal.ONE.movePointRight(PaymentColumnStore.MINOR_UNIT_SCALE).toPlainString() +
+        " AS BIGINT) FROM payments WHERE PAYMENT_ID BETWEEN ? AND ? AND AMOUNT IS NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private PaymentColumnStore columnStore;
+
+    @Value("${finserv.analytics.department-stats.parallelism:0}")
+    private int parallelism;
+
+    @Value("${finserv.analytics.department-stats.slice-rows:25000}")
+    private long sliceRows;
+
+    /**
+     * Compute salary statistics for every department with payments
+     *
+     * @return One entry per department, ordered by department ID
+     */
+    public List<DepartmentSalaryStats> getDepartmentStats() {
+        long start = System.nanoTime();
+        List<Long> departmentIds = new ArrayList<>();
+        List<String> departmentNames = new ArrayList<>();
+        jdbcTemplate.query(DEPARTMENTS_SQL, resultSet -> {
+            departmentIds.add(resultSet.getLong(1));
+            departmentNames.add(resultSet.getString(2));
+        });
+        EmployeeDepartments employees = loadEmployeeDepartments(departmentIds);
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        DepartmentAccumulator[] totals;
+        try {
+            if (columnStore != null && columnStore.isLoaded()) {
+                totals = columnStore.scanAmounts((empIds, amounts, size) ->
+                    pool.invoke(new ColumnSliceTask(empIds, amounts, 0, size, employees, departmentIds.size())));
+            } else {
+                totals = aggregateFromDatabase(pool, employees, departmentIds.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<DepartmentSalaryStats> stats = new ArrayList<>();
+        for (int ordinal = 0; ordinal < totals.length; ordinal++) {
+            if (totals[ordinal] != null) {
+                stats.add(totals[ordinal].toStats(departmentIds.get(ordinal), departmentNames.get(ordinal)));
+            }
+        }
+        logger.info("Computed salary statistics for {} departments on {} threads in {} ms",
+            stats.size(), threads, (System.nanoTime() - start) / 1_000_000);
+        return stats;
+    }
+
+    private DepartmentAccumulator[] aggregateFromDatabase(ForkJoinPool pool, EmployeeDepartments employees,
+                                                          int departments) {
+        Long[] idRange = jdbcTemplate.queryForObject(PAYMENT_ID_RANGE_SQL,
+            (resultSet, rowNum) -> new Long[] {resultSet.getObject(1, Long.class), resultSet.getObject(2, Long.class)});
+        if (idRange == null || idRange[0] == null) {
+            return new DepartmentAccumulator[departments];
+        }
+        return pool.invoke(new PaymentSliceTask(idRange[0], idRange[1], employees, departments));
+    }
+
+    /**
+     * Employee ID to department ordinal (index into the department list), for employees
+     * whose department exists
+     */
+    private EmployeeDepartments loadEmployeeDepartments(List<Long> departmentIds) {
+        Map<Long, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < departmentIds.size(); i++) {
+            ordinals.put(departmentIds.get(i), i);
+        }
+        Map<Long, Integer> byEmployee = new HashMap<>();
+        jdbcTemplate.query(EMPLOYEE_DEPARTMENTS_SQL, resultSet -> {
+            Integer ordinal = ordinals.get(resultSet.getLong(2));
+            if (ordinal != null) {
+                byEmployee.put(resultSet.getLong(1), ordinal);
+            }
+        });
+        return new EmployeeDepartments(byEmployee);
+    }
+
+    private static DepartmentAccumulator[] merge(DepartmentAccumulator[] left, DepartmentAccumulator[] right) {
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] == null) {
+                left[i] = right[i];
+            } else if (right[i] != null) {
+                left[i].merge(right[i]);
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Employee to department ordinal lookup without boxing: a dense array when employee
+     * IDs are small enough, otherwise a map
+     */
+    private static final class EmployeeDepartments {
+        private final int[] dense;
+        private final Map<Long, Integer> sparse;
+
+        EmployeeDepartments(Map<Long, Integer> byEmployee) {
+            long maxId = byEmployee.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+            long minId = byEmployee.keySet().stream().mapToLong(Long::longValue).min().orElse(0);
+            if (minId >= 0 && maxId <= MAX_DENSE_EMPLOYEE_ID) {
+                dense = new int[(int) maxId + 1];
+                Arrays.fill(dense, -1);
+                byEmployee.forEach((empId, ordinal) -> dense[empId.intValue()] = ordinal);
+                sparse = null;
+            } else {
+                dense = null;
+                sparse = byEmployee;
+            }
+        }
+
+        /**
+         * @return Department ordinal, or -1 if the employee has no known department
+         */
+        int ordinalOf(long empId) {
+            if (dense != null) {
+                return empId >= 0 && empId < dense.length ? dense[(int) empId] : -1;
+            }
+            Integer ordinal = sparse.get(empId);
+            return ordinal != null ? ordinal : -1;
+        }
+    }
+
+    /**
+     * Exact count, sum, min and max plus a quantile sketch, all in minor units
+     */
+    private static final class DepartmentAccumulator {
+        private final QuantileSketch sketch = new QuantileSketch(SKETCH_ACCURACY);
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        void add(long amount) {
+            count++;
+            sum += amount;
+            min = Math.min(min, amount);
+            max = Math.max(max, amount);
+            sketch.add(amount);
+        }
+
+        void merge(DepartmentAccumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            sketch.merge(other.sketch);
+        }
+
+        DepartmentSalaryStats toStats(Long departmentId, String departmentName) {
+            return new DepartmentSalaryStats(departmentId, departmentName, count,
+                PaymentColumnStore.fromMinorUnits(min),
+                PaymentColumnStore.fromMinorUnits(max),
+                PaymentColumnStore.fromMinorUnits(sum).divide(BigDecimal.valueOf(count), RoundingMode.HALF_UP),
+                percentile(0.5), percentile(0.9), percentile(0.99));
+        }
+
+        private BigDecimal percentile(double quantile) {
+            return PaymentColumnStore.fromMinorUnits(Math.round(sketch.quantile(quantile)));
+        }
+    }
+
+    /**
+     * Payments with IDs in [fromId, toId], split in halves down to sliceRows IDs, each leaf
+     * read with one range query on the primary key
+     */
+    private final class PaymentSliceTask extends RecursiveTask<DepartmentAccumulator[]> {
+        private final long fromId;
+        private final long toId;
+        private final EmployeeDepartments employees;
+        private final int departments;
+
+        PaymentSliceTask(long fromId, long toId, EmployeeDepartments employees, int departments) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.employees = employees;
+            this.departments = departments;
+        }
+
+        @Override
+        protected DepartmentAccumulator[] compute() {
+            if (toId - fromId < sliceRows) {
+                DepartmentAccumulator[] accumulators = new DepartmentAccumulator[departments];
+                jdbcTemplate.query(PAYMENT_SLICE_SQL, resultSet -> {
+                    long empId = resultSet.getLong(1);
+                    int ordinal = resultSet.wasNull() ? -1 : employees.ordinalOf(empId);
+                    if (ordinal >= 0) {
+                        accumulate(accumulators, ordinal, resultSet.getLong(2));
+                    }
+                }, fromId, toId);
+                return accumulators;
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            PaymentSliceTask left = new PaymentSliceTask(fromId, middle, employees, departments);
+            left.fork();
+            DepartmentAccumulator[] right = new PaymentSliceTask(middle + 1, toId, employees, departments).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Column store rows [from, to), split in halves down to COLUMN_SLICE_ROWS rows
+     */
+    private static final class ColumnSliceTask extends RecursiveTask<DepartmentAccumulator[]> {
+        private final long[] empIds;
+        private final long[] amounts;
+        private final int from;
+        private final int to;
+        private final EmployeeDepartments employees;
+        private final int departments;
+
+        ColumnSliceTask(long[] empIds, long[] amounts, int from, int to, EmployeeDepartments employees,
+                        int departments) {
+            this.empIds = empIds;
+            this.amounts = amounts;
+            this.from = from;
+            this.to = to;
+            this.employees = employees;
+            this.departments = departments;
+        }
+
+        @Override
+        protected DepartmentAccumulator[] compute() {
+            if (to - from <= COLUMN_SLICE_ROWS) {
+                DepartmentAccumulator[] accumulators = new DepartmentAccumulator[departments];
+                for (int row = from; row < to; row++) {
+                    int ordinal = employees.ordinalOf(empIds[row]);
+                    if (ordinal >= 0) {
+                        accumulate(accumulators, ordinal, amounts[row]);
+                    }
+                }
+                return accumulators;
+            }
+            int middle = (from + to) >>> 1;
+            ColumnSliceTask left = new ColumnSliceTask(empIds, amounts, from, middle, employees, departments);
+            left.fork();
+            DepartmentAccumulator[] right =
+                new ColumnSliceTask(empIds, amounts, middle, to, employees, departments).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    private static void accumulate(DepartmentAccumulator[] accumulators, int ordinal, long amount) {
+        DepartmentAccumulator accumulator = accumulators[ordinal];
+        if (accumulator == null) {
+            accumulator = new DepartmentAccumulator();
+            accumulators[ordinal] = accumulator;
+        }
+        accumulator.add(amount);
+    }
+}
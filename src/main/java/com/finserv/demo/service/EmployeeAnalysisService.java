@@ -0,0 +1,140 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.dto.YoungerEmployeeCount;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.repository.DepartmentRepository;
+import com.finserv.demo.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for employee analyses, such as how many younger colleagues each employee
+ * has in their department
+ */
+@Service
+public class EmployeeAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeAnalysisService.class);
+
+    /**
+     * Engine that ranks with a window function in the database
+     */
+    public static final String ENGINE_SQL = "sql";
+
+    /**
+     * Engine that loads employees once and ranks them in memory
+     */
+    public static final String ENGINE_JAVA = "java";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    /**
+     * For every employee with a known department, count the colleagues in the same
+     * department born strictly later. Both engines return the same rows; neither runs
+     * the quadratic correlated subquery
+     *
+     * @param engine ENGINE_SQL or ENGINE_JAVA
+     * @return Counts ordered by employee ID descending
+     */
+    public List<YoungerEmployeeCount> getYoungerEmployeeCounts(String engine) {
+        if (ENGINE_SQL.equals(engine)) {
+            return employeeRepository.findYoungerEmployeeCounts();
+        }
+        if (ENGINE_JAVA.equals(engine)) {
+            Map<Long, String> departmentNames = new HashMap<>();
+            for (Department department : departmentRepository.findAll()) {
+                departmentNames.put(department.getDepartmentId(), department.getDepartmentName());
+            }
+            return countYoungerEmployees(employeeRepository.findAll(), departmentNames);
+        }
+        throw new IllegalArgumentException("engine must be " + ENGINE_SQL + " or " + ENGINE_JAVA + ": " + engine);
+    }
+
+    /**
+     * Sort each department by DOB descending once; an employee's count is then the
+     * position of the first colleague sharing their DOB, i.e. everyone strictly
+     * younger. O(n log n) overall. Employees without a DOB count nobody and are not
+     * counted; employees whose department is unknown are left out, as the SQL join does
+     *
+     * @param employees Employees to rank
+     * @param departmentNames Department names by department ID
+     * @return Counts ordered by employee ID descending
+     */
+    public List<YoungerEmployeeCount> countYoungerEmployees(List<Employee> employees, Map<Long, String> departmentNames) {
+        Map<Long, List<Employee>> byDepartment = new HashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getDepartment() != null && departmentNames.containsKey(employee.getDepartment())) {
+                byDepartment.computeIfAbsent(employee.getDepartment(), k -> new ArrayList<>()).add(employee);
+            }
+        }
+
+        Comparator<LocalDate> youngestFirst = Comparator.nullsLast(Comparator.<LocalDate>reverseOrder());
+        List<YoungerEmployeeCount> result = new ArrayList<>();
+        for (Map.Entry<Long, List<Employee>> department : byDepartment.entrySet()) {
+            List<Employee> members = department.getValue();
+            members.sort(Comparator.comparing(Employee::getDob, youngestFirst));
+            String departmentName = departmentNames.get(department.getKey());
+
+            int firstWithSameDob = 0;
+            for (int i = 0; i < members.size(); i++) {
+                Employee employee = members.get(i);
+                if (employee.getDob() == null) {
+                    // Nulls sort last: everyone left is null and counts 0
+                    for (int j = i; j < members.size(); j++) {
+                        result.add(toCount(members.get(j), departmentName, 0));
+                    }
+                    break;
+                }
+                if (i > 0 && !employee.getDob().equals(members.get(i - 1).getDob())) {
+                    firstWithSameDob = i;
+                }
+                result.add(toCount(employee, departmentName, firstWithSameDob));
+            }
+        }
+
+        result.sort(Comparator.comparing(YoungerEmployeeCount::getEmpId, Comparator.reverseOrder()));
+        logger.debug("Counted younger employees for {} employees in {} departments", result.size(), byDepartment.size());
+        return result;
+    }
+
+    /**
+     * Get the SQL query for the younger employees per department analysis.
+     * Relies on NULLs sorting lowest (last under DESC), the default in both H2 and MySQL
+     *
+     * @return SQL query string
+     */
+    public String getYoungerEmployeesSqlQuery() {
+        return """
+            SELECT
+                e.EMP_ID,
+                e.FIRST_NAME,
+                e.LAST_NAME,
+                d.DEPARTMENT_NAME,
+                CASE WHEN e.DOB IS NULL THEN 0
+                     ELSE RANK() OVER (PARTITION BY e.DEPARTMENT ORDER BY e.DOB DESC) - 1
+                END AS YOUNGER_EMPLOYEES_COUNT
+            FROM employees e
+            JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID
+            ORDER BY e.EMP_ID DESC;
+            """;
+    }
+
+    private YoungerEmployeeCount toCount(Employee employee, String departmentName, long youngerEmployeesCount) {
+        return new YoungerEmployeeCount(employee.getEmpId(), employee.getFirstName(), employee.getLastName(),
+            departmentName, youngerEmployeesCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.entity.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+
+/**
+ * Service for loading large numbers of payments through JPA with JDBC batching.
+ * Rows are persisted in fixed-size transactions; within each transaction the
+ * persistence context is flushed and cleared every JDBC batch, so memory stays
+ * bounded by one batch and every flush turns into a single batched INSERT
+ */
+@Service
+public class PaymentBulkLoadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentBulkLoadService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${finserv.bulk-load.chunk-size:10000}")
+    private int chunkSize;
+
+    /**
+     * Persist every payment the iterator yields. Each chunk commits on its own, so a
+     * failure only rolls back the chunk in progress; earlier chunks stay loaded
+     *
+     * @param payments New (unsaved) payments, consumed lazily
+     * @return Number of rows loaded, chunks committed and throughput
+     */
+    public BulkLoadSummary loadPayments(Iterator<Payment> payments) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        long rowsLoaded = 0;
+        int chunks = 0;
+
+        while (payments.hasNext()) {
+            Integer written = transactionTemplate.execute(status -> persistChunk(payments));
+            rowsLoaded += written;
+            chunks++;
+            logger.debug("Committed bulk load chunk {} ({} rows so far)", chunks, rowsLoaded);
+        }
+
+        BulkLoadSummary summary = new BulkLoadSummary(rowsLoaded, chunks, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Bulk loaded payments: {}", summary);
+        return summary;
+    }
+
+    private int persistChunk(Iterator<Payment> payments) {
+        int written = 0;
+        while (written < chunkSize && payments.hasNext()) {
+            entityManager.persist(payments.next());
+            written++;
+            if (written % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return written;
+    }
+}
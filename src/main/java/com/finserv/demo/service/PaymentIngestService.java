@@ -0,0 +1,200 @@
+package com.finserv.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.dto.PaymentIngestSummary;
+import com.finserv.demo.entity.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Service for ingesting payments from a streamed CSV or NDJSON body.
+ * The body is read one line at a time, only as fast as PaymentBulkLoadService writes
+ * its chunks, so neither the payload nor the parsed rows are ever held in full: a
+ * slow database throttles the client through the socket instead of filling the heap
+ */
+@Service
+public class PaymentIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIngestService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    /**
+     * Reject reasons kept for the summary; further rejects are only counted
+     */
+    public static final int MAX_REPORTED_REJECTS = 100;
+
+    @Autowired
+    private PaymentBulkLoadService paymentBulkLoadService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Validate and load every payment in the body. CSV rows are empId,amount,paymentTime
+     * with an optional header line; NDJSON rows are objects with the same three fields.
+     * Invalid rows are skipped and reported, valid rows are loaded in chunked transactions
+     *
+     * @param body Request body, read to the end
+     * @param format FORMAT_CSV or FORMAT_NDJSON
+     * @return Counts of rows read, loaded and rejected, with throughput
+     */
+    public PaymentIngestSummary ingest(InputStream body, String format) {
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new IllegalArgumentException("format must be " + FORMAT_CSV + " or " + FORMAT_NDJSON + ": " + format);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        // Decimal amounts are read as BigDecimal, never through a double
+        ObjectReader jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        PaymentLineIterator payments = new PaymentLineIterator(reader, FORMAT_CSV.equals(format), jsonReader);
+        BulkLoadSummary load = paymentBulkLoadService.loadPayments(payments);
+
+        PaymentIngestSummary summary = new PaymentIngestSummary(payments.rowsRead, payments.rowsRejected, payments.rejects, load);
+        logger.info("Ingested {} payments: {}", format, summary);
+        return summary;
+    }
+
+    /**
+     * Build a new payment from its three fields
+     *
+     * @throws IllegalArgumentException if a field is missing or out of range
+     */
+    static Payment toPayment(String empId, String amount, String paymentTime) {
+        if (empId == null || amount == null || paymentTime == null) {
+            throw new IllegalArgumentException("empId, amount and paymentTime are required");
+        }
+
+        long parsedEmpId;
+        BigDecimal parsedAmount;
+        LocalDateTime parsedPaymentTime;
+        try {
+            parsedEmpId = Long.parseLong(empId.trim());
+            parsedAmount = new BigDecimal(amount.trim());
+            // Accept both "2025-01-02T10:00:00" and "2025-01-02 10:00:00"
+            parsedPaymentTime = LocalDateTime.parse(paymentTime.trim().replace(' ', 'T'));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+
+        if (parsedEmpId <= 0) {
+            throw new IllegalArgumentException("empId must be positive: " + parsedEmpId);
+        }
+        if (parsedAmount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be positive: " + parsedAmount);
+        }
+        if (parsedAmount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("amount has more than 2 decimals: " + parsedAmount);
+        }
+        return new Payment(parsedEmpId, parsedAmount, parsedPaymentTime);
+    }
+
+    /**
+     * Pulls lines from the reader on demand and yields only the valid payments,
+     * counting and sampling the rejects along the way
+     */
+    private static class PaymentLineIterator implements Iterator<Payment> {
+        private final BufferedReader reader;
+        private final boolean csv;
+        private final ObjectReader jsonReader;
+        private final List<String> rejects = new ArrayList<>();
+        private long lineNumber;
+        private long rowsRead;
+        private long rowsRejected;
+        private Payment next;
+
+        PaymentLineIterator(BufferedReader reader, boolean csv, ObjectReader jsonReader) {
+            this.reader = reader;
+            this.csv = csv;
+            this.jsonReader = jsonReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (line.isBlank() || (csv && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                rowsRead++;
+                try {
+                    next = csv ? parseCsv(line) : parseNdjson(line);
+                } catch (IllegalArgumentException e) {
+                    rowsRejected++;
+                    if (rejects.size() < MAX_REPORTED_REJECTS) {
+                        rejects.add("line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Payment next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Payment payment = next;
+            next = null;
+            return payment;
+        }
+
+        private boolean isCsvHeader(String line) {
+            return !Character.isDigit(line.trim().charAt(0));
+        }
+
+        private Payment parseCsv(String line) {
+            String[] fields = line.split(",", -1);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("expected 3 fields, got " + fields.length);
+            }
+            return toPayment(fields[0], fields[1], fields[2]);
+        }
+
+        private Payment parseNdjson(String line) {
+            JsonNode node;
+            try {
+                node = jsonReader.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("invalid JSON: " + e.getOriginalMessage());
+            }
+            return toPayment(text(node, "empId"), text(node, "amount"), text(node, "paymentTime"));
+        }
+
+        private String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.dto.PaymentRetentionResult;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for retiring old payments a whole month at a time.
+ *
+ * Payments are keyed by month (PAYMENT_MONTH), and every month is a contiguous range of
+ * IDX_PAYMENTS_MONTH_TIME, so a month goes with one set-based DELETE over that range
+ * (optionally preceded by one INSERT ... SELECT into payments_archive) in its own
+ * transaction, instead of loading and removing payments one by one through JPA.
+ * No PaymentChangeEvents are raised; in-memory copies reload from the bulk event
+ */
+@Service
+public class PaymentRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRetentionService.class);
+
+    static final String ARCHIVE_TABLE = "payments_archive";
+
+    private static final String CREATE_ARCHIVE_SQL =
+        "CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " AS SELECT * FROM payments WITH NO DATA";
+
+    private static final String FIND_MONTHS_SQL =
+        "SELECT DISTINCT PAYMENT_MONTH FROM payments WHERE PAYMENT_MONTH < ? ORDER BY PAYMENT_MONTH";
+
+    private static final String ARCHIVE_MONTH_SQL =
+        "INSERT INTO " + ARCHIVE_TABLE + " SELECT * FROM payments WHERE PAYMENT_MONTH = ?";
+
+    private static final String DELETE_MONTH_SQL = "DELETE FROM payments WHERE PAYMENT_MONTH = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Remove every payment made before the given month, one month per transaction
+     *
+     * @param before First month to keep
+     * @param archive Whether to copy the removed payments into payments_archive first
+     * @return Months removed and row counts
+     */
+    public PaymentRetentionResult removePaymentsBefore(YearMonth before, boolean archive) {
+        if (before == null) {
+            throw new IllegalArgumentException("before is required");
+        }
+        logger.info("Removing payments before {} (archive={})", before, archive);
+
+        if (archive) {
+            jdbcTemplate.execute(CREATE_ARCHIVE_SQL);
+        }
+
+        List<Integer> months = jdbcTemplate.queryForList(FIND_MONTHS_SQL, Integer.class,
+            Payment.paymentMonth(before.atDay(1).atStartOfDay()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Integer> removed = new ArrayList<>();
+        long rowsArchived = 0;
+        long rowsDeleted = 0;
+        try {
+            for (Integer month : months) {
+                long[] counts = transaction.execute(status -> new long[] {
+                    archive ? jdbcTemplate.update(ARCHIVE_MONTH_SQL, month) : 0,
+                    jdbcTemplate.update(DELETE_MONTH_SQL, month)
+                });
+                rowsArchived += counts[0];
+                rowsDeleted += counts[1];
+                removed.add(month);
+                logger.info("Removed payment month {}: {} rows", month, counts[1]);
+            }
+        } finally {
+            // Also after a failure part-way, for the months already gone
+            if (rowsDeleted > 0) {
+                eventPublisher.publishEvent(new PaymentsBulkLoadedEvent(rowsDeleted));
+            }
+        }
+
+        PaymentRetentionResult result = new PaymentRetentionResult(removed, rowsArchived, rowsDeleted);
+        logger.info("Payment retention complete: {}", result);
+        return result;
+    }
+}
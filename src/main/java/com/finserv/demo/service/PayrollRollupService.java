@@ -0,0 +1,308 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.dto.PayrollMonthTotals;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.entity.PayrollRollup;
+import com.finserv.demo.entity.PayrollRollupId;
+import com.finserv.demo.event.PaymentChangeEvent;
+import com.finserv.demo.event.PaymentSnapshot;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import com.finserv.demo.repository.PayrollRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service maintaining and reading the payroll rollup: payment count, total and maximum
+ * per employee and month (payroll_rollup), so payroll reports read one row per month
+ * instead of every payment.
+ *
+ * JPA payment writes are collected per transaction as deltas per cell (count, sum, largest
+ * amount added and removed) and applied with one batched MERGE per cell right before the
+ * transaction commits, on its connection, so the rollup commits or rolls back with the
+ * payments. The merge never reads payments, which may still sit in an unexecuted JDBC
+ * batch, so pending deltas can also be applied early (large transactions, reads).
+ * A maximum cannot be un-applied: removing a cell's current max marks the cell stale, and
+ * reads re-seek stale maxima first. Writes that bypass JPA (bulk loads, retention) rebuild
+ * the table with one GROUP BY
+ */
+@Service
+public class PayrollRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollRollupService.class);
+
+    /**
+     * Largest number of months a report request may span
+     */
+    public static final int MAX_REPORT_MONTHS = 240;
+
+    /**
+     * Pending cells after which the deltas of a transaction are applied early
+     */
+    static final int MAX_PENDING_CELLS = 1000;
+
+    // One cell's net change: the cell is created by a positive count, dropped when its
+    // count reaches zero, and its max goes stale if a removed amount reached it
+    private static final String APPLY_DELTA_SQL =
+        "MERGE INTO payroll_rollup r " +
+        "USING (VALUES (CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)), " +
+        "CAST(? AS NUMERIC(38, 2)), CAST(? AS NUMERIC(38, 2)))) " +
+        "s (EMP_ID, PAYMENT_MONTH, COUNT_DELTA, AMOUNT_DELTA, MAX_ADDED, MAX_REMOVED) " +
+        "ON r.EMP_ID = s.EMP_ID AND r.PAYMENT_MONTH = s.PAYMENT_MONTH " +
+        "WHEN MATCHED AND r.PAYMENT_COUNT + s.COUNT_DELTA <= 0 THEN DELETE " +
+        "WHEN MATCHED THEN UPDATE SET " +
+        "PAYMENT_COUNT = r.PAYMENT_COUNT + s.COUNT_DELTA, " +
+        "TOTAL_AMOUNT = r.TOTAL_AMOUNT + s.AMOUNT_DELTA, " +
+        "MAX_AMOUNT = GREATEST(r.MAX_AMOUNT, COALESCE(s.MAX_ADDED, r.MAX_AMOUNT)), " +
+        "MAX_STALE = r.MAX_STALE OR COALESCE(s.MAX_REMOVED >= GREATEST(r.MAX_AMOUNT, COALESCE(s.MAX_ADDED, r.MAX_AMOUNT)), FALSE) " +
+        "WHEN NOT MATCHED AND s.COUNT_DELTA > 0 THEN INSERT " +
+        "(EMP_ID, PAYMENT_MONTH, PAYMENT_COUNT, TOTAL_AMOUNT, MAX_AMOUNT, MAX_STALE) " +
+        "VALUES (s.EMP_ID, s.PAYMENT_MONTH, s.COUNT_DELTA, s.AMOUNT_DELTA, s.MAX_ADDED, s.MAX_REMOVED IS NOT NULL)";
+
+    private static final String REFRESH_STALE_MAX_SQL =
+        "UPDATE payroll_rollup r SET MAX_STALE = FALSE, MAX_AMOUNT = (" +
+        "SELECT MAX(p.AMOUNT) FROM payments p WHERE p.PAYMENT_MONTH = r.PAYMENT_MONTH AND p.EMP_ID = r.EMP_ID) " +
+        "WHERE r.MAX_STALE";
+
+    private static final String CLEAR_SQL = "DELETE FROM payroll_rollup";
+
+    private static final String REBUILD_SQL =
+        "INSERT INTO payroll_rollup (EMP_ID, PAYMENT_MONTH, PAYMENT_COUNT, TOTAL_AMOUNT, MAX_AMOUNT, MAX_STALE) " +
+        "SELECT EMP_ID, PAYMENT_MONTH, COUNT(*), SUM(AMOUNT), MAX(AMOUNT), FALSE FROM payments " +
+        "WHERE EMP_ID IS NOT NULL AND AMOUNT IS NOT NULL GROUP BY EMP_ID, PAYMENT_MONTH";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PayrollRollupRepository payrollRollupRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Record a payment write against the transaction that makes it
+     */
+    @EventListener
+    public void onPaymentChange(PaymentChangeEvent event) {
+        switch (event.getType()) {
+            case CREATED -> record(event.getAfter(), true);
+            case DELETED -> record(event.getBefore(), false);
+            case UPDATED -> {
+                if (event.getBefore() == null) {
+                    // Without the old values there is nothing to subtract
+                    logger.warn("Payment update without previous state, rebuilding payroll rollup: {}", event.getAfter());
+                    applyPending();
+                    rebuild();
+                    return;
+                }
+                record(event.getBefore(), false);
+                record(event.getAfter(), true);
+            }
+        }
+    }
+
+    /**
+     * Rows were written without JPA events; rebuild from the table
+     */
+    @EventListener
+    public void onPaymentsBulkLoaded(PaymentsBulkLoadedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * (Re)build every rollup row from the payments table in one transaction
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        Integer rows = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.update(CLEAR_SQL);
+            return jdbcTemplate.update(REBUILD_SQL);
+        });
+        logger.info("Built {} payroll rollup rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Get an employee's monthly payroll history
+     *
+     * @param empId Employee ID
+     * @param from First month, inclusive
+     * @param to Last month, inclusive, less than MAX_REPORT_MONTHS months after from
+     * @return One row per month with payments, oldest first
+     */
+    @Transactional
+    public List<PayrollRollup> getEmployeeHistory(Long empId, YearMonth from, YearMonth to) {
+        if (empId == null) {
+            throw new IllegalArgumentException("empId is required");
+        }
+        validateRange(from, to);
+        applyPending();
+        refreshStaleMaxima();
+        return payrollRollupRepository.findEmployeeHistory(empId, Payment.paymentMonth(from), Payment.paymentMonth(to));
+    }
+
+    /**
+     * Get the payroll totals of every month in a range
+     *
+     * @param from First month, inclusive
+     * @param to Last month, inclusive, less than MAX_REPORT_MONTHS months after from
+     * @return One row per month with payments, oldest first
+     */
+    @Transactional
+    public List<PayrollMonthTotals> getMonthTotals(YearMonth from, YearMonth to) {
+        validateRange(from, to);
+        applyPending();
+        refreshStaleMaxima();
+        return payrollRollupRepository.findMonthTotals(Payment.paymentMonth(from), Payment.paymentMonth(to));
+    }
+
+    private void record(PaymentSnapshot payment, boolean added) {
+        if (payment == null || payment.getEmpId() == null || payment.getAmount() == null
+                || payment.getPaymentTime() == null) {
+            return;
+        }
+        PendingDeltas pending = pendingDeltas();
+        pending.record(payment, added);
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || pending.size() >= MAX_PENDING_CELLS) {
+            apply(pending);
+        }
+    }
+
+    /**
+     * Apply what the current transaction has recorded so far, so reads in it see its writes
+     */
+    private void applyPending() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+            if (pending != null) {
+                apply(pending);
+            }
+        }
+    }
+
+    /**
+     * Deltas of the current transaction, bound to it on first use. They are applied by a
+     * Hibernate before-completion process, which runs after the commit-time flush (whose
+     * writes are recorded too) and before the JDBC commit; on rollback they are dropped
+     */
+    private PendingDeltas pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingDeltas();
+        }
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingDeltas deltas = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            ActionQueue actionQueue = entityManager.unwrap(SessionImplementor.class).getActionQueue();
+            actionQueue.registerProcess((BeforeTransactionCompletionProcess) session -> apply(deltas));
+            actionQueue.registerProcess((AfterTransactionCompletionProcess) (success, session) ->
+                TransactionSynchronizationManager.unbindResourceIfPossible(this));
+            pending = deltas;
+        }
+        return pending;
+    }
+
+    private void apply(PendingDeltas pending) {
+        if (pending.size() == 0) {
+            return;
+        }
+        List<Object[]> rows = pending.drain();
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows);
+    }
+
+    /**
+     * Re-seek the maximum of every stale cell, one month-index lookup each
+     */
+    private void refreshStaleMaxima() {
+        int refreshed = jdbcTemplate.update(REFRESH_STALE_MAX_SQL);
+        if (refreshed > 0) {
+            logger.debug("Refreshed {} stale payroll rollup maxima", refreshed);
+        }
+    }
+
+    private static void validateRange(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("from must not be after to: " + from + " / " + to);
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_REPORT_MONTHS) {
+            throw new IllegalArgumentException("range must span fewer than " + MAX_REPORT_MONTHS + " months");
+        }
+    }
+
+    /**
+     * Net change per (employee, month) cell recorded by one transaction
+     */
+    private static final class PendingDeltas {
+
+        private final Map<PayrollRollupId, CellDelta> cells = new LinkedHashMap<>();
+
+        void record(PaymentSnapshot payment, boolean added) {
+            PayrollRollupId key = new PayrollRollupId(payment.getEmpId(), Payment.paymentMonth(payment.getPaymentTime()));
+            cells.computeIfAbsent(key, k -> new CellDelta()).record(payment.getAmount(), added);
+        }
+
+        int size() {
+            return cells.size();
+        }
+
+        /**
+         * MERGE parameters of every pending cell, leaving none pending
+         */
+        List<Object[]> drain() {
+            List<Object[]> rows = new ArrayList<>(cells.size());
+            cells.forEach((key, delta) -> rows.add(new Object[] {
+                key.getEmpId(), key.getPaymentMonth(), delta.count, delta.amount, delta.maxAdded, delta.maxRemoved
+            }));
+            cells.clear();
+            return rows;
+        }
+    }
+
+    private static final class CellDelta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private BigDecimal maxAdded;
+        private BigDecimal maxRemoved;
+
+        void record(BigDecimal value, boolean added) {
+            if (added) {
+                count++;
+                amount = amount.add(value);
+                maxAdded = maxAdded == null ? value : maxAdded.max(value);
+            } else {
+                count--;
+                amount = amount.subtract(value);
+                maxRemoved = maxRemoved == null ? value : maxRemoved.max(value);
+            }
+        }
+    }
+}
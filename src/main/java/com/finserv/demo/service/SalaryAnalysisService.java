@@ -1,23 +1,54 @@
 package com.finserv.demo.service;
 
+import com.finserv.demo.analytics.DepartmentDirectory;
+import com.finserv.demo.analytics.DistinctEmployeeSketches;
+import com.finserv.demo.analytics.PaymentAggregates;
+import com.finserv.demo.analytics.PaymentColumnStore;
+import com.finserv.demo.analytics.PaymentColumns;
+import com.finserv.demo.dto.AggregateConsistencyResult;
+import com.finserv.demo.dto.DistinctEmployeeCount;
+import com.finserv.demo.dto.PaymentBucketAggregate;
+import com.finserv.demo.dto.PaymentPage;
+import com.finserv.demo.dto.PaymentRangePage;
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisReport;
 import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.dto.SalaryAnalysisRow;
+import com.finserv.demo.dto.SalaryMetric;
 import com.finserv.demo.entity.Department;
 import com.finserv.demo.entity.Employee;
 import com.finserv.demo.entity.Payment;
 import com.finserv.demo.repository.DepartmentRepository;
 import com.finserv.demo.repository.EmployeeRepository;
 import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.util.TopK;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for analyzing salary data and finding specific payment patterns
@@ -27,6 +58,29 @@ public class SalaryAnalysisService {
     
     private static final Logger logger = LoggerFactory.getLogger(SalaryAnalysisService.class);
     
+    /**
+     * Upper bound for top-K requests
+     */
+    public static final int MAX_TOP_K = 1000;
+    
+    /**
+     * Upper bound for keyset page sizes
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    /**
+     * Largest number of months a time-range request may span
+     */
+    public static final int MAX_RANGE_MONTHS = 120;
+    
+    /**
+     * Payment ranking used by every top-K path: highest amount first, ties broken by
+     * lowest payment ID so results are deterministic
+     */
+    public static final Comparator<Payment> HIGHEST_AMOUNT_FIRST = Comparator
+        .comparing(Payment::getAmount, Comparator.reverseOrder())
+        .thenComparing(Payment::getPaymentId);
+    
     @Autowired
     private PaymentRepository paymentRepository;
     
@@ -36,6 +90,21 @@ public class SalaryAnalysisService {
     @Autowired
     private DepartmentRepository departmentRepository;
     
+    @Autowired(required = false)
+    private PaymentColumnStore columnStore;
+    
+    @Autowired(required = false)
+    private PaymentAggregates paymentAggregates;
+    
+    @Autowired(required = false)
+    private DepartmentDirectory departmentDirectory;
+    
+    @Autowired(required = false)
+    private DistinctEmployeeSketches distinctEmployeeSketches;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Find the highest salary that was credited to an employee, 
      * but only for transactions that were not made on the 1st day of any month
@@ -46,49 +115,18 @@ public class SalaryAnalysisService {
         logger.info("Finding highest salary not credited on 1st day of month");
         
         try {
-            // Find the highest payment amount among non-1st day payments
-            Optional<Payment> highestPayment = paymentRepository.findHighestPaymentNotOnFirstDay();
+            // Payment, employee and department come back from one join query,
+            // unless an in-memory analytics component can answer the payment part
+            Optional<SalaryAnalysisRow> highestRow = isInMemoryAnalyticsReady()
+                ? toAnalysisRow(findHighestPaymentInMemory())
+                : paymentRepository.findHighestSalaryNotOnFirstDay();
             
-            if (highestPayment.isEmpty()) {
+            if (highestRow.isEmpty()) {
                 logger.warn("No payments found that are not on the 1st day of month");
                 return null;
             }
             
-            Payment payment = highestPayment.get();
-            logger.info("Found highest payment: ID={}, Amount={}, Date={}", 
-                payment.getPaymentId(), payment.getAmount(), payment.getPaymentTime());
-            
-            // Get employee details
-            Optional<Employee> employeeOpt = employeeRepository.findById(payment.getEmpId());
-            if (employeeOpt.isEmpty()) {
-                logger.error("Employee not found for payment ID: {}", payment.getPaymentId());
-                return null;
-            }
-            
-            Employee employee = employeeOpt.get();
-            
-            // Get department details
-            Optional<Department> departmentOpt = departmentRepository.findById(employee.getDepartment());
-            if (departmentOpt.isEmpty()) {
-                logger.error("Department not found for employee ID: {}", employee.getEmpId());
-                return null;
-            }
-            
-            Department department = departmentOpt.get();
-            
-            // Calculate age
-            int age = calculateAge(employee.getDob());
-            
-            // Create result
-            SalaryAnalysisResult result = new SalaryAnalysisResult(
-                payment.getAmount(),
-                employee.getFirstName() + " " + employee.getLastName(),
-                age,
-                department.getDepartmentName()
-            );
-            
-            logger.info("Salary analysis result: {}", result);
-            return result;
+            return toAnalysisResult(highestRow.get());
             
         } catch (Exception e) {
             logger.error("Error finding highest salary not on first day: ", e);
@@ -96,6 +134,135 @@ public class SalaryAnalysisService {
         }
     }
     
+    /**
+     * Find the highest salary not credited on the 1st day of a month, among payments made
+     * in [from, to). Each covered month is one top-1 seek on its own index range, and the
+     * per-month winners are compared here, so the cost grows with the number of months in
+     * the range rather than the number of payments in it
+     * 
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range, at most MAX_RANGE_MONTHS months after from
+     * @return SalaryAnalysisResult, or null if no payment in the range qualifies
+     */
+    public SalaryAnalysisResult findHighestSalaryNotOnFirstDayBetween(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        logger.info("Finding highest salary not credited on 1st day of month between {} and {}", from, to);
+        
+        SalaryAnalysisRow highest = null;
+        // to is exclusive, so the last covered month is the one of the instant before it
+        YearMonth lastMonth = YearMonth.from(to.minusNanos(1));
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            Optional<SalaryAnalysisRow> candidate = paymentRepository.findHighestSalaryNotOnFirstDayInMonth(
+                month.getYear() * 100 + month.getMonthValue(), from, to);
+            if (candidate.isPresent() && (highest == null || isHigher(candidate.get(), highest))) {
+                highest = candidate.get();
+            }
+        }
+        
+        if (highest == null) {
+            logger.warn("No payments found between {} and {} that are not on the 1st day of month", from, to);
+            return null;
+        }
+        return toAnalysisResult(highest);
+    }
+    
+    /**
+     * Same ranking as HIGHEST_AMOUNT_FIRST: higher amount wins, then lower payment ID
+     */
+    private static boolean isHigher(SalaryAnalysisRow candidate, SalaryAnalysisRow current) {
+        int byAmount = candidate.getAmount().compareTo(current.getAmount());
+        return byAmount > 0 || (byAmount == 0 && candidate.getPaymentId() < current.getPaymentId());
+    }
+    
+    /**
+     * Turn the joined row of the highest payment into the analysis result, or null if its
+     * employee or department is missing
+     */
+    private SalaryAnalysisResult toAnalysisResult(SalaryAnalysisRow row) {
+        logger.info("Found highest payment: ID={}, Amount={}", row.getPaymentId(), row.getAmount());
+        
+        if (row.getEmployeeId() == null) {
+            logger.error("Employee not found for payment ID: {}", row.getPaymentId());
+            return null;
+        }
+        
+        if (row.getDepartmentId() == null) {
+            logger.error("Department not found for employee ID: {}", row.getEmployeeId());
+            return null;
+        }
+        
+        // Calculate age
+        int age = calculateAge(row.getDob());
+        
+        // Create result
+        SalaryAnalysisResult result = new SalaryAnalysisResult(
+            row.getAmount(),
+            row.getFirstName() + " " + row.getLastName(),
+            age,
+            row.getDepartmentName()
+        );
+        
+        logger.info("Salary analysis result: {}", result);
+        return result;
+    }
+    
+    /**
+     * Highest payment not on the 1st day from the maintained aggregates (constant time)
+     * or else the column store (one scan); call only when one of them is ready
+     */
+    private PaymentColumns findHighestPaymentInMemory() {
+        return isAggregatesReady()
+            ? paymentAggregates.highestPaymentNotOnFirstDay()
+            : columnStore.highestPaymentNotOnFirstDay();
+    }
+    
+    /**
+     * Resolve an in-memory payment's employee and department by primary key, into the
+     * same row shape the join query returns
+     */
+    private Optional<SalaryAnalysisRow> toAnalysisRow(PaymentColumns payment) {
+        if (payment == null) {
+            return Optional.empty();
+        }
+        
+        Employee employee = employeeRepository.findById(payment.getEmpId()).orElse(null);
+        Long departmentId = employee != null ? employee.getDepartment() : null;
+        String departmentName = departmentId != null ? findDepartmentName(departmentId) : null;
+        
+        return Optional.of(new SalaryAnalysisRow(
+            payment.getPaymentId(),
+            PaymentColumnStore.fromMinorUnits(payment.getAmount()),
+            employee != null ? employee.getEmpId() : null,
+            employee != null ? employee.getFirstName() : null,
+            employee != null ? employee.getLastName() : null,
+            employee != null ? employee.getDob() : null,
+            departmentName != null ? departmentId : null,
+            departmentName
+        ));
+    }
+    
+    /**
+     * Department name from the in-memory directory once it is loaded, else by primary key
+     */
+    private String findDepartmentName(long departmentId) {
+        if (departmentDirectory != null && departmentDirectory.isLoaded()) {
+            return departmentDirectory.getName(departmentId);
+        }
+        return departmentRepository.findById(departmentId).map(Department::getDepartmentName).orElse(null);
+    }
+    
+    private boolean isColumnStoreReady() {
+        return columnStore != null && columnStore.isLoaded();
+    }
+    
+    private boolean isAggregatesReady() {
+        return paymentAggregates != null && paymentAggregates.isLoaded();
+    }
+    
+    private boolean isInMemoryAnalyticsReady() {
+        return isAggregatesReady() || isColumnStoreReady();
+    }
+    
     /**
      * Get the SQL query for finding the highest salary not on first day
      * 
@@ -136,12 +303,260 @@ public class SalaryAnalysisService {
         return paymentRepository.findByPaymentTimeNotOnFirstDay();
     }
     
+    /**
+     * Stream every payment not on the 1st day of month to the given action, in the same
+     * order as getPaymentsNotOnFirstDay. Each payment is detached from the persistence
+     * context once handled, so memory use does not grow with the number of rows
+     * 
+     * @param action Action invoked for each payment
+     * @return Number of payments streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamPaymentsNotOnFirstDay(Consumer<Payment> action) {
+        long count = 0;
+        try (Stream<Payment> payments = paymentRepository.streamNotOnFirstDay()) {
+            Iterator<Payment> iterator = payments.iterator();
+            while (iterator.hasNext()) {
+                Payment payment = iterator.next();
+                action.accept(payment);
+                entityManager.detach(payment);
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Get one keyset page of payments not on the 1st day of month, in payment ID order
+     * 
+     * @param after Last payment ID of the previous page, 0 for the first page
+     * @param limit Page size, between 1 and MAX_PAGE_SIZE
+     * @return Page of payments with the cursor for the next page
+     */
+    public PaymentPage getPaymentsNotOnFirstDayAfter(long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        
+        List<Payment> payments = paymentRepository.findNotOnFirstDayAfter(after, PageRequest.of(0, limit));
+        Long nextAfter = payments.size() < limit ? null : payments.get(payments.size() - 1).getPaymentId();
+        return new PaymentPage(payments, nextAfter);
+    }
+    
+    /**
+     * Get one keyset page of payments made in [from, to), oldest first (ties by payment
+     * ID). Only the months between the cursor and the end of the range are read
+     * 
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range, at most MAX_RANGE_MONTHS months after from
+     * @param afterTime Payment time of the previous page's last payment (nextAfterTime),
+     *                  null for the first page
+     * @param afterId Payment ID of the previous page's last payment (nextAfterId),
+     *                null for the first page
+     * @param limit Page size, between 1 and MAX_PAGE_SIZE
+     * @return Page of payments with the cursor for the next page
+     */
+    public PaymentRangePage getPaymentsBetween(LocalDateTime from, LocalDateTime to,
+                                               LocalDateTime afterTime, Long afterId, int limit) {
+        validateRange(from, to);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ": " + limit);
+        }
+        if ((afterTime == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterTime and afterId must be given together");
+        }
+        
+        Pageable page = PageRequest.of(0, limit);
+        List<Payment> payments;
+        if (afterTime == null) {
+            payments = paymentRepository.findByPaymentTimeBetween(from, to, page);
+        } else {
+            // The cursor cannot point before the range, or the page would escape it
+            LocalDateTime cursor = afterTime.isBefore(from) ? from : afterTime;
+            long cursorId = afterTime.isBefore(from) ? 0L : afterId;
+            payments = paymentRepository.findInMonthsAfter(Payment.paymentMonth(cursor), Payment.paymentMonth(to.minusNanos(1)),
+                cursor, cursorId, to, page);
+        }
+        
+        if (payments.size() < limit) {
+            return new PaymentRangePage(payments, null, null);
+        }
+        Payment last = payments.get(payments.size() - 1);
+        return new PaymentRangePage(payments, last.getPaymentTime(), last.getPaymentId());
+    }
+    
+    /**
+     * Get the payment totals, overall and not on the 1st day of month, of payments made
+     * in [from, to), reading only the months the range covers
+     * 
+     * @param from Inclusive start of the range
+     * @param to Exclusive end of the range, at most MAX_RANGE_MONTHS months after from
+     * @return Totals; sums and maximums are null when no payment matches
+     */
+    public PaymentTotals getPaymentTotalsBetween(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return paymentRepository.findPaymentTotalsInMonths(Payment.paymentMonth(from), Payment.paymentMonth(to.minusNanos(1)),
+            from, to);
+    }
+    
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to: " + from + " / " + to);
+        }
+        if (ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to.minusNanos(1))) >= MAX_RANGE_MONTHS) {
+            throw new IllegalArgumentException("range must span fewer than " + MAX_RANGE_MONTHS + " months");
+        }
+    }
+    
+    /**
+     * Get the K highest payments, highest amount first with ties broken by payment ID.
+     * Each first-day partition of IDX_PAYMENTS_FIRST_DAY_AMOUNT is read with the limit
+     * pushed into SQL; when both partitions are requested their top-K lists are merged
+     * through a bounded heap, so at most 2K rows are ever loaded
+     * 
+     * @param k Number of payments to return, between 1 and MAX_TOP_K
+     * @param excludeFirstDay Whether to skip payments made on the 1st day of month
+     * @return List of at most k payments
+     */
+    public List<Payment> getTopPayments(int k, boolean excludeFirstDay) {
+        if (k < 1 || k > MAX_TOP_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_TOP_K + ": " + k);
+        }
+        
+        Pageable limit = PageRequest.of(0, k);
+        List<Payment> notOnFirstDay = paymentRepository.findTopByFirstDayOfMonth(false, limit);
+        if (excludeFirstDay) {
+            return notOnFirstDay;
+        }
+        
+        TopK<Payment> topK = new TopK<>(k, HIGHEST_AMOUNT_FIRST);
+        topK.offerAll(notOnFirstDay);
+        topK.offerAll(paymentRepository.findTopByFirstDayOfMonth(true, limit));
+        return topK.toSortedList();
+    }
+    
     /**
      * Get the maximum amount among payments not on the 1st day
      * 
      * @return Maximum amount or null if no payments found
      */
     public BigDecimal getMaxAmountNotOnFirstDay() {
+        if (isAggregatesReady()) {
+            PaymentColumns highest = paymentAggregates.highestPaymentNotOnFirstDay();
+            return highest != null ? PaymentColumnStore.fromMinorUnits(highest.getAmount()) : null;
+        }
+        if (isColumnStoreReady()) {
+            OptionalLong maxAmount = columnStore.maxAmountNotOnFirstDay();
+            return maxAmount.isPresent() ? PaymentColumnStore.fromMinorUnits(maxAmount.getAsLong()) : null;
+        }
         return paymentRepository.findMaxAmountNotOnFirstDay();
     }
+    
+    /**
+     * Compute several metrics in one go. Every count, sum, average and maximum comes from
+     * the same single scan (findPaymentTotals), which runs only if one of them is asked
+     * for; HIGHEST_SALARY_NOT_FIRST_DAY adds its own top-1 join, which reads the index
+     * rather than the table
+     * 
+     * @param metrics Metrics to compute; duplicates are ignored
+     * @return Report with one value per distinct metric, in request order
+     */
+    public SalaryAnalysisReport analyze(List<SalaryMetric> metrics) {
+        if (metrics == null || metrics.isEmpty()) {
+            throw new IllegalArgumentException("at least one metric is required");
+        }
+        if (metrics.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("metrics must not contain null");
+        }
+        
+        LinkedHashSet<SalaryMetric> requested = new LinkedHashSet<>(metrics);
+        PaymentTotals totals = requested.stream().anyMatch(SalaryMetric::isFromTotals)
+            ? paymentRepository.findPaymentTotals()
+            : null;
+        
+        Map<SalaryMetric, Object> values = new LinkedHashMap<>();
+        for (SalaryMetric metric : requested) {
+            values.put(metric, switch (metric) {
+                case PAYMENT_COUNT -> totals.getPaymentCount();
+                case TOTAL_AMOUNT -> totals.getTotalAmount();
+                case MAX_AMOUNT -> totals.getMaxAmount();
+                case PAYMENT_COUNT_NOT_FIRST_DAY -> totals.getPaymentCountNotFirstDay();
+                case TOTAL_AMOUNT_NOT_FIRST_DAY -> totals.getTotalAmountNotFirstDay();
+                case AVERAGE_AMOUNT_NOT_FIRST_DAY -> totals.getPaymentCountNotFirstDay() == 0 ? null
+                    : totals.getTotalAmountNotFirstDay().divide(
+                        BigDecimal.valueOf(totals.getPaymentCountNotFirstDay()), 2, RoundingMode.HALF_UP);
+                case MAX_AMOUNT_NOT_FIRST_DAY -> totals.getMaxAmountNotFirstDay();
+                case HIGHEST_SALARY_NOT_FIRST_DAY -> findHighestSalaryNotOnFirstDay();
+            });
+        }
+        
+        logger.info("Analyzed {} metrics in {} statement(s)", values.size(),
+            (totals != null ? 1 : 0) + (requested.contains(SalaryMetric.HIGHEST_SALARY_NOT_FIRST_DAY) ? 1 : 0));
+        return new SalaryAnalysisReport(values);
+    }
+    
+    /**
+     * Get the maintained count, sum and max of every payment bucket
+     * 
+     * @return List of bucket aggregates, or null if aggregates are not enabled
+     */
+    public List<PaymentBucketAggregate> getPaymentAggregates() {
+        return isAggregatesReady() ? paymentAggregates.snapshot() : null;
+    }
+    
+    /**
+     * Compare the maintained payment aggregates with the SQL answer
+     * 
+     * @return Consistency result, or null if aggregates are not enabled
+     */
+    public AggregateConsistencyResult checkPaymentAggregates() {
+        return isAggregatesReady() ? paymentAggregates.checkConsistency() : null;
+    }
+    
+    /**
+     * Approximate number of distinct employees paid in a range of months
+     * 
+     * @param from First month
+     * @param to Last month, inclusive
+     * @param departmentId Department to count, or null for all employees
+     * @param excludeFirstDay true to count only payments not made on the 1st of the month
+     * @param precision Sketch precision of the answer, or null for the maintained one
+     * @return Estimate, or null if distinct-employee sketches are not enabled
+     */
+    public DistinctEmployeeCount countDistinctEmployees(YearMonth from, YearMonth to, Long departmentId,
+                                                        boolean excludeFirstDay, Integer precision) {
+        return isDistinctEmployeesReady()
+            ? distinctEmployeeSketches.count(from, to, departmentId, excludeFirstDay, precision) : null;
+    }
+    
+    /**
+     * Approximate number of distinct employees paid in each month of a range
+     * 
+     * @return One estimate per month with payments, or null if distinct-employee sketches are not enabled
+     * @see #countDistinctEmployees
+     */
+    public List<DistinctEmployeeCount> countDistinctEmployeesByMonth(YearMonth from, YearMonth to, Long departmentId,
+                                                                     boolean excludeFirstDay, Integer precision) {
+        return isDistinctEmployeesReady()
+            ? distinctEmployeeSketches.countByMonth(from, to, departmentId, excludeFirstDay, precision) : null;
+    }
+    
+    /**
+     * Approximate number of distinct employees paid in a range of months, per department
+     * 
+     * @return One estimate per department with payments, or null if distinct-employee sketches are not enabled
+     * @see #countDistinctEmployees
+     */
+    public List<DistinctEmployeeCount> countDistinctEmployeesByDepartment(YearMonth from, YearMonth to,
+                                                                          boolean excludeFirstDay, Integer precision) {
+        return isDistinctEmployeesReady()
+            ? distinctEmployeeSketches.countByDepartment(from, to, excludeFirstDay, precision) : null;
+    }
+    
+    private boolean isDistinctEmployeesReady() {
+        return distinctEmployeeSketches != null && distinctEmployeeSketches.isLoaded();
+    }
 }
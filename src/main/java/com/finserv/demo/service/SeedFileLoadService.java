@@ -0,0 +1,227 @@
+package com.finserv.demo.service;
+
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.event.PaymentsBulkLoadedEvent;
+import com.finserv.demo.util.MappedCsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for loading large seed files straight into the tables, bypassing JPA.
+ * Files are read through MappedCsvReader (memory-mapped, parsed from bytes) and each
+ * chunk is written with one JDBC batch in its own transaction. IDs are reserved from
+ * the entities' pooled sequences in the same [value, value + allocationSize) blocks
+ * Hibernate's pooled-lo optimizer uses, so later JPA inserts never collide.
+ *
+ * Seed files can be loaded at startup with finserv.seed.employees-file and
+ * finserv.seed.payments-file
+ */
+@Service
+public class SeedFileLoadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedFileLoadService.class);
+
+    /**
+     * Must match allocationSize of the entities' @SequenceGenerator
+     */
+    static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    static final String INSERT_PAYMENT_SQL =
+        "INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) VALUES (?, ?, ?, ?, ?)";
+
+    static final String INSERT_EMPLOYEE_SQL =
+        "INSERT INTO employees (EMP_ID, FIRST_NAME, LAST_NAME, DOB, GENDER, DEPARTMENT) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${finserv.bulk-load.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${finserv.seed.employees-file:}")
+    private String employeesFile;
+
+    @Value("${finserv.seed.payments-file:}")
+    private String paymentsFile;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadConfiguredSeedFiles() throws IOException {
+        if (!employeesFile.isBlank()) {
+            loadEmployees(Path.of(employeesFile));
+        }
+        if (!paymentsFile.isBlank()) {
+            loadPayments(Path.of(paymentsFile));
+        }
+    }
+
+    /**
+     * Load a payments file with lines empId,amount,paymentTime (optional header line)
+     *
+     * @param file CSV file
+     * @return Number of rows loaded, chunks committed and throughput
+     * @throws IllegalArgumentException on the first malformed line; chunks committed before it stay loaded
+     */
+    public BulkLoadSummary loadPayments(Path file) throws IOException {
+        long start = System.nanoTime();
+        long rowsLoaded = 0;
+        int chunks = 0;
+
+        long[] empIds = new long[chunkSize];
+        long[] amounts = new long[chunkSize];
+        LocalDateTime[] paymentTimes = new LocalDateTime[chunkSize];
+
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            boolean more = skipHeader(reader, "empId");
+            while (more) {
+                int rows = 0;
+                while (rows < chunkSize && more) {
+                    if (!reader.isBlankLine()) {
+                        empIds[rows] = reader.nextLong();
+                        amounts[rows] = reader.nextDecimal(2);
+                        paymentTimes[rows] = reader.nextDateTime();
+                        rows++;
+                    }
+                    more = reader.nextLine();
+                }
+                if (rows > 0) {
+                    writePayments(empIds, amounts, paymentTimes, rows);
+                    rowsLoaded += rows;
+                    chunks++;
+                }
+            }
+        }
+
+        BulkLoadSummary summary = new BulkLoadSummary(rowsLoaded, chunks, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Loaded payments from {}: {}", file, summary);
+        eventPublisher.publishEvent(new PaymentsBulkLoadedEvent(rowsLoaded));
+        return summary;
+    }
+
+    /**
+     * Load an employees file with lines firstName,lastName,dob,gender,department
+     * (optional header line; dob as yyyy-MM-dd)
+     *
+     * @param file CSV file
+     * @return Number of rows loaded, chunks committed and throughput
+     * @throws IllegalArgumentException on the first malformed line; chunks committed before it stay loaded
+     */
+    public BulkLoadSummary loadEmployees(Path file) throws IOException {
+        long start = System.nanoTime();
+        long rowsLoaded = 0;
+        int chunks = 0;
+
+        List<Object[]> rows = new ArrayList<>(chunkSize);
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            boolean more = skipHeader(reader, "firstName");
+            while (more) {
+                rows.clear();
+                while (rows.size() < chunkSize && more) {
+                    if (!reader.isBlankLine()) {
+                        rows.add(new Object[] {
+                            reader.nextString(), reader.nextString(), Date.valueOf(reader.nextDate()),
+                            reader.nextString(), reader.nextLong()
+                        });
+                    }
+                    more = reader.nextLine();
+                }
+                if (!rows.isEmpty()) {
+                    writeEmployees(rows);
+                    rowsLoaded += rows.size();
+                    chunks++;
+                }
+            }
+        }
+
+        BulkLoadSummary summary = new BulkLoadSummary(rowsLoaded, chunks, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Loaded employees from {}: {}", file, summary);
+        return summary;
+    }
+
+    /**
+     * Position the reader on the first data line, stepping over a header line that
+     * starts with the name of the first column
+     *
+     * @return false if the file has no data lines
+     */
+    private boolean skipHeader(MappedCsvReader reader, String firstColumn) throws IOException {
+        if (!reader.nextLine()) {
+            return false;
+        }
+        return !reader.startsWith(firstColumn) || reader.nextLine();
+    }
+
+    private void writePayments(long[] empIds, long[] amounts, LocalDateTime[] paymentTimes, int rows) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long[] ids = reserveIds("PAYMENT_SEQ", rows);
+            jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, rowIndexes(rows), rows, (PreparedStatement ps, Integer row) -> {
+                ps.setLong(1, ids[row]);
+                ps.setLong(2, empIds[row]);
+                ps.setBigDecimal(3, BigDecimal.valueOf(amounts[row], 2));
+                ps.setTimestamp(4, Timestamp.valueOf(paymentTimes[row]));
+                ps.setBoolean(5, Payment.isFirstDayOfMonth(paymentTimes[row]));
+            });
+        });
+    }
+
+    private void writeEmployees(List<Object[]> rows) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long[] ids = reserveIds("EMPLOYEE_SEQ", rows.size());
+            jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_SQL, rowIndexes(rows.size()), rows.size(), (PreparedStatement ps, Integer row) -> {
+                Object[] values = rows.get(row);
+                ps.setLong(1, ids[row]);
+                for (int i = 0; i < values.length; i++) {
+                    ps.setObject(i + 2, values[i]);
+                }
+            });
+        });
+    }
+
+    /**
+     * Take enough pooled-lo blocks from the sequence for the given number of rows, in one
+     * statement; block value v owns IDs v .. v + SEQUENCE_ALLOCATION_SIZE - 1
+     */
+    private long[] reserveIds(String sequence, int rows) {
+        int blocks = (rows + SEQUENCE_ALLOCATION_SIZE - 1) / SEQUENCE_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(
+            "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)", Long.class, blocks);
+        long[] ids = new long[rows];
+        for (int row = 0; row < rows; row++) {
+            ids[row] = blockStarts.get(row / SEQUENCE_ALLOCATION_SIZE) + row % SEQUENCE_ALLOCATION_SIZE;
+        }
+        return ids;
+    }
+
+    private static List<Integer> rowIndexes(int rows) {
+        List<Integer> indexes = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            indexes.add(row);
+        }
+        return indexes;
+    }
+}
@@ -12,29 +12,76 @@ import com.finserv.demo.repository.EmployeeRepository;
 import com.finserv.demo.repository.OrderRepository;
 import com.finserv.demo.repository.PaymentRepository;
 import com.finserv.demo.service.SalaryAnalysisService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.http.*;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+/**
+ * Runs the generate webhook -> solve -> submit flow once the application is ready.
+ * The flow is a chain of CompletableFuture steps on the service's own executor, so
+ * startup and readiness never wait on the remote endpoint. HTTP steps time out after
+ * finserv.webhook.step-timeout and transient failures (I/O errors, timeouts, 5xx,
+ * 429) are retried with full-jitter exponential backoff. Shutdown cancels whatever
+ * step or retry is still pending
+ */
 @Service
 public class WebhookService {
     
     private static final Logger logger = LoggerFactory.getLogger(WebhookService.class);
     
-    private static final String WEBHOOK_GENERATION_URL = "https://bfhldevapigw.healthrx.co.in/hiring/generateWebhook/JAVA";
     private static final String WEBHOOK_TEST_URL = "https://bfhldevapigw.healthrx.co.in/hiring/testWebhook/JAVA";
     
+    private static final String REGISTRATION_NUMBER = "REG12347";
+    
+    @Value("${finserv.webhook.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${finserv.webhook.generate-url:https://bfhldevapigw.healthrx.co.in/hiring/generateWebhook/JAVA}")
+    private String generateUrl;
+    
+    @Value("${finserv.webhook.step-timeout:15s}")
+    private Duration stepTimeout;
+    
+    @Value("${finserv.webhook.max-attempts:4}")
+    private int maxAttempts;
+    
+    @Value("${finserv.webhook.initial-backoff:500ms}")
+    private Duration initialBackoff;
+    
+    @Value("${finserv.webhook.max-backoff:8s}")
+    private Duration maxBackoff;
+    
     @Autowired
     private RestTemplate restTemplate;
     
@@ -53,68 +100,138 @@ public class WebhookService {
     @Autowired
     private SalaryAnalysisService salaryAnalysisService;
     
+    @Autowired
+    private EmployeeAnalysisService employeeAnalysisService;
+    
+    @Autowired
+    private Environment environment;
+    
+    // Owned by this service rather than a bean: an Executor bean would replace
+    // Boot's applicationTaskExecutor, which async MVC requests run on
+    private ExecutorService executor;
+    
+    private volatile boolean stopped;
+    
+    private volatile CompletableFuture<String> flow;
+    
+    /**
+     * Virtual threads when spring.threads.virtual.enabled is set and the JVM is 21+,
+     * otherwise two platform threads
+     */
+    @PostConstruct
+    void createExecutor() {
+        executor = Threading.VIRTUAL.isActive(environment)
+            ? Executors.newCachedThreadPool(new VirtualThreadTaskExecutor("webhook-").getVirtualThreadFactory())
+            : Executors.newFixedThreadPool(2, new CustomizableThreadFactory("webhook-"));
+    }
+    
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
-        logger.info("Application started. Beginning webhook process...");
-        try {
-            // Add a small delay to ensure all beans are properly initialized
-            Thread.sleep(2000);
-            processWebhookFlow();
-        } catch (Exception e) {
-            logger.error("Error during webhook process: ", e);
+        if (!enabled) {
+            logger.info("Webhook process disabled (finserv.webhook.enabled=false)");
+            return;
         }
+        logger.info("Application started. Beginning webhook process in the background...");
+        flow = processWebhookFlow();
     }
     
-    public void processWebhookFlow() {
-        try {
-            // Step 1: Generate webhook
-            logger.info("Step 1: Generating webhook...");
-            WebhookResponse webhookResponse = generateWebhook();
-            if (webhookResponse == null) {
-                logger.error("Failed to generate webhook. Exiting process.");
-                return;
-            }
-            
-            // Step 2: Solve SQL problem based on registration number
-            logger.info("Step 2: Solving SQL problem...");
-            String sqlQuery = solveSqlProblem("REG12347"); // Using the registration number from our request
-            
-            // Step 3: Submit solution
-            logger.info("Step 3: Submitting solution...");
-            submitSolution(webhookResponse.getWebhook(), webhookResponse.getAccessToken(), sqlQuery);
-            
-            logger.info("Webhook process completed successfully!");
-            
-        } catch (Exception e) {
-            logger.error("Unexpected error during webhook process: ", e);
+    /**
+     * Start the flow and return at once
+     * 
+     * @return Completes with the submission response once the solution has been
+     * submitted, or exceptionally with the failure of the step that gave up
+     */
+    public CompletableFuture<String> processWebhookFlow() {
+        return runStep("generate webhook", this::generateWebhook, 1, executor)
+            .thenCompose(webhookResponse -> runStep("solve", () -> solveSqlProblem(REGISTRATION_NUMBER), maxAttempts, executor)
+                .thenCompose(sqlQuery -> runStep("submit solution",
+                    () -> submitSolution(webhookResponse.getWebhook(), webhookResponse.getAccessToken(), sqlQuery), 1, executor)))
+            .whenComplete((result, error) -> {
+                if (error == null) {
+                    logger.info("Webhook process completed successfully!");
+                } else {
+                    logger.error("Webhook process failed: {}", unwrap(error).toString());
+                }
+            });
+    }
+    
+    /**
+     * Stop the flow: nothing new starts and running steps are interrupted
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        CompletableFuture<String> current = flow;
+        if (current != null && current.cancel(true)) {
+            logger.info("Webhook process cancelled on shutdown");
         }
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Run one step on the executor, bounded by the step timeout, retrying transient
+     * failures until maxAttempts. The attempt number is the one being started; a
+     * step that must not be retried passes maxAttempts as its first attempt
+     */
+    private <T> CompletableFuture<T> runStep(String step, Supplier<T> call, int attempt, Executor stepExecutor) {
+        return CompletableFuture.supplyAsync(() -> {
+                if (stopped) {
+                    throw new CancellationException(step + " cancelled");
+                }
+                return call.get();
+            }, stepExecutor)
+            .orTimeout(stepTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionallyCompose(error -> {
+                Throwable cause = unwrap(error);
+                if (stopped || attempt >= maxAttempts || !isRetryable(cause)) {
+                    return CompletableFuture.failedFuture(cause);
+                }
+                long delay = backoffMillis(attempt);
+                logger.warn("Step '{}' attempt {}/{} failed ({}); retrying in {} ms", step, attempt, maxAttempts, cause.toString(), delay);
+                return runStep(step, call, attempt + 1, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor));
+            });
+    }
+    
+    /**
+     * Full jitter: uniform in [0, min(maxBackoff, initialBackoff * 2^(attempt - 1))]
+     */
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+    
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof TimeoutException || error instanceof ResourceAccessException) {
+            return true;
+        }
+        if (error instanceof HttpStatusCodeException statusError) {
+            HttpStatusCode status = statusError.getStatusCode();
+            return status.is5xxServerError() || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return false;
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
     
     private WebhookResponse generateWebhook() {
-        try {
-            WebhookRequest request = new WebhookRequest("John Doe", "REG12347", "john@example.com");
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<WebhookRequest> entity = new HttpEntity<>(request, headers);
-            
-            logger.info("Sending webhook generation request: {}", request);
-            ResponseEntity<WebhookResponse> response = restTemplate.postForEntity(
-                WEBHOOK_GENERATION_URL, entity, WebhookResponse.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                logger.info("Webhook generated successfully: {}", response.getBody());
-                return response.getBody();
-            } else {
-                logger.error("Failed to generate webhook. Status: {}, Body: {}", 
-                    response.getStatusCode(), response.getBody());
-                return null;
-            }
-        } catch (Exception e) {
-            logger.error("Exception during webhook generation: ", e);
-            return null;
+        WebhookRequest request = new WebhookRequest("John Doe", REGISTRATION_NUMBER, "john@example.com");
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        
+        HttpEntity<WebhookRequest> entity = new HttpEntity<>(request, headers);
+        
+        logger.info("Sending webhook generation request: {}", request);
+        ResponseEntity<WebhookResponse> response = restTemplate.postForEntity(
+            generateUrl, entity, WebhookResponse.class);
+        
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            throw new IllegalStateException("Failed to generate webhook. Status: " + response.getStatusCode());
         }
+        logger.info("Webhook generated successfully: {}", response.getBody());
+        return response.getBody();
     }
     
     private String solveSqlProblem(String regNo) {
@@ -148,19 +265,9 @@ public class WebhookService {
             // Populate sample data
             populateEmployeeData();
             
-            // The SQL query for Question 1: Calculate younger employees count by department
-            String sqlQuery = "SELECT " +
-                             "e.EMP_ID, " +
-                             "e.FIRST_NAME, " +
-                             "e.LAST_NAME, " +
-                             "d.DEPARTMENT_NAME, " +
-                             "(SELECT COUNT(*) " +
-                             "FROM employees e2 " +
-                             "WHERE e2.DEPARTMENT = e.DEPARTMENT " +
-                             "AND e2.DOB > e.DOB) AS YOUNGER_EMPLOYEES_COUNT " +
-                             "FROM employees e " +
-                             "JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID " +
-                             "ORDER BY e.EMP_ID DESC";
+            // The SQL query for Question 1: younger employees count by department,
+            // ranked with a window function instead of a correlated COUNT(*) per employee
+            String sqlQuery = employeeAnalysisService.getYoungerEmployeesSqlQuery();
             
             logger.info("Generated SQL Query for Employee Problem: {}", sqlQuery);
             return sqlQuery;
@@ -264,36 +371,31 @@ public class WebhookService {
         }
     }
     
-    private void submitSolution(String webhookUrl, String accessToken, String sqlQuery) {
-        try {
-            if (webhookUrl == null || accessToken == null || sqlQuery == null) {
-                logger.error("Invalid parameters for solution submission. webhookUrl: {}, accessToken: {}, sqlQuery: {}", 
-                    webhookUrl, accessToken != null ? "***" : "null", sqlQuery);
-                return;
-            }
-            
-            SolutionRequest request = new SolutionRequest(sqlQuery);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(accessToken);
-            
-            HttpEntity<SolutionRequest> entity = new HttpEntity<>(request, headers);
-            
-            logger.info("Submitting solution to webhook: {}", webhookUrl);
-            logger.info("SQL Query: {}", sqlQuery);
-            
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                webhookUrl, entity, String.class);
-            
-            if (response.getStatusCode() == HttpStatus.OK) {
-                logger.info("Solution submitted successfully. Response: {}", response.getBody());
-            } else {
-                logger.error("Failed to submit solution. Status: {}, Response: {}", 
-                    response.getStatusCode(), response.getBody());
-            }
-        } catch (Exception e) {
-            logger.error("Exception during solution submission: ", e);
+    private String submitSolution(String webhookUrl, String accessToken, String sqlQuery) {
+        if (webhookUrl == null || accessToken == null || sqlQuery == null) {
+            throw new IllegalArgumentException("Invalid parameters for solution submission. webhookUrl: " + webhookUrl
+                + ", accessToken: " + (accessToken != null ? "***" : "null") + ", sqlQuery: " + sqlQuery);
+        }
+        
+        SolutionRequest request = new SolutionRequest(sqlQuery);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(accessToken);
+        
+        HttpEntity<SolutionRequest> entity = new HttpEntity<>(request, headers);
+        
+        logger.info("Submitting solution to webhook: {}", webhookUrl);
+        logger.info("SQL Query: {}", sqlQuery);
+        
+        ResponseEntity<String> response = restTemplate.postForEntity(
+            webhookUrl, entity, String.class);
+        
+        if (response.getStatusCode() != HttpStatus.OK) {
+            throw new IllegalStateException("Failed to submit solution. Status: " + response.getStatusCode()
+                + ", Response: " + response.getBody());
         }
+        logger.info("Solution submitted successfully. Response: {}", response.getBody());
+        return response.getBody();
     }
 }
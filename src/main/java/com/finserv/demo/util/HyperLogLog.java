@@ -0,0 +1,268 @@
+package com.finserv.demo.util;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable distinct-count sketch (HyperLogLog) over long values, with 2^precision
+ * registers. The relative standard error of estimate() is about 1.04 / sqrt(2^precision):
+ * 1.6% at precision 12, 0.81% at 14, 0.41% at 16, and roughly 99.7% of estimates fall
+ * within three times that. Cardinality is estimated with Ertl's improved estimator
+ * ("New cardinality estimation algorithms for HyperLogLog sketches", 2017), which needs
+ * no bias tables and stays unbiased from zero up to far beyond 2^precision.
+ *
+ * Small sketches are sparse: a sorted int array of (register, rank) pairs, so a sketch
+ * of a hundred values takes a few hundred bytes rather than 2^precision. Past
+ * 2^precision / 4 pairs it switches to one byte per register, which is no larger.
+ *
+ * Sketches of equal precision merge by taking the larger rank per register, so the
+ * merge is exact: merged sketches equal the sketch of the union. reduce() folds a
+ * sketch to a lower precision, again exactly. Values cannot be removed. Not
+ * thread-safe.
+ */
+public class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+
+    private static final double ALPHA_INFINITY = 1 / (2 * Math.log(2));
+
+    // Sparse entries are register << RANK_BITS | rank
+    private static final int RANK_BITS = 6;
+    private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+    private static final int INITIAL_SPARSE_CAPACITY = 8;
+
+    private final int precision;
+
+    // Exactly one of sparse and dense is in use
+    private int[] sparse = new int[0];
+    private int sparseSize;
+    private byte[] dense;
+
+    /**
+     * @param precision log2 of the number of registers, between MIN_PRECISION and MAX_PRECISION
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(
+                "precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+    }
+
+    /**
+     * Relative standard error of estimates at a precision
+     */
+    public static double relativeStandardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * Add one value; adding it again changes nothing
+     */
+    public void add(long value) {
+        long hash = mix(value);
+        int register = (int) (hash >>> (Long.SIZE - precision));
+        // Position of the first 1 bit after the register bits, capped for an all-zero tail
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision) + 1, maxRank(precision));
+        update(register, rank);
+    }
+
+    /**
+     * Add every value of another sketch to this one
+     *
+     * @param other Sketch of the same precision (see reduce)
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException(
+                "cannot merge sketches of precision " + precision + " and " + other.precision);
+        }
+        if (other.dense != null) {
+            toDense();
+            for (int register = 0; register < dense.length; register++) {
+                dense[register] = (byte) Math.max(dense[register], other.dense[register]);
+            }
+        } else {
+            for (int i = 0; i < other.sparseSize; i++) {
+                update(other.sparse[i] >>> RANK_BITS, other.sparse[i] & RANK_MASK);
+            }
+        }
+    }
+
+    /**
+     * Fold this sketch to a lower precision: the result equals the sketch that would have
+     * been built at that precision from the same values
+     *
+     * @param targetPrecision Precision between MIN_PRECISION and this sketch's precision
+     * @return New sketch; this one is unchanged
+     */
+    public HyperLogLog reduce(int targetPrecision) {
+        if (targetPrecision > precision) {
+            throw new IllegalArgumentException(
+                "cannot raise precision from " + precision + " to " + targetPrecision);
+        }
+        HyperLogLog reduced = new HyperLogLog(targetPrecision);
+        int droppedBits = precision - targetPrecision;
+        if (dense != null) {
+            for (int register = 0; register < dense.length; register++) {
+                if (dense[register] != 0) {
+                    reduced.foldFrom(register, dense[register], droppedBits);
+                }
+            }
+        } else {
+            for (int i = 0; i < sparseSize; i++) {
+                reduced.foldFrom(sparse[i] >>> RANK_BITS, sparse[i] & RANK_MASK, droppedBits);
+            }
+        }
+        return reduced;
+    }
+
+    /**
+     * @return Estimated number of distinct values added
+     */
+    public long estimate() {
+        int registers = 1 << precision;
+        int maxRank = maxRank(precision);
+        // Registers per rank, rank 0 being empty registers
+        int[] histogram = new int[maxRank + 1];
+        if (dense != null) {
+            for (byte rank : dense) {
+                histogram[rank]++;
+            }
+        } else {
+            histogram[0] = registers - sparseSize;
+            for (int i = 0; i < sparseSize; i++) {
+                histogram[sparse[i] & RANK_MASK]++;
+            }
+        }
+
+        double z = registers * tau(1 - (double) histogram[maxRank] / registers);
+        for (int rank = maxRank - 1; rank >= 1; rank--) {
+            z = 0.5 * (z + histogram[rank]);
+        }
+        z += registers * sigma((double) histogram[0] / registers);
+        return Math.round(ALPHA_INFINITY * registers * registers / z);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public boolean isEmpty() {
+        return dense == null && sparseSize == 0;
+    }
+
+    /**
+     * @return Approximate bytes held by the registers
+     */
+    public int getSizeInBytes() {
+        return dense != null ? dense.length : sparse.length * Integer.BYTES;
+    }
+
+    private void foldFrom(int register, int rank, int droppedBits) {
+        int dropped = register & ((1 << droppedBits) - 1);
+        // The dropped register bits now lead the rank word: a 1 among them sets the rank
+        int foldedRank = dropped != 0
+            ? Integer.numberOfLeadingZeros(dropped) - (Integer.SIZE - droppedBits) + 1
+            : droppedBits + rank;
+        update(register >>> droppedBits, foldedRank);
+    }
+
+    private void update(int register, int rank) {
+        if (dense != null) {
+            if (dense[register] < rank) {
+                dense[register] = (byte) rank;
+            }
+            return;
+        }
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleRegister = sparse[middle] >>> RANK_BITS;
+            if (middleRegister < register) {
+                low = middle + 1;
+            } else if (middleRegister > register) {
+                high = middle - 1;
+            } else {
+                if ((sparse[middle] & RANK_MASK) < rank) {
+                    sparse[middle] = register << RANK_BITS | rank;
+                }
+                return;
+            }
+        }
+        if (sparseSize >= (1 << precision) / 4) {
+            toDense();
+            dense[register] = (byte) rank;
+            return;
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.max(INITIAL_SPARSE_CAPACITY, sparseSize * 2));
+        }
+        System.arraycopy(sparse, low, sparse, low + 1, sparseSize - low);
+        sparse[low] = register << RANK_BITS | rank;
+        sparseSize++;
+    }
+
+    private void toDense() {
+        if (dense != null) {
+            return;
+        }
+        dense = new byte[1 << precision];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> RANK_BITS] = (byte) (sparse[i] & RANK_MASK);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    private static int maxRank(int precision) {
+        return Long.SIZE - precision + 1;
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3, after a multiplicative spread so that small
+     * consecutive IDs land far apart
+     */
+    private static long mix(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+}
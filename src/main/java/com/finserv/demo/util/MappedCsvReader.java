@@ -0,0 +1,311 @@
+package com.finserv.demo.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Forward-only reader for comma-separated files that parses fields straight from a
+ * memory-mapped view of the file: numbers, decimals and dates are decoded from the
+ * bytes, so no String is built per line (only nextString allocates).
+ * Files of any size are mapped in windows; a window always starts at a line start,
+ * so a line is never split across two mappings. Expects ASCII numbers and dates,
+ * '\n' or "\r\n" line ends, and no quoting.
+ *
+ * Usage: while (reader.nextLine()) { long a = reader.nextLong(); ... }
+ */
+public final class MappedCsvReader implements Closeable {
+
+    /**
+     * Default mapping window; well below the 2 GB limit of a single mapping
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private int lineEnd;
+    private long lineNumber;
+
+    public MappedCsvReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedCsvReader(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    /**
+     * Advance to the next line
+     *
+     * @return false at end of file
+     * @throws IllegalStateException if a line is longer than the mapping window
+     */
+    public boolean nextLine() throws IOException {
+        if (lineNumber > 0) {
+            // Step over the rest of the current line and its '\n'
+            position = Math.min(nextLineStart(), window.limit());
+        }
+        if (windowStart + position >= fileSize) {
+            return false;
+        }
+
+        int newline = indexOfNewline(position);
+        if (newline < 0 && windowStart + window.limit() < fileSize) {
+            // Line continues past this window: remap starting at the line
+            map(windowStart + position);
+            newline = indexOfNewline(0);
+            if (newline < 0 && windowStart + window.limit() < fileSize) {
+                throw new IllegalStateException("line " + (lineNumber + 1) + " is longer than the " + windowSize + " byte window");
+            }
+        }
+
+        lineEnd = newline < 0 ? window.limit() : newline;
+        if (lineEnd > position && window.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        lineNumber++;
+        return true;
+    }
+
+    /**
+     * @return 1-based number of the current line
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return true if the current line has no bytes
+     */
+    public boolean isBlankLine() {
+        return lineEnd == position;
+    }
+
+    /**
+     * @return the first byte of the current field, or -1 at the end of the line
+     */
+    public int peek() {
+        return position < lineEnd ? window.get(position) : -1;
+    }
+
+    /**
+     * @return true if the rest of the current line starts with the given ASCII text;
+     * nothing is consumed
+     */
+    public boolean startsWith(String prefix) {
+        if (lineEnd - position < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (window.get(position + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skip the current field
+     */
+    public void skipField() {
+        while (position < lineEnd && window.get(position) != ',') {
+            position++;
+        }
+        endField();
+    }
+
+    /**
+     * Parse the current field as a signed decimal integer
+     */
+    public long nextLong() {
+        boolean negative = position < lineEnd && window.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (position < lineEnd) {
+            byte b = window.get(position);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+            position++;
+            digits++;
+        }
+        if (digits == 0) {
+            throw error("expected a number");
+        }
+        endField();
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse the current field as a decimal and return it scaled to the given number of
+     * decimals, e.g. "12.5" at scale 2 is 1250
+     *
+     * @throws IllegalArgumentException if the field has more decimals than the scale
+     */
+    public long nextDecimal(int scale) {
+        boolean negative = position < lineEnd && window.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;
+        while (position < lineEnd) {
+            byte b = window.get(position);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (decimals >= 0 && ++decimals > scale) {
+                    throw error("more than " + scale + " decimals");
+                }
+                value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+                digits++;
+            } else {
+                break;
+            }
+            position++;
+        }
+        if (digits == 0) {
+            throw error("expected a decimal");
+        }
+        for (int i = Math.max(decimals, 0); i < scale; i++) {
+            value = Math.multiplyExact(value, 10);
+        }
+        endField();
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse the current field as yyyy-MM-dd
+     */
+    public LocalDate nextDate() {
+        int year = digits(4);
+        separator('-');
+        int month = digits(2);
+        separator('-');
+        int day = digits(2);
+        endField();
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Parse the current field as yyyy-MM-ddTHH:mm:ss (or with a space instead of 'T'),
+     * ignoring any fraction of a second
+     */
+    public LocalDateTime nextDateTime() {
+        int year = digits(4);
+        separator('-');
+        int month = digits(2);
+        separator('-');
+        int day = digits(2);
+        byte dateTimeSeparator = position < lineEnd ? window.get(position) : 0;
+        if (dateTimeSeparator != 'T' && dateTimeSeparator != ' ') {
+            throw error("expected 'T' or ' ' between date and time");
+        }
+        position++;
+        int hour = digits(2);
+        separator(':');
+        int minute = digits(2);
+        separator(':');
+        int second = digits(2);
+        while (position < lineEnd && window.get(position) != ',') {
+            position++;
+        }
+        endField();
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Read the current field as text; the only method that allocates
+     */
+    public String nextString() {
+        int start = position;
+        while (position < lineEnd && window.get(position) != ',') {
+            position++;
+        }
+        byte[] bytes = new byte[position - start];
+        window.get(start, bytes);
+        endField();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+        position = 0;
+    }
+
+    private int indexOfNewline(int from) {
+        int limit = window.limit();
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int nextLineStart() {
+        int i = lineEnd;
+        if (i < window.limit() && window.get(i) == '\r') {
+            i++;
+        }
+        return i < window.limit() ? i + 1 : i;
+    }
+
+    private int digits(int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            byte b = position < lineEnd ? window.get(position) : 0;
+            if (b < '0' || b > '9') {
+                throw error("expected " + count + " digits");
+            }
+            value = value * 10 + (b - '0');
+            position++;
+        }
+        return value;
+    }
+
+    private void separator(char expected) {
+        if (position >= lineEnd || window.get(position) != expected) {
+            throw error("expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    private void endField() {
+        if (position < lineEnd) {
+            if (window.get(position) != ',') {
+                throw error("unexpected character '" + (char) window.get(position) + "'");
+            }
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("line " + lineNumber + ", byte " + (windowStart + position) + ": " + message);
+    }
+}
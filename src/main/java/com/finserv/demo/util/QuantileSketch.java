@@ -0,0 +1,234 @@
+package com.finserv.demo.util;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with a relative-error guarantee (the DDSketch scheme).
+ * Values are counted in logarithmic buckets whose bounds grow by a factor
+ * gamma = (1 + accuracy) / (1 - accuracy), so every quantile is returned within
+ * accuracy * |true value| of the exact answer, whatever the distribution. Memory is
+ * O(log(max / min) / accuracy) buckets, independent of the number of values: about
+ * 2,800 buckets cover 0.01 to 10^10 at 0.5% accuracy.
+ *
+ * Two sketches with the same accuracy merge by adding bucket counts, so the merge is
+ * exact: a sketch built in parts and merged equals the sketch built in one pass.
+ * Count, sum, minimum and maximum are tracked exactly. Not thread-safe; give each
+ * worker its own sketch and merge them.
+ */
+public class QuantileSketch {
+
+    private static final int INITIAL_BUCKETS = 128;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double inverseLogGamma;
+
+    // Positive and negative values in buckets by magnitude; zero (and values too small
+    // to bucket) counted apart
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param accuracy relative accuracy of quantiles, between 0 and 1 exclusive (e.g. 0.005)
+     */
+    public QuantileSketch(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1)) {
+            throw new IllegalArgumentException("accuracy must be between 0 and 1: " + accuracy);
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.inverseLogGamma = 1 / Math.log(gamma);
+    }
+
+    /**
+     * Add one value
+     *
+     * @param value Finite value
+     */
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("value must be finite: " + value);
+        }
+        if (value > Double.MIN_NORMAL) {
+            positive.increment(bucketOf(value), 1);
+        } else if (value < -Double.MIN_NORMAL) {
+            negative.increment(bucketOf(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add every value of another sketch to this one
+     *
+     * @param other Sketch built with the same accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (Double.compare(other.accuracy, accuracy) != 0) {
+            throw new IllegalArgumentException("cannot merge sketches of accuracy " + accuracy + " and " + other.accuracy);
+        }
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimate the value at a quantile (lower rank: the value at position floor(q * (n - 1))
+     * of the sorted values), within the sketch's relative accuracy
+     *
+     * @param quantile Quantile between 0 and 1
+     * @return Estimated value, or NaN if the sketch is empty
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        // The extremes are known exactly
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == count - 1) {
+            return max;
+        }
+
+        // Ascending order: negatives from the largest magnitude down, zeros, positives up
+        long seen = 0;
+        for (int i = negative.highest(); i >= negative.lowest(); i--) {
+            seen += negative.get(i);
+            if (seen > rank) {
+                return clamp(-valueOf(i));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return clamp(0);
+        }
+        for (int i = positive.lowest(); i <= positive.highest(); i++) {
+            seen += positive.get(i);
+            if (seen > rank) {
+                return clamp(valueOf(i));
+            }
+        }
+        return max;
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return Smallest value added, or NaN if the sketch is empty
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * @return Largest value added, or NaN if the sketch is empty
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Bucket i holds magnitudes in (gamma^(i-1), gamma^i]
+     */
+    private int bucketOf(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) * inverseLogGamma);
+    }
+
+    /**
+     * Representative of bucket i: within accuracy of every magnitude in it
+     */
+    private double valueOf(int bucket) {
+        return 2 * Math.pow(gamma, bucket) / (gamma + 1);
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Counts for a contiguous range of bucket indexes, grown on demand in both directions
+     */
+    private static final class Buckets {
+        private long[] counts = new long[0];
+        private int offset;
+
+        void increment(int bucket, long amount) {
+            ensureCovers(bucket);
+            counts[bucket - offset] += amount;
+        }
+
+        void addAll(Buckets other) {
+            if (other.counts.length == 0) {
+                return;
+            }
+            ensureCovers(other.offset);
+            ensureCovers(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+
+        long get(int bucket) {
+            int index = bucket - offset;
+            return index >= 0 && index < counts.length ? counts[index] : 0;
+        }
+
+        /**
+         * Lowest covered bucket index; highest() is below it when nothing is covered
+         */
+        int lowest() {
+            return offset;
+        }
+
+        int highest() {
+            return offset + counts.length - 1;
+        }
+
+        private void ensureCovers(int bucket) {
+            if (counts.length == 0) {
+                counts = new long[INITIAL_BUCKETS];
+                offset = bucket - INITIAL_BUCKETS / 2;
+                return;
+            }
+            if (bucket < offset) {
+                int grow = Math.max(offset - bucket, counts.length / 2);
+                long[] grown = new long[counts.length + grow];
+                System.arraycopy(counts, 0, grown, grow, counts.length);
+                counts = grown;
+                offset -= grow;
+            } else if (bucket >= offset + counts.length) {
+                int grow = Math.max(bucket - offset - counts.length + 1, counts.length / 2);
+                counts = Arrays.copyOf(counts, counts.length + grow);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.finserv.demo.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the K best elements seen so far, using a bounded min-heap whose head is the
+ * worst element retained. Memory stays O(K) no matter how many elements are offered,
+ * and each offer costs O(log K).
+ *
+ * @param <T> element type
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> ranking;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k       number of elements to keep, must be positive
+     * @param ranking order in which elements rank, best first; it must be a total
+     *                order (break ties) for the result to be deterministic
+     */
+    public TopK(int k, Comparator<? super T> ranking) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.ranking = ranking;
+        // Reversed ranking puts the worst retained element at the head of the heap
+        this.heap = new PriorityQueue<>(k, ranking.reversed());
+    }
+
+    /**
+     * Offer an element, keeping it only if it ranks among the best K seen so far
+     *
+     * @param element Element to offer
+     * @return true if the element was retained
+     */
+    public boolean offer(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+            return true;
+        }
+        if (ranking.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Offer every element of the given source
+     *
+     * @param elements Elements to offer
+     */
+    public void offerAll(Iterable<? extends T> elements) {
+        for (T element : elements) {
+            offer(element);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return retained elements, best first
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(ranking);
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.finserv.demo;
+
+import com.finserv.demo.OpenModelLoadGenerator.Scenario;
+import com.finserv.demo.OpenModelLoadGenerator.ScenarioResult;
+import com.finserv.demo.dto.DatasetSpec;
+import com.finserv.demo.service.DatasetGeneratorService;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a constant-arrival-rate mix of /api/salary requests against the application on
+ * a random port (see OpenModelLoadGenerator) and reports coordinated-omission-corrected
+ * latency percentiles per endpoint. The dataset comes from DatasetGeneratorService with
+ * a fixed seed and the request sequence from a seeded schedule, so two runs with the
+ * same settings on different commits measure the same work.
+ *
+ * Writes target/load-test/&lt;label&gt;/: report.txt, summary.csv and one HdrHistogram
+ * percentile distribution (.hgrm) per scenario. Pass the summary.csv of an earlier run
+ * as load.baseline to print the p50/p99 change per scenario.
+ *
+ * Settings (system properties): load.rate (requests/s, default 50), load.seconds (30),
+ * load.warmup-seconds (10), load.mix (name:weight,..., default
+ * highest:4,max:3,top:2,page:2,analyze:1), load.payments (200000), load.seed (42),
+ * load.label (latest), load.baseline (none)
+ *
+ * Run with: mvn test -Pperf -Dtest=ApiLoadTest -Dload.rate=100 -Dload.label=my-change
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "finserv.webhook.enabled=false",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.ApiLoadTest=INFO",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class ApiLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final String ANALYZE_BODY = "{\"metrics\":[\"PAYMENT_COUNT_NOT_FIRST_DAY\"," +
+        "\"TOTAL_AMOUNT_NOT_FIRST_DAY\",\"MAX_AMOUNT_NOT_FIRST_DAY\",\"HIGHEST_SALARY_NOT_FIRST_DAY\"]}";
+
+    /**
+     * Every scenario the mix can name
+     */
+    private static final Map<String, String> SCENARIOS = Map.of(
+        "highest", "GET /api/salary/highest-not-first-day",
+        "max", "GET /api/salary/max-amount-not-first-day",
+        "top", "GET /api/salary/top?k=10",
+        "page", "GET /api/salary/payments-not-first-day/page?after=0&limit=100",
+        "stream", "GET /api/salary/payments-not-first-day/stream",
+        "analyze", "POST /api/salary/analyze");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Test
+    void constantArrivalRateMix() throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+        String mixSetting = System.getProperty("load.mix", "highest:4,max:3,top:2,page:2,analyze:1");
+        long payments = Long.getLong("load.payments", 200_000L);
+        long seed = Long.getLong("load.seed", 42L);
+        String label = System.getProperty("load.label", "latest");
+
+        datasetGeneratorService.generate(new DatasetSpec(seed, 6, 1_000, payments, 0));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+            client, URI.create("http://localhost:" + port), parseMix(mixSetting), 5_000);
+
+        generator.run(rate, Duration.ofSeconds(warmupSeconds), seed);
+        List<ScenarioResult> results = generator.run(rate, Duration.ofSeconds(seconds), seed);
+
+        String settings = String.format(Locale.ROOT, "rate=%s/s seconds=%d mix=%s payments=%d seed=%d java=%s cpus=%d",
+            rate, seconds, mixSetting, payments, seed, Runtime.version(), Runtime.getRuntime().availableProcessors());
+        String report = report(settings, results, readBaseline(System.getProperty("load.baseline")));
+        writeResults(Path.of("target", "load-test", label), settings, report, results);
+        logger.info("Load test results\n{}", report);
+
+        for (ScenarioResult result : results) {
+            assertTrue(result.requests() > 0, result.name() + " was never scheduled");
+            assertEquals(0, result.errors(), result.name() + " errors");
+            assertEquals(0, result.rejected(), result.name() + " requests not sent (too many in flight)");
+        }
+    }
+
+    private static List<Scenario> parseMix(String mix) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            String name = nameAndWeight[0];
+            String target = SCENARIOS.get(name);
+            if (target == null) {
+                throw new IllegalArgumentException("unknown scenario " + name + ", expected one of " + SCENARIOS.keySet());
+            }
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1]) : 1;
+            String method = target.substring(0, target.indexOf(' '));
+            String path = target.substring(target.indexOf(' ') + 1);
+            scenarios.add(new Scenario(name, weight, base -> {
+                HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(30));
+                return "POST".equals(method)
+                    ? request.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(ANALYZE_BODY)).build()
+                    : request.GET().build();
+            }));
+        }
+        return scenarios;
+    }
+
+    private static String report(String settings, List<ScenarioResult> results, Map<String, double[]> baseline) {
+        StringBuilder report = new StringBuilder(settings).append('\n');
+        report.append(String.format(Locale.ROOT, "%-8s %8s %6s %8s %9s %9s %9s %9s %9s %14s%n",
+            "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 uncorr ms"));
+        for (ScenarioResult result : results) {
+            Histogram latency = result.corrected();
+            report.append(String.format(Locale.ROOT, "%-8s %8d %6d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %14.2f",
+                result.name(), result.requests(), result.errors() + result.rejected(), result.requestsPerSecond(),
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / 1000.0, millis(result.uncorrected(), 99)));
+            double[] previous = baseline.get(result.name());
+            if (previous != null) {
+                report.append(String.format(Locale.ROOT, "   vs baseline: p50 %+.1f%%, p99 %+.1f%%",
+                    change(previous[0], millis(latency, 50)), change(previous[1], millis(latency, 99))));
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    private static void writeResults(Path directory, String settings, String report, List<ScenarioResult> results)
+            throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("report.txt"), report);
+
+        StringBuilder csv = new StringBuilder("# " + settings + "\n")
+            .append("scenario,requests,errors,requests_per_second,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,p99_uncorrected_ms\n");
+        for (ScenarioResult result : results) {
+            Histogram latency = result.corrected();
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                result.name(), result.requests(), result.errors() + result.rejected(), result.requestsPerSecond(),
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / 1000.0, millis(result.uncorrected(), 99)));
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directory.resolve(result.name() + ".hgrm")))) {
+                // Values are recorded in microseconds; report milliseconds
+                latency.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        Files.writeString(directory.resolve("summary.csv"), csv);
+    }
+
+    /**
+     * @return p50 and p99 in milliseconds by scenario from an earlier summary.csv, or
+     * nothing if no baseline was given
+     */
+    private static Map<String, double[]> readBaseline(String file) throws IOException {
+        Map<String, double[]> baseline = new HashMap<>();
+        if (file == null || file.isBlank()) {
+            return baseline;
+        }
+        for (String line : Files.readAllLines(Path.of(file))) {
+            if (line.startsWith("#") || line.startsWith("scenario,")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            baseline.put(fields[0], new double[] {Double.parseDouble(fields[4]), Double.parseDouble(fields[6])});
+        }
+        return baseline;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double change(double before, double after) {
+        return before > 0 ? (after - before) * 100 / before : 0;
+    }
+}
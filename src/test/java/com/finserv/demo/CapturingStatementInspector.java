@@ -0,0 +1,45 @@
+package com.finserv.demo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate StatementInspector that records the SQL it renders on the current thread,
+ * so perf tests can EXPLAIN the statements repository methods really execute.
+ *
+ * Enable with spring.jpa.properties.hibernate.session_factory.statement_inspector
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        CAPTURED.get().add(sql);
+        return sql;
+    }
+
+    /**
+     * Run the call and return every SQL statement Hibernate rendered for it, in order
+     */
+    static List<String> statementsOf(Runnable call) {
+        CAPTURED.get().clear();
+        call.run();
+        return new ArrayList<>(CAPTURED.get());
+    }
+
+    /**
+     * Run the call and return the last SQL statement Hibernate rendered for it
+     */
+    static String lastStatementOf(Runnable call) {
+        CAPTURED.get().clear();
+        call.run();
+        List<String> statements = CAPTURED.get();
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No SQL statement was rendered");
+        }
+        return statements.get(statements.size() - 1);
+    }
+}
@@ -0,0 +1,151 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.DatasetGenerationSummary;
+import com.finserv.demo.dto.DatasetSpec;
+import com.finserv.demo.service.DatasetGeneratorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generated datasets: row counts and references, reproducibility across thread
+ * counts, the configured distributions, and binding the CLI settings
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DatasetGeneratorService.class)
+@DataJpaTest(properties = "finserv.bulk-load.chunk-size=333")
+class DatasetGeneratorServiceTest {
+
+    @Autowired
+    private DatasetGeneratorService datasetGeneratorService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM payments");
+        jdbcTemplate.execute("DELETE FROM employees");
+        jdbcTemplate.execute("DELETE FROM departments");
+        jdbcTemplate.execute("DELETE FROM orders");
+    }
+
+    @Test
+    void testGenerate_CountsAndReferences() {
+        DatasetGenerationSummary summary = datasetGeneratorService.generate(new DatasetSpec(1, 8, 200, 5_000, 300));
+
+        assertEquals(8, count("SELECT COUNT(*) FROM departments"));
+        assertEquals(200, count("SELECT COUNT(*) FROM employees"));
+        assertEquals(5_000, count("SELECT COUNT(*) FROM payments"));
+        assertEquals(300, count("SELECT COUNT(*) FROM orders"));
+
+        // Contiguous IDs, and every reference points into the generated rows
+        assertEquals(summary.getFirstPaymentId() + 4_999, count("SELECT MAX(PAYMENT_ID) FROM payments"));
+        assertEquals(0, count("SELECT COUNT(*) FROM payments p LEFT JOIN employees e ON p.EMP_ID = e.EMP_ID " +
+            "WHERE e.EMP_ID IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM employees e LEFT JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID " +
+            "WHERE d.DEPARTMENT_ID IS NULL"));
+        assertEquals(0, count("SELECT COUNT(*) FROM payments WHERE IS_FIRST_DAY <> (DAY_OF_MONTH(PAYMENT_TIME) = 1)"));
+    }
+
+    @Test
+    void testGenerate_SameSeedSameRowsWhateverTheThreadCount() {
+        DatasetSpec spec = new DatasetSpec(7, 4, 100, 2_000, 100);
+        spec.setParallelism(1);
+        DatasetGenerationSummary first = datasetGeneratorService.generate(spec);
+        List<Map<String, Object>> firstRows = payments(first);
+        List<Map<String, Object>> firstOrders = orders(first);
+        tearDown();
+
+        spec.setParallelism(4);
+        DatasetGenerationSummary second = datasetGeneratorService.generate(spec);
+
+        assertEquals(firstRows, payments(second));
+        assertEquals(firstOrders, orders(second));
+        tearDown();
+
+        spec.setSeed(8);
+        assertNotEquals(firstRows, payments(datasetGeneratorService.generate(spec)));
+    }
+
+    @Test
+    void testGenerate_Distributions() {
+        DatasetSpec spec = new DatasetSpec(3, 5, 500, 20_000, 0);
+        spec.setFirstDayShare(0.25);
+        spec.setSalaryMedian(new BigDecimal("50000"));
+        spec.setDobFrom(LocalDate.of(1970, 1, 1));
+        spec.setDobTo(LocalDate.of(1980, 1, 1));
+        spec.setPaymentsFrom(LocalDate.of(2025, 1, 1));
+        spec.setPaymentsTo(LocalDate.of(2025, 7, 1));
+        datasetGeneratorService.generate(spec);
+
+        double firstDayShare = count("SELECT COUNT(*) FROM payments WHERE IS_FIRST_DAY") / 20_000.0;
+        assertEquals(0.25, firstDayShare, 0.02);
+        assertEquals(0, count("SELECT COUNT(*) FROM employees WHERE DOB < DATE '1970-01-01' OR DOB >= DATE '1980-01-01'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM payments " +
+            "WHERE PAYMENT_TIME < TIMESTAMP '2025-01-01 00:00:00' OR PAYMENT_TIME >= TIMESTAMP '2025-07-01 00:00:00'"));
+
+        BigDecimal median = jdbcTemplate.queryForObject("SELECT MEDIAN(AMOUNT) FROM payments", BigDecimal.class);
+        assertEquals(50_000, median.doubleValue(), 5_000);
+        // Log-normal: a long tail above the median, none below zero
+        assertTrue(count("SELECT COUNT(*) FROM payments WHERE AMOUNT > 100000") > 0);
+        assertEquals(0, count("SELECT COUNT(*) FROM payments WHERE AMOUNT <= 0"));
+    }
+
+    @Test
+    void testGenerate_InvalidSpec() {
+        DatasetSpec noDepartments = new DatasetSpec(1, 0, 10, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> datasetGeneratorService.generate(noDepartments));
+
+        DatasetSpec badShare = new DatasetSpec(1, 1, 10, 10, 0);
+        badShare.setFirstDayShare(1.5);
+        assertThrows(IllegalArgumentException.class, () -> datasetGeneratorService.generate(badShare));
+        assertEquals(0, count("SELECT COUNT(*) FROM departments"));
+    }
+
+    @Test
+    void testSpec_BindsFromProperties() {
+        DatasetSpec spec = new Binder(new MapConfigurationPropertySource(Map.of(
+            "finserv.generate.payments", "100000000",
+            "finserv.generate.first-day-share", "0.2",
+            "finserv.generate.dob-from", "1975-06-01",
+            "finserv.generate.enabled", "true")))
+            .bind("finserv.generate", DatasetSpec.class)
+            .get();
+
+        assertEquals(100_000_000L, spec.getPayments());
+        assertEquals(0.2, spec.getFirstDayShare());
+        assertEquals(LocalDate.of(1975, 6, 1), spec.getDobFrom());
+        assertEquals(42, spec.getSeed());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private List<Map<String, Object>> payments(DatasetGenerationSummary summary) {
+        return jdbcTemplate.queryForList(
+            "SELECT PAYMENT_ID - ? AS ROW_NUMBER, EMP_ID - ? AS EMPLOYEE, AMOUNT, PAYMENT_TIME FROM payments ORDER BY PAYMENT_ID",
+            summary.getFirstPaymentId(), summary.getFirstEmployeeId());
+    }
+
+    private List<Map<String, Object>> orders(DatasetGenerationSummary summary) {
+        return jdbcTemplate.queryForList(
+            "SELECT id - ? AS ROW_NUMBER, customer_name, product_name, quantity, unit_price, order_date, status " +
+            "FROM orders ORDER BY id", summary.getFirstOrderId());
+    }
+}
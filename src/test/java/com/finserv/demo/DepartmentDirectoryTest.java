@@ -0,0 +1,85 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.DepartmentDirectory;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.repository.DepartmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Directory contents against the departments table. Runs without a test transaction so
+ * every repository write commits and reaches the directory through its AFTER_COMMIT listener
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest
+@Import(DepartmentDirectory.class)
+class DepartmentDirectoryTest {
+
+    @Autowired
+    private DepartmentDirectory departmentDirectory;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department hr;
+    private Department finance;
+
+    @BeforeEach
+    void setUp() {
+        hr = departmentRepository.save(new Department("HR"));
+        finance = departmentRepository.save(new Department("Finance"));
+        departmentDirectory.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testLoad_ResolvesEveryDepartment() {
+        assertTrue(departmentDirectory.isLoaded());
+        assertEquals(2, departmentDirectory.size());
+        assertEquals("HR", departmentDirectory.getName(hr.getDepartmentId()));
+        assertEquals("Finance", departmentDirectory.getName(finance.getDepartmentId()));
+        assertNull(departmentDirectory.getName(-1));
+        assertFalse(departmentDirectory.contains(finance.getDepartmentId() + 1000));
+    }
+
+    @Test
+    void testSaveAndDelete_AreVisibleAfterCommit() {
+        Department it = departmentRepository.save(new Department("IT"));
+        hr.setDepartmentName("People");
+        departmentRepository.save(hr);
+        departmentRepository.delete(finance);
+
+        assertEquals("IT", departmentDirectory.getName(it.getDepartmentId()));
+        assertEquals("People", departmentDirectory.getName(hr.getDepartmentId()));
+        assertFalse(departmentDirectory.contains(finance.getDepartmentId()));
+        assertEquals(2, departmentDirectory.size());
+    }
+
+    @Test
+    void testSparseIds_ResolveByKey() {
+        // Far above the sequence range, so the directory switches to sorted keys
+        jdbcTemplate.update("INSERT INTO departments (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (?, ?)", 5_000_000_000L, "Legal");
+        departmentDirectory.load();
+
+        assertEquals("Legal", departmentDirectory.getName(5_000_000_000L));
+        assertEquals("HR", departmentDirectory.getName(hr.getDepartmentId()));
+        assertFalse(departmentDirectory.contains(4_999_999_999L));
+        assertEquals(3, departmentDirectory.size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.PaymentColumnStore;
+import com.finserv.demo.dto.DepartmentSalaryStats;
+import com.finserv.demo.service.DepartmentStatsService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Wall-clock comparison of the fork-join department statistics, from the database and
+ * from the column store, at 1, 2 and 4 threads, against one SQL GROUP BY with exact
+ * PERCENTILE_DISC over 1M payments in 100 departments. Speed-up beyond one thread
+ * needs as many cores as threads.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DepartmentStatsService.class, PaymentColumnStore.class})
+@DataJpaTest(properties = {
+    "finserv.analytics.column-store.enabled=true",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.DepartmentStatsBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class DepartmentStatsBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentStatsBenchmarkTest.class);
+
+    private static final int PAYMENTS = 1_000_000;
+    private static final int[] THREADS = {1, 2, 4};
+
+    private static final String GROUP_BY_SQL =
+        "SELECT e.DEPARTMENT, COUNT(*), MIN(p.AMOUNT), MAX(p.AMOUNT), AVG(p.AMOUNT), " +
+        "PERCENTILE_DISC(0.5) WITHIN GROUP (ORDER BY p.AMOUNT), " +
+        "PERCENTILE_DISC(0.9) WITHIN GROUP (ORDER BY p.AMOUNT), " +
+        "PERCENTILE_DISC(0.99) WITHIN GROUP (ORDER BY p.AMOUNT) " +
+        "FROM payments p JOIN employees e ON e.EMP_ID = p.EMP_ID GROUP BY e.DEPARTMENT";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+
+    @Autowired
+    private PaymentColumnStore columnStore;
+
+    @Test
+    void forkJoin_VersusGroupBy_1M() {
+        PerfTestData.seed(jdbcTemplate, 100, 10_000, PAYMENTS);
+        columnStore.load();
+
+        List<Map<String, Object>> groupBy = timed("SQL GROUP BY", () -> jdbcTemplate.queryForList(GROUP_BY_SQL));
+        assertEquals(100, groupBy.size());
+
+        String expected = null;
+        for (int threads : THREADS) {
+            ReflectionTestUtils.setField(departmentStatsService, "parallelism", threads);
+            List<DepartmentSalaryStats> fromColumnStore = timed("column store, " + threads + " threads",
+                departmentStatsService::getDepartmentStats);
+            ReflectionTestUtils.setField(departmentStatsService, "columnStore", null);
+            List<DepartmentSalaryStats> fromDatabase = timed("database, " + threads + " threads",
+                departmentStatsService::getDepartmentStats);
+            ReflectionTestUtils.setField(departmentStatsService, "columnStore", columnStore);
+
+            assertEquals(100, fromDatabase.size());
+            assertEquals(fromDatabase.toString(), fromColumnStore.toString());
+            if (expected == null) {
+                expected = fromDatabase.toString();
+            }
+            assertEquals(expected, fromDatabase.toString());
+        }
+    }
+
+    private <T> List<T> timed(String engine, Supplier<List<T>> call) {
+        // One warm-up run, then the timed one
+        call.get();
+        long start = System.nanoTime();
+        List<T> result = call.get();
+        logger.info("{} over {} payments: {} ms", engine, PAYMENTS, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+}
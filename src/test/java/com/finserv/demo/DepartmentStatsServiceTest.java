@@ -0,0 +1,127 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.PaymentColumnStore;
+import com.finserv.demo.dto.DepartmentSalaryStats;
+import com.finserv.demo.service.DepartmentStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the fork-join department statistics against H2, with slices small enough that
+ * the work is split many times, and checks them against exact per-department answers
+ */
+@DataJpaTest(properties = {
+    "finserv.analytics.column-store.enabled=true",
+    "finserv.analytics.department-stats.parallelism=4",
+    "finserv.analytics.department-stats.slice-rows=1000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DepartmentStatsService.class, PaymentColumnStore.class})
+class DepartmentStatsServiceTest {
+
+    private static final int DEPARTMENTS = 5;
+    private static final int PAYMENTS = 20_000;
+
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+
+    @Autowired
+    private PaymentColumnStore columnStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments", Long.class) > 0) {
+            return;
+        }
+        // Seeded around JPA, after the column store loaded the empty table on startup
+        jdbcTemplate.update("DELETE FROM employees");
+        jdbcTemplate.update("DELETE FROM departments");
+        PerfTestData.seed(jdbcTemplate, DEPARTMENTS, 200, PAYMENTS);
+        // Employee without a row: not counted in any department
+        jdbcTemplate.update("INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) " +
+            "VALUES (?, 999999, 999999.00, TIMESTAMP '2025-01-02 09:00:00', FALSE)", PAYMENTS + 1);
+        columnStore.load();
+    }
+
+    @Test
+    void testDatabaseAndColumnStorePaths_MatchExactStatistics() {
+        Map<Long, List<Long>> amountsByDepartment = exactAmountsByDepartment();
+
+        List<DepartmentSalaryStats> fromColumnStore = departmentStatsService.getDepartmentStats();
+        List<DepartmentSalaryStats> fromDatabase;
+        ReflectionTestUtils.setField(departmentStatsService, "columnStore", null);
+        try {
+            fromDatabase = departmentStatsService.getDepartmentStats();
+        } finally {
+            ReflectionTestUtils.setField(departmentStatsService, "columnStore", columnStore);
+        }
+
+        assertEquals(DEPARTMENTS, fromDatabase.size());
+        for (DepartmentSalaryStats stats : fromDatabase) {
+            List<Long> amounts = amountsByDepartment.get(stats.getDepartmentId());
+            assertEquals("Department " + stats.getDepartmentId(), stats.getDepartmentName());
+            assertEquals(amounts.size(), stats.getPaymentCount());
+            assertEquals(0, minor(amounts.get(0)).compareTo(stats.getMinSalary()));
+            assertEquals(0, minor(amounts.get(amounts.size() - 1)).compareTo(stats.getMaxSalary()));
+            long sum = amounts.stream().mapToLong(Long::longValue).sum();
+            assertEquals(0, minor(sum).divide(BigDecimal.valueOf(amounts.size()), RoundingMode.HALF_UP)
+                .compareTo(stats.getMeanSalary()));
+            assertPercentile(amounts, 0.5, stats.getP50Salary());
+            assertPercentile(amounts, 0.9, stats.getP90Salary());
+            assertPercentile(amounts, 0.99, stats.getP99Salary());
+        }
+        // Sketches merge exactly, so both slicings give identical answers
+        assertEquals(fromDatabase.toString(), fromColumnStore.toString());
+    }
+
+    @Test
+    void testSingleThread_SameAnswerAsParallel() {
+        List<DepartmentSalaryStats> parallel = departmentStatsService.getDepartmentStats();
+        int parallelism = (int) ReflectionTestUtils.getField(departmentStatsService, "parallelism");
+        ReflectionTestUtils.setField(departmentStatsService, "parallelism", 1);
+        try {
+            assertEquals(parallel.toString(), departmentStatsService.getDepartmentStats().toString());
+        } finally {
+            ReflectionTestUtils.setField(departmentStatsService, "parallelism", parallelism);
+        }
+    }
+
+    private Map<Long, List<Long>> exactAmountsByDepartment() {
+        Map<Long, List<Long>> amounts = new TreeMap<>();
+        jdbcTemplate.query("SELECT e.DEPARTMENT, CAST(p.AMOUNT * 100 AS BIGINT) FROM payments p " +
+            "JOIN employees e ON e.EMP_ID = p.EMP_ID ORDER BY 2", resultSet -> {
+                amounts.computeIfAbsent(resultSet.getLong(1), k -> new ArrayList<>()).add(resultSet.getLong(2));
+            });
+        return amounts;
+    }
+
+    private static void assertPercentile(List<Long> sortedAmounts, double quantile, BigDecimal estimate) {
+        long exact = sortedAmounts.get((int) Math.floor(quantile * (sortedAmounts.size() - 1)));
+        double error = Math.abs(estimate.movePointRight(2).doubleValue() - exact);
+        assertTrue(error <= exact * DepartmentStatsService.SKETCH_ACCURACY + 1,
+            "q=" + quantile + " exact=" + exact + " estimate=" + estimate);
+    }
+
+    private static BigDecimal minor(long amount) {
+        return PaymentColumnStore.fromMinorUnits(amount);
+    }
+}
@@ -0,0 +1,97 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.DistinctEmployeeSketches;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Wall-clock comparison of distinct employees paid outside the 1st, over one month and
+ * over the whole range, per department and overall: COUNT(DISTINCT EMP_ID) against the
+ * maintained HyperLogLog sketches, over 1M payments of 10k employees in 100 departments
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DistinctEmployeeSketches.class)
+@DataJpaTest(properties = {
+    "finserv.analytics.distinct-employees.enabled=true",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.DistinctEmployeeCountBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class DistinctEmployeeCountBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistinctEmployeeCountBenchmarkTest.class);
+
+    private static final int PAYMENTS = 1_000_000;
+    private static final int ITERATIONS = 200;
+
+    // One payment every 3 minutes from 2020-01-01: 1M payments end in 2025-09
+    private static final YearMonth FIRST = YearMonth.of(2020, 1);
+    private static final YearMonth LAST = YearMonth.of(2025, 9);
+    private static final YearMonth MONTH = YearMonth.of(2023, 6);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DistinctEmployeeSketches sketches;
+
+    @Test
+    void sketches_VersusCountDistinct_1M() {
+        PerfTestData.seed(jdbcTemplate, 100, 10_000, PAYMENTS);
+        long start = System.nanoTime();
+        sketches.load();
+        logger.info("sketches loaded from {} payments in {} ms", PAYMENTS, (System.nanoTime() - start) / 1_000_000);
+
+        int month = MONTH.getYear() * 100 + MONTH.getMonthValue();
+        compare("one month, all departments",
+            () -> jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT EMP_ID) FROM payments " +
+                "WHERE PAYMENT_MONTH = ? AND IS_FIRST_DAY = FALSE", Long.class, month),
+            () -> sketches.count(MONTH, MONTH, null, true, null).getDistinctEmployees());
+        compare("one month, one department",
+            () -> jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT p.EMP_ID) FROM payments p " +
+                "JOIN employees e ON e.EMP_ID = p.EMP_ID WHERE p.PAYMENT_MONTH = ? AND p.IS_FIRST_DAY = FALSE " +
+                "AND e.DEPARTMENT = 7", Long.class, month),
+            () -> sketches.count(MONTH, MONTH, 7L, true, null).getDistinctEmployees());
+        compare("whole range, all departments",
+            () -> jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT EMP_ID) FROM payments " +
+                "WHERE IS_FIRST_DAY = FALSE", Long.class),
+            () -> sketches.count(FIRST, LAST, null, true, null).getDistinctEmployees());
+    }
+
+    private void compare(String question, LongSupplier countDistinct, LongSupplier sketch) {
+        long exact = countDistinct.getAsLong();
+        long start = System.nanoTime();
+        countDistinct.getAsLong();
+        long sqlMicros = (System.nanoTime() - start) / 1_000;
+
+        long estimate = sketch.getAsLong();
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sketch.getAsLong();
+        }
+        long sketchMicros = (System.nanoTime() - start) / 1_000 / ITERATIONS;
+
+        logger.info("{}: COUNT(DISTINCT) {} in {} us, sketch {} in {} us", question, exact, sqlMicros, estimate, sketchMicros);
+        assertEquals(exact, estimate, 3 * 0.0081 * exact);
+    }
+}
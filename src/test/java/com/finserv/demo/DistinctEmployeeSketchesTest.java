@@ -0,0 +1,146 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.DistinctEmployeeSketches;
+import com.finserv.demo.dto.DistinctEmployeeCount;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.util.HyperLogLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Distinct-employee sketches against the exact counts after every kind of write. Runs
+ * without a test transaction so each repository write commits and reaches the
+ * AFTER_COMMIT listener
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest(properties = "finserv.analytics.distinct-employees.enabled=true")
+@Import(DistinctEmployeeSketches.class)
+class DistinctEmployeeSketchesTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+    private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+    @Autowired
+    private DistinctEmployeeSketches sketches;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Payment februaryPaymentOfEmployee1;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO departments (DEPARTMENT_ID, DEPARTMENT_NAME) VALUES (10, 'HR'), (20, 'Finance')");
+        // Employees 1 and 2 in HR, 3 in Finance, 4 without a department
+        jdbcTemplate.update("INSERT INTO employees (EMP_ID, FIRST_NAME, LAST_NAME, DOB, GENDER, DEPARTMENT) VALUES " +
+            "(1, 'A', 'A', DATE '1990-01-01', 'Male', 10), (2, 'B', 'B', DATE '1990-01-01', 'Female', 10), " +
+            "(3, 'C', 'C', DATE '1990-01-01', 'Male', 20), (4, 'D', 'D', DATE '1990-01-01', 'Female', NULL)");
+        februaryPaymentOfEmployee1 = new Payment(1L, new BigDecimal("640.00"), LocalDateTime.of(2025, 2, 10, 10, 0));
+        paymentRepository.saveAll(List.of(
+            new Payment(1L, new BigDecimal("500.00"), LocalDateTime.of(2025, 1, 2, 10, 0)),
+            new Payment(1L, new BigDecimal("510.00"), LocalDateTime.of(2025, 1, 15, 10, 0)),
+            new Payment(2L, new BigDecimal("900.00"), LocalDateTime.of(2025, 1, 1, 10, 0)),
+            new Payment(3L, new BigDecimal("750.50"), LocalDateTime.of(2025, 1, 20, 10, 0)),
+            new Payment(4L, new BigDecimal("300.00"), LocalDateTime.of(2025, 2, 3, 10, 0)),
+            februaryPaymentOfEmployee1
+        ));
+        sketches.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM payments");
+        jdbcTemplate.update("DELETE FROM employees");
+        jdbcTemplate.update("DELETE FROM departments");
+    }
+
+    @Test
+    void testLoad_CountsPerMonthAndDepartment() {
+        assertEquals(2, sketches.count(JANUARY, JANUARY, null, true, null).getDistinctEmployees());
+        assertEquals(3, sketches.count(JANUARY, JANUARY, null, false, null).getDistinctEmployees());
+        assertEquals(3, sketches.count(JANUARY, FEBRUARY, null, true, null).getDistinctEmployees());
+        assertEquals(1, sketches.count(JANUARY, FEBRUARY, 10L, true, null).getDistinctEmployees());
+
+        assertEquals(List.of("202501=2", "202502=2"), byMonth(sketches.countByMonth(JANUARY, MARCH, null, true, null)));
+        assertEquals(List.of("202501=1", "202502=1"), byMonth(sketches.countByMonth(JANUARY, MARCH, 10L, true, null)));
+
+        List<DistinctEmployeeCount> byDepartment = sketches.countByDepartment(JANUARY, FEBRUARY, false, null);
+        assertEquals(List.of(10L, 20L), byDepartment.stream().map(DistinctEmployeeCount::getDepartmentId).toList());
+        assertEquals(2, byDepartment.get(0).getDistinctEmployees());
+        assertEquals(1, byDepartment.get(1).getDistinctEmployees());
+    }
+
+    @Test
+    void testWrites_AreVisibleAfterCommit() {
+        Payment saved = paymentRepository.save(new Payment(2L, new BigDecimal("820.00"), LocalDateTime.of(2025, 2, 5, 9, 0)));
+        assertEquals(2, sketches.count(FEBRUARY, FEBRUARY, 10L, true, null).getDistinctEmployees());
+
+        // Sketches cannot forget: the month is rebuilt from the table on the next read
+        paymentRepository.delete(saved);
+        assertEquals(1, sketches.count(FEBRUARY, FEBRUARY, 10L, true, null).getDistinctEmployees());
+
+        februaryPaymentOfEmployee1.setPaymentTime(LocalDateTime.of(2025, 3, 10, 10, 0));
+        paymentRepository.save(februaryPaymentOfEmployee1);
+        assertEquals(List.of("202501=2", "202502=1", "202503=1"),
+            byMonth(sketches.countByMonth(JANUARY, MARCH, null, true, null)));
+    }
+
+    @Test
+    void testLargeCounts_WithinErrorBound() {
+        // 200k payments of 30k employees, most of them without an employees row
+        jdbcTemplate.update(
+            "INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) " +
+            "SELECT 1000000 + X, MOD(X * 7919, 30000) + 1, 100.00, T, DAY_OF_MONTH(T) = 1 " +
+            "FROM (SELECT X, DATEADD(MINUTE, X * 3, TIMESTAMP '2025-01-01 00:00:00') AS T FROM SYSTEM_RANGE(1, 200000))");
+        sketches.load();
+
+        YearMonth to = YearMonth.of(2026, 2);
+        List<DistinctEmployeeCount> counts = sketches.countByMonth(JANUARY, to, null, true, null);
+        assertEquals(14, counts.size());
+        double tolerance = 3 * HyperLogLog.relativeStandardError(sketches.getPrecision());
+        for (DistinctEmployeeCount count : counts) {
+            long exact = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT EMP_ID) FROM payments " +
+                "WHERE PAYMENT_MONTH = ? AND IS_FIRST_DAY = FALSE", Long.class, count.getPaymentMonth());
+            assertEquals(exact, count.getDistinctEmployees(), exact * tolerance, "month " + count.getPaymentMonth());
+        }
+        long exactTotal = jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT EMP_ID) FROM payments WHERE IS_FIRST_DAY = FALSE", Long.class);
+        assertEquals(exactTotal, sketches.count(JANUARY, to, null, true, null).getDistinctEmployees(),
+            exactTotal * tolerance);
+    }
+
+    @Test
+    void testPrecision_LoweredPerQueryAndValidated() {
+        DistinctEmployeeCount count = sketches.count(JANUARY, FEBRUARY, null, false, 10);
+
+        assertEquals(10, count.getPrecision());
+        assertEquals(1.04 / 32, count.getRelativeStandardError(), 1e-12);
+        assertEquals(4, count.getDistinctEmployees());
+        assertThrows(IllegalArgumentException.class,
+            () -> sketches.count(JANUARY, FEBRUARY, null, false, sketches.getPrecision() + 1));
+        assertThrows(IllegalArgumentException.class, () -> sketches.count(FEBRUARY, JANUARY, null, false, null));
+    }
+
+    private static List<String> byMonth(List<DistinctEmployeeCount> counts) {
+        return counts.stream().map(count -> count.getPaymentMonth() + "=" + count.getDistinctEmployees()).toList();
+    }
+}
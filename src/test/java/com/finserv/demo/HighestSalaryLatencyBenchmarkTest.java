@@ -0,0 +1,136 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.DepartmentRepository;
+import com.finserv.demo.repository.EmployeeRepository;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares p50/p99 latency of findHighestSalaryNotOnFirstDay under concurrent load:
+ * the previous three-round-trip path (payment, then employee, then department by id)
+ * against the single join + constructor projection query.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SalaryAnalysisService.class)
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.HighestSalaryLatencyBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class HighestSalaryLatencyBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HighestSalaryLatencyBenchmarkTest.class);
+
+    private static final int PAYMENTS = 200_000;
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @Test
+    void singleQueryProjection_VersusThreeRoundTrips() throws Exception {
+        PerfTestData.seed(jdbcTemplate, 20, 10_000, PAYMENTS);
+
+        SalaryAnalysisResult expected = threeRoundTrips();
+        SalaryAnalysisResult actual = salaryAnalysisService.findHighestSalaryNotOnFirstDay();
+        assertEquals(expected.getSalary(), actual.getSalary());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDepartmentName(), actual.getDepartmentName());
+
+        // Warm both paths before measuring
+        measure(this::threeRoundTrips);
+        measure(salaryAnalysisService::findHighestSalaryNotOnFirstDay);
+
+        long[] legacy = measure(this::threeRoundTrips);
+        long[] projection = measure(salaryAnalysisService::findHighestSalaryNotOnFirstDay);
+
+        logger.info("three round trips: p50={} us, p99={} us",
+            PerfTestData.percentile(legacy, 50) / 1_000, PerfTestData.percentile(legacy, 99) / 1_000);
+        logger.info("single projection: p50={} us, p99={} us",
+            PerfTestData.percentile(projection, 50) / 1_000, PerfTestData.percentile(projection, 99) / 1_000);
+    }
+
+    /**
+     * The lookup sequence findHighestSalaryNotOnFirstDay used before the projection query
+     */
+    private SalaryAnalysisResult threeRoundTrips() {
+        Payment payment = paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow();
+        Employee employee = employeeRepository.findById(payment.getEmpId()).orElseThrow();
+        Department department = departmentRepository.findById(employee.getDepartment()).orElseThrow();
+        return new SalaryAnalysisResult(payment.getAmount(),
+            employee.getFirstName() + " " + employee.getLastName(), null, department.getDepartmentName());
+    }
+
+    /**
+     * Run the call from THREADS threads at once and return every call's latency in nanoseconds
+     */
+    private static long[] measure(Supplier<SalaryAnalysisResult> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<long[]>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(() -> {
+                    long[] latencies = new long[CALLS_PER_THREAD];
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        long start = System.nanoTime();
+                        assertNotNull(call.get());
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                });
+            }
+            long[] all = new long[THREADS * CALLS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> future : executor.invokeAll(workers)) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            return all;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.dto.SalaryAnalysisRow;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.DepartmentRepository;
+import com.finserv.demo.repository.EmployeeRepository;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the single-statement highest-salary projection against H2, including
+ * payments whose employee or department does not exist
+ */
+@DataJpaTest
+@Import(SalaryAnalysisService.class)
+class HighestSalaryQueryTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Department department = departmentRepository.save(new Department("Engineering"));
+        employee = employeeRepository.save(
+            new Employee("John", "Williams", LocalDate.of(1980, 5, 15), "Male", department.getDepartmentId()));
+
+        paymentRepository.save(new Payment(employee.getEmpId(), new BigDecimal("70000.00"), 
+            LocalDateTime.of(2025, 3, 2, 9, 0)));
+        // Higher, but on the 1st day: never the answer
+        paymentRepository.save(new Payment(employee.getEmpId(), new BigDecimal("90000.00"), 
+            LocalDateTime.of(2025, 3, 1, 9, 0)));
+    }
+
+    @Test
+    void testHighestSalary_JoinsEmployeeAndDepartment() {
+        SalaryAnalysisResult result = salaryAnalysisService.findHighestSalaryNotOnFirstDay();
+
+        assertNotNull(result);
+        assertEquals(0, new BigDecimal("70000.00").compareTo(result.getSalary()));
+        assertEquals("John Williams", result.getName());
+        assertEquals("Engineering", result.getDepartmentName());
+    }
+
+    @Test
+    void testHighestSalary_OrphanedPaymentIsReportedNotSkipped() {
+        paymentRepository.save(new Payment(employee.getEmpId() + 1000, new BigDecimal("80000.00"), 
+            LocalDateTime.of(2025, 3, 3, 9, 0)));
+
+        SalaryAnalysisRow row = paymentRepository.findHighestSalaryNotOnFirstDay().orElseThrow();
+
+        assertEquals(0, new BigDecimal("80000.00").compareTo(row.getAmount()));
+        assertNull(row.getEmployeeId());
+        assertNull(salaryAnalysisService.findHighestSalaryNotOnFirstDay());
+    }
+
+    @Test
+    void testHighestSalary_MissingDepartmentIsReportedNotSkipped() {
+        Employee orphan = employeeRepository.save(
+            new Employee("Jane", "Doe", LocalDate.of(1990, 1, 10), "Female", 999L));
+        paymentRepository.save(new Payment(orphan.getEmpId(), new BigDecimal("85000.00"), 
+            LocalDateTime.of(2025, 3, 4, 9, 0)));
+
+        SalaryAnalysisRow row = paymentRepository.findHighestSalaryNotOnFirstDay().orElseThrow();
+
+        assertEquals(orphan.getEmpId(), row.getEmployeeId());
+        assertNull(row.getDepartmentId());
+        assertNull(salaryAnalysisService.findHighestSalaryNotOnFirstDay());
+    }
+}
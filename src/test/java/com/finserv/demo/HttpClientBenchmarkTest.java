@@ -0,0 +1,111 @@
+package com.finserv.demo;
+
+import com.finserv.demo.config.RestTemplateConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requests/s, latency and TCP connections used for 16 concurrent callers against a
+ * local stub, with three clients: a new connection per call, the JDK default
+ * (HttpURLConnection, which keeps at most 5 idle connections per host) and the pooled
+ * client from RestTemplateConfig. Plain HTTP on loopback, so the saving shown is the
+ * TCP handshake only; against a remote TLS endpoint each new connection also pays a
+ * TLS handshake and network round trips.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+class HttpClientBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientBenchmarkTest.class);
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 500;
+
+    @Test
+    void pooledClient_VersusUnpooled() throws Exception {
+        RestTemplateConfig config = new RestTemplateConfig();
+        Duration timeout = Duration.ofSeconds(5);
+        PoolingHttpClientConnectionManager connectionManager = config.httpConnectionManager(50, 20, timeout, timeout);
+        CloseableHttpClient httpClient = config.httpClient(connectionManager, timeout, timeout, Duration.ofSeconds(30), Duration.ofSeconds(30));
+
+        RestTemplate connectionPerCall = new RestTemplate(new SimpleClientHttpRequestFactory());
+        connectionPerCall.getInterceptors().add((request, body, execution) -> {
+            request.getHeaders().set(HttpHeaders.CONNECTION, "close");
+            return execution.execute(request, body);
+        });
+        RestTemplate jdkDefault = new RestTemplate(new SimpleClientHttpRequestFactory());
+        RestTemplate pooled = config.restTemplate(new RestTemplateBuilder(), httpClient);
+
+        try (StubHttpServer stub = new StubHttpServer()) {
+            // One full unmeasured round per client first: the first round is dominated by JIT warm-up
+            run(stub, connectionPerCall, REQUESTS_PER_THREAD);
+            run(stub, jdkDefault, REQUESTS_PER_THREAD);
+            run(stub, pooled, REQUESTS_PER_THREAD);
+
+            Result perCall = run(stub, connectionPerCall, REQUESTS_PER_THREAD);
+            Result jdk = run(stub, jdkDefault, REQUESTS_PER_THREAD);
+            Result pool = run(stub, pooled, REQUESTS_PER_THREAD);
+
+            logger.info("connection per call: {}", perCall);
+            logger.info("JDK default:         {}", jdk);
+            logger.info("pooled:              {}", pool);
+
+            assertTrue(pool.connections <= 20, "pooled connections: " + pool.connections);
+            assertTrue(pool.connections < perCall.connections);
+        } finally {
+            httpClient.close();
+        }
+    }
+
+    private Result run(StubHttpServer stub, RestTemplate restTemplate, int requestsPerThread) throws Exception {
+        stub.reset();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[requestsPerThread];
+                for (int i = 0; i < requestsPerThread; i++) {
+                    long requestStart = System.nanoTime();
+                    assertEquals("pong", restTemplate.getForObject(stub.url(), String.class));
+                    latencies[i] = System.nanoTime() - requestStart;
+                }
+                return latencies;
+            }));
+        }
+        long[] latencies = new long[THREADS * requestsPerThread];
+        for (int t = 0; t < THREADS; t++) {
+            System.arraycopy(futures.get(t).get(), 0, latencies, t * requestsPerThread, requestsPerThread);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        return new Result(latencies.length, elapsedNanos, PerfTestData.percentile(latencies, 50),
+            PerfTestData.percentile(latencies, 99), stub.connections());
+    }
+
+    private record Result(int requests, long elapsedNanos, long p50Nanos, long p99Nanos, int connections) {
+        @Override
+        public String toString() {
+            return String.format("%d requests/s, p50 %d us, p99 %d us, %d TCP connections for %d requests",
+                requests * 1_000_000_000L / elapsedNanos, p50Nanos / 1000, p99Nanos / 1000, connections, requests);
+        }
+    }
+}
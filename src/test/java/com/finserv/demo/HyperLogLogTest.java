@@ -0,0 +1,86 @@
+package com.finserv.demo;
+
+import com.finserv.demo.util.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    private static final int PRECISION = 14;
+
+    @Test
+    void testEstimatesWithinThreeStandardErrors() {
+        double tolerance = 3 * HyperLogLog.relativeStandardError(PRECISION);
+        for (int distinct : new int[] {10, 1_000, 10_000, 50_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog(PRECISION);
+            for (int repeat = 0; repeat < 2; repeat++) {
+                for (long value = 1; value <= distinct; value++) {
+                    sketch.add(value);
+                }
+            }
+            assertEquals(distinct, sketch.estimate(), Math.max(1, distinct * tolerance), "distinct=" + distinct);
+        }
+    }
+
+    @Test
+    void testMergeEqualsSketchOfUnion() {
+        HyperLogLog union = new HyperLogLog(PRECISION);
+        HyperLogLog small = new HyperLogLog(PRECISION);
+        HyperLogLog large = new HyperLogLog(PRECISION);
+        for (long value = 0; value < 100_000; value++) {
+            union.add(value);
+            // Overlapping ranges, one sparse and one dense
+            if (value < 500) {
+                small.add(value);
+            }
+            if (value >= 200) {
+                large.add(value);
+            }
+        }
+
+        HyperLogLog sparseFirst = new HyperLogLog(PRECISION);
+        sparseFirst.merge(small);
+        sparseFirst.merge(large);
+        HyperLogLog denseFirst = new HyperLogLog(PRECISION);
+        denseFirst.merge(large);
+        denseFirst.merge(small);
+
+        assertEquals(union.estimate(), sparseFirst.estimate());
+        assertEquals(union.estimate(), denseFirst.estimate());
+        assertThrows(IllegalArgumentException.class, () -> union.merge(new HyperLogLog(PRECISION - 1)));
+    }
+
+    @Test
+    void testReduceEqualsSketchBuiltAtLowerPrecision() {
+        for (int distinct : new int[] {300, 200_000}) {
+            HyperLogLog high = new HyperLogLog(PRECISION);
+            HyperLogLog low = new HyperLogLog(10);
+            for (long value = 0; value < distinct; value++) {
+                high.add(value * 31);
+                low.add(value * 31);
+            }
+
+            HyperLogLog reduced = high.reduce(10);
+
+            assertEquals(10, reduced.getPrecision());
+            assertEquals(low.estimate(), reduced.estimate(), "distinct=" + distinct);
+        }
+    }
+
+    @Test
+    void testSparseSketchesStaySmall() {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.estimate());
+
+        for (long value = 0; value < 100; value++) {
+            sketch.add(value);
+        }
+
+        assertFalse(sketch.isEmpty());
+        assertTrue(sketch.getSizeInBytes() <= 1024, "size=" + sketch.getSizeInBytes());
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(HyperLogLog.MAX_PRECISION + 1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.reduce(PRECISION + 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.finserv.demo;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop HTTP load generator, run as its own process so its sockets do not count
+ * against the server JVM's file descriptor limit. Keeps the given number of GET
+ * requests in flight (one connection each) until the total is sent, then prints
+ * one line: RESULT requests/s p50-us p99-us errors [first error]
+ *
+ * Usage: LoadClient url concurrency requests
+ */
+public final class LoadClient {
+
+    private LoadClient() {}
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        int requests = Integer.parseInt(args[2]);
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<String> firstError = new AtomicReference<>("");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long requestStart = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                latencies[index] = System.nanoTime() - requestStart;
+                if (error != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    firstError.compareAndSet("", error != null ? error.toString() : "HTTP " + response.statusCode());
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.println("RESULT " + requests * 1_000_000_000L / elapsedNanos
+            + " " + PerfTestData.percentile(latencies, 50) / 1000
+            + " " + PerfTestData.percentile(latencies, 99) / 1000
+            + " " + errors.get()
+            + " " + firstError.get());
+        System.exit(0);
+    }
+}
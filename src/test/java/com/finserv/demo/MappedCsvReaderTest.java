@@ -0,0 +1,119 @@
+package com.finserv.demo;
+
+import com.finserv.demo.util.MappedCsvReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadsTypedFields() throws IOException {
+        Path file = write("7,1234.5,2025-01-02T10:15:30,Alice,1990-05-06\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            assertTrue(reader.nextLine());
+            assertEquals(7, reader.nextLong());
+            assertEquals(123450, reader.nextDecimal(2));
+            assertEquals(LocalDateTime.of(2025, 1, 2, 10, 15, 30), reader.nextDateTime());
+            assertEquals("Alice", reader.nextString());
+            assertEquals(LocalDate.of(1990, 5, 6), reader.nextDate());
+            assertFalse(reader.nextLine());
+        }
+    }
+
+    @Test
+    void testCrLfBlankLinesAndMissingFinalNewline() throws IOException {
+        Path file = write("1,2025-01-02 10:00:00.123\r\n\r\n2,2025-02-01T00:00:00");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            assertTrue(reader.nextLine());
+            assertEquals(1, reader.nextLong());
+            assertEquals(LocalDateTime.of(2025, 1, 2, 10, 0), reader.nextDateTime());
+            assertTrue(reader.nextLine());
+            assertTrue(reader.isBlankLine());
+            assertTrue(reader.nextLine());
+            assertEquals(3, reader.getLineNumber());
+            assertEquals(2, reader.nextLong());
+            assertEquals(LocalDateTime.of(2025, 2, 1, 0, 0), reader.nextDateTime());
+            assertFalse(reader.nextLine());
+        }
+    }
+
+    @Test
+    void testSmallWindowRemapsAtLineStarts() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            csv.append(i).append(',').append(i).append(".99\n");
+        }
+        Path file = write(csv.toString());
+
+        long count = 0;
+        long sum = 0;
+        try (MappedCsvReader reader = new MappedCsvReader(file, 32)) {
+            while (reader.nextLine()) {
+                long id = reader.nextLong();
+                assertEquals(id * 100 + 99, reader.nextDecimal(2));
+                sum += id;
+                count++;
+            }
+        }
+        assertEquals(1000, count);
+        assertEquals(500_500, sum);
+    }
+
+    @Test
+    void testLineLongerThanWindow_Throws() throws IOException {
+        Path file = write("1,2\n" + "9".repeat(100) + "\n3\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file, 16)) {
+            assertTrue(reader.nextLine());
+            assertThrows(IllegalStateException.class, reader::nextLine);
+        }
+    }
+
+    @Test
+    void testMalformedField_ReportsLine() throws IOException {
+        Path file = write("1,10.00\n2,10.001\n3,abc\n");
+
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            reader.nextLine();
+            reader.skipField();
+            assertEquals(1000, reader.nextDecimal(2));
+
+            reader.nextLine();
+            reader.skipField();
+            IllegalArgumentException tooPrecise = assertThrows(IllegalArgumentException.class, () -> reader.nextDecimal(2));
+            assertTrue(tooPrecise.getMessage().startsWith("line 2"), tooPrecise.getMessage());
+
+            reader.nextLine();
+            reader.skipField();
+            IllegalArgumentException notNumber = assertThrows(IllegalArgumentException.class, () -> reader.nextDecimal(2));
+            assertTrue(notNumber.getMessage().startsWith("line 3"), notNumber.getMessage());
+        }
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        try (MappedCsvReader reader = new MappedCsvReader(write(""))) {
+            assertFalse(reader.nextLine());
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("data.csv");
+        Files.writeString(file, content, StandardCharsets.US_ASCII);
+        return file;
+    }
+}
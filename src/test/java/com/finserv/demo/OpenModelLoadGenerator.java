@@ -0,0 +1,151 @@
+package com.finserv.demo;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model HTTP load generator: requests are started at a constant arrival rate on a
+ * fixed schedule, whether or not earlier ones have finished, and sent asynchronously so
+ * a slow server cannot slow the schedule down. Latency is measured from each request's
+ * intended start time, which corrects for coordinated omission: a stall is charged to
+ * every request that should have been sent during it, not just the one in flight. The
+ * time from the actual send is recorded as well, to show how much the correction adds.
+ *
+ * The scenario for each slot is drawn from a seeded random stream, so the same rate,
+ * mix and seed always replay the same request sequence
+ */
+final class OpenModelLoadGenerator {
+
+    /**
+     * Latencies are recorded in microseconds, with 3 significant digits
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<Scenario> mix;
+    private final int maxInFlight;
+
+    OpenModelLoadGenerator(HttpClient client, URI baseUri, List<Scenario> mix, int maxInFlight) {
+        if (mix.isEmpty() || mix.stream().mapToInt(Scenario::weight).sum() <= 0) {
+            throw new IllegalArgumentException("the mix needs at least one scenario with a positive weight");
+        }
+        this.client = client;
+        this.baseUri = baseUri;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Run the schedule for the given time and wait for the requests in flight
+     *
+     * @param rate Requests started per second
+     * @param duration Length of the schedule
+     * @param seed Seed of the scenario choice
+     * @return Latencies and counts per scenario, in mix order
+     */
+    List<ScenarioResult> run(double rate, Duration duration, long seed) throws InterruptedException {
+        List<ScenarioState> states = new ArrayList<>();
+        int totalWeight = 0;
+        for (Scenario scenario : mix) {
+            states.add(new ScenarioState(scenario));
+            totalWeight += scenario.weight();
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long slots = (long) (duration.toNanos() / (double) intervalNanos);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+
+        for (long slot = 0; slot < slots; slot++) {
+            long intended = start + slot * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            ScenarioState state = pick(states, random.nextInt(totalWeight));
+            state.scheduled.incrementAndGet();
+            if (inFlight.get() >= maxInFlight) {
+                // Beyond what the client may hold open: not sent, counted as rejected
+                state.rejected.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(state.scenario.request().apply(baseUri), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long end = System.nanoTime();
+                    state.corrected.recordValue(Math.max(1, (end - intended) / 1_000));
+                    state.uncorrected.recordValue(Math.max(1, (end - sent) / 1_000));
+                    if (error != null || response.statusCode() >= 400) {
+                        state.errors.incrementAndGet();
+                    }
+                    inFlight.decrementAndGet();
+                });
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (ScenarioState state : states) {
+            results.add(new ScenarioResult(state.scenario.name(), state.scheduled.get(), state.errors.get(),
+                state.rejected.get(), state.scheduled.get() * 1e9 / elapsed,
+                state.corrected.getIntervalHistogram(), state.uncorrected.getIntervalHistogram()));
+        }
+        return results;
+    }
+
+    private static ScenarioState pick(List<ScenarioState> states, int draw) {
+        for (ScenarioState state : states) {
+            draw -= state.scenario.weight();
+            if (draw < 0) {
+                return state;
+            }
+        }
+        throw new IllegalStateException("draw beyond the total weight");
+    }
+
+    /**
+     * One kind of request in the mix, chosen with probability weight / total weight
+     */
+    record Scenario(String name, int weight, Function<URI, HttpRequest> request) {}
+
+    /**
+     * Outcome of one scenario: corrected latencies run from the intended start,
+     * uncorrected ones from the actual send; both in microseconds
+     */
+    record ScenarioResult(String name, long requests, long errors, long rejected, double requestsPerSecond,
+                          Histogram corrected, Histogram uncorrected) {}
+
+    private static final class ScenarioState {
+        final Scenario scenario;
+        final Recorder corrected = new Recorder(SIGNIFICANT_DIGITS);
+        final Recorder uncorrected = new Recorder(SIGNIFICANT_DIGITS);
+        final AtomicLong scheduled = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+
+        ScenarioState(Scenario scenario) {
+            this.scenario = scenario;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.PaymentAggregates;
+import com.finserv.demo.analytics.PaymentColumns;
+import com.finserv.demo.dto.AggregateConsistencyResult;
+import com.finserv.demo.dto.PaymentBucketAggregate;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Maintained aggregates against SQL after every kind of write. Runs without a test
+ * transaction so each repository write commits and reaches the AFTER_COMMIT listener
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest(properties = "finserv.analytics.aggregates.enabled=true")
+@Import({PaymentAggregates.class, SalaryAnalysisService.class})
+class PaymentAggregatesTest {
+
+    @Autowired
+    private PaymentAggregates paymentAggregates;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.saveAll(List.of(
+            new Payment(1L, new BigDecimal("500.00"), LocalDateTime.of(2025, 1, 2, 10, 0)),
+            new Payment(2L, new BigDecimal("900.00"), LocalDateTime.of(2025, 1, 1, 10, 0)),
+            new Payment(3L, new BigDecimal("750.50"), LocalDateTime.of(2025, 2, 15, 10, 0)),
+            new Payment(1L, new BigDecimal("640.00"), LocalDateTime.of(2025, 2, 20, 10, 0))
+        ));
+        paymentAggregates.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+    }
+
+    @Test
+    void testLoad_BucketsMatchSql() {
+        List<PaymentBucketAggregate> aggregates = paymentAggregates.snapshot();
+
+        assertEquals(List.of("first-day", "other-days", "2025-01", "2025-02"),
+            aggregates.stream().map(PaymentBucketAggregate::getBucket).toList());
+        PaymentBucketAggregate otherDays = aggregates.get(1);
+        assertEquals(3, otherDays.getCount());
+        assertEquals(new BigDecimal("1890.50"), otherDays.getSum());
+        assertEquals(new BigDecimal("750.50"), otherDays.getMaxAmount());
+        assertTrue(paymentAggregates.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void testInsert_NewMaxIsVisibleAfterCommit() {
+        Payment saved = paymentRepository.save(new Payment(4L, new BigDecimal("1200.00"), LocalDateTime.of(2025, 3, 20, 9, 0)));
+
+        assertEquals(saved.getPaymentId(), paymentAggregates.highestPaymentNotOnFirstDay().getPaymentId());
+        assertEquals(new BigDecimal("1200.00"), salaryAnalysisService.getMaxAmountNotOnFirstDay());
+        assertTrue(paymentAggregates.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void testDeleteMax_FallsBackToNextHighest() {
+        Payment max = paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow();
+        paymentRepository.delete(max);
+
+        PaymentColumns highest = paymentAggregates.highestPaymentNotOnFirstDay();
+        assertEquals(64000L, highest.getAmount());
+        assertEquals(paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow().getPaymentId(), highest.getPaymentId());
+        assertEquals(0, paymentRepository.findMaxAmountNotOnFirstDay().compareTo(salaryAnalysisService.getMaxAmountNotOnFirstDay()));
+        assertTrue(paymentAggregates.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void testUpdate_LoweredMaxAndMovedMonthStayConsistent() {
+        Payment max = paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow();
+        max.setAmount(new BigDecimal("100.00"));
+        max.setPaymentTime(LocalDateTime.of(2025, 3, 1, 10, 0));
+        paymentRepository.save(max);
+
+        assertEquals(64000L, paymentAggregates.highestPaymentNotOnFirstDay().getAmount());
+        assertEquals(10000L, paymentAggregates.highestPayment("2025-03").getAmount());
+        assertEquals(64000L, paymentAggregates.highestPayment("2025-02").getAmount());
+        assertTrue(paymentAggregates.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void testDeleteAll_EmptiesBuckets() {
+        paymentRepository.deleteAll();
+
+        assertTrue(paymentAggregates.snapshot().isEmpty());
+        assertNull(paymentAggregates.highestPaymentNotOnFirstDay());
+        assertNull(salaryAnalysisService.getMaxAmountNotOnFirstDay());
+        assertNull(salaryAnalysisService.findHighestSalaryNotOnFirstDay());
+    }
+
+    @Test
+    void testCheckConsistency_ReportsWritesThatBypassJpa() {
+        jdbcTemplate.update("INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) " +
+            "VALUES (1000, 1, 5000.00, TIMESTAMP '2025-04-10 10:00:00', FALSE)");
+
+        AggregateConsistencyResult result = paymentAggregates.checkConsistency();
+
+        assertFalse(result.isConsistent());
+        assertTrue(result.getMismatches().stream().anyMatch(m -> m.startsWith("other-days: count")), result.toString());
+        assertTrue(result.getMismatches().stream().anyMatch(m -> m.startsWith("2025-04: missing")), result.toString());
+    }
+}
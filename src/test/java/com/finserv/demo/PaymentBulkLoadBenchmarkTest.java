@@ -0,0 +1,101 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.PaymentBulkLoadService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rows/sec for a synthetic 1M-payment load: one INSERT round trip per row (what
+ * IDENTITY keys forced on saveAll) against PaymentBulkLoadService's batched path.
+ * Both use the same sequence IDs and 10k-row transactions; only batching differs.
+ * In-process H2 has no network round trip, so the gap here understates what batching
+ * saves against a remote database.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PaymentBulkLoadService.class)
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.PaymentBulkLoadBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class PaymentBulkLoadBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentBulkLoadBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int CHUNK = 10_000;
+
+    @Autowired
+    private PaymentBulkLoadService paymentBulkLoadService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void batchedLoad_VersusRowByRow() {
+        long rowByRowMillis = rowByRow(PaymentBulkLoadServiceTest.payments(ROWS));
+        assertEquals(ROWS, paymentRepository.count());
+        paymentRepository.deleteAllInBatch();
+
+        BulkLoadSummary batched = paymentBulkLoadService.loadPayments(PaymentBulkLoadServiceTest.payments(ROWS));
+        assertEquals(ROWS, paymentRepository.count());
+
+        logger.info("row-by-row: {} rows in {} ms, {} rows/s", ROWS, rowByRowMillis, ROWS * 1000L / Math.max(1, rowByRowMillis));
+        logger.info("batched:    {} rows in {} ms, {} rows/s", ROWS, batched.getElapsedMillis(), batched.getRowsPerSecond());
+        assertTrue(batched.getElapsedMillis() < rowByRowMillis, "batched load should beat row-by-row");
+    }
+
+    /**
+     * saveAll per chunk with the session's JDBC batch size forced to 1
+     */
+    private long rowByRow(Iterator<Payment> payments) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        while (payments.hasNext()) {
+            List<Payment> chunk = new ArrayList<>(CHUNK);
+            while (chunk.size() < CHUNK && payments.hasNext()) {
+                chunk.add(payments.next());
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+                paymentRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
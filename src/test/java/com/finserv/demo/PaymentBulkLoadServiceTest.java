@@ -0,0 +1,102 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.PaymentBulkLoadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk load through JPA, checked with Hibernate statistics: a batched insert prepares
+ * one statement per JDBC batch instead of one per row
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PaymentBulkLoadService.class)
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "finserv.bulk-load.chunk-size=300"
+})
+class PaymentBulkLoadServiceTest {
+
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private PaymentBulkLoadService paymentBulkLoadService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testLoadPayments_CommitsEveryChunk() {
+        BulkLoadSummary summary = paymentBulkLoadService.loadPayments(payments(ROWS));
+
+        assertEquals(ROWS, summary.getRowsLoaded());
+        assertEquals(4, summary.getChunks());
+        assertEquals(ROWS, paymentRepository.count());
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testLoadPayments_BatchesInsertsAndSequenceCalls() {
+        paymentBulkLoadService.loadPayments(payments(ROWS));
+
+        // ROWS / 50 insert batches plus ROWS / 50 sequence calls, with slack for chunk edges
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements < ROWS / 10, "prepared statements: " + statements);
+    }
+
+    @Test
+    void testLoadPayments_EmptyInput() {
+        BulkLoadSummary summary = paymentBulkLoadService.loadPayments(payments(0));
+
+        assertEquals(0, summary.getRowsLoaded());
+        assertEquals(0, summary.getChunks());
+    }
+
+    @Test
+    void testLoadPayments_AssignsDistinctSequenceIds() {
+        paymentBulkLoadService.loadPayments(payments(ROWS));
+
+        assertEquals(ROWS, paymentRepository.findAll().stream().map(Payment::getPaymentId).distinct().count());
+    }
+
+    static Iterator<Payment> payments(int rows) {
+        return LongStream.rangeClosed(1, rows)
+            .mapToObj(i -> new Payment(i % 100 + 1, BigDecimal.valueOf(1000 + i % 997, 2),
+                LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i * 7)))
+            .iterator();
+    }
+}
@@ -0,0 +1,117 @@
+package com.finserv.demo;
+
+import com.finserv.demo.analytics.PaymentColumnStore;
+import com.finserv.demo.analytics.PaymentColumns;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Column store contents against the database. Runs without a test transaction so
+ * every repository write commits and reaches the store through its AFTER_COMMIT listener
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest(properties = "finserv.analytics.column-store.enabled=true")
+@Import({PaymentColumnStore.class, SalaryAnalysisService.class})
+class PaymentColumnStoreTest {
+
+    @Autowired
+    private PaymentColumnStore columnStore;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.saveAll(List.of(
+            new Payment(1L, new BigDecimal("500.00"), LocalDateTime.of(2025, 1, 2, 10, 0)),
+            new Payment(2L, new BigDecimal("900.00"), LocalDateTime.of(2025, 1, 1, 10, 0)),
+            new Payment(3L, new BigDecimal("750.50"), LocalDateTime.of(2025, 2, 15, 10, 0))
+        ));
+        columnStore.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+    }
+
+    @Test
+    void testLoad_MatchesRepositoryQueries() {
+        assertTrue(columnStore.isLoaded());
+        assertEquals(3, columnStore.size());
+        assertEquals(0, paymentRepository.findMaxAmountNotOnFirstDay().compareTo(salaryAnalysisService.getMaxAmountNotOnFirstDay()));
+
+        PaymentColumns highest = columnStore.highestPaymentNotOnFirstDay();
+        assertEquals(paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow().getPaymentId(), highest.getPaymentId());
+        assertEquals(75050L, highest.getAmount());
+    }
+
+    @Test
+    void testSave_InsertIsVisibleAfterCommit() {
+        Payment saved = paymentRepository.save(new Payment(4L, new BigDecimal("1200.00"), LocalDateTime.of(2025, 3, 20, 9, 0)));
+
+        assertEquals(4, columnStore.size());
+        assertEquals(saved.getPaymentId(), columnStore.highestPaymentNotOnFirstDay().getPaymentId());
+        assertEquals(new BigDecimal("1200.00"), salaryAnalysisService.getMaxAmountNotOnFirstDay());
+    }
+
+    @Test
+    void testSave_UpdateMovesPaymentOntoFirstDay() {
+        Payment payment = paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow();
+        payment.setPaymentTime(LocalDateTime.of(2025, 2, 1, 10, 0));
+        paymentRepository.save(payment);
+
+        assertEquals(3, columnStore.size());
+        assertEquals(50000L, columnStore.maxAmountNotOnFirstDay().getAsLong());
+    }
+
+    @Test
+    void testDelete_RemovesRow() {
+        Payment payment = paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow();
+        paymentRepository.delete(payment);
+
+        assertEquals(2, columnStore.size());
+        assertEquals(50000L, columnStore.maxAmountNotOnFirstDay().getAsLong());
+
+        paymentRepository.deleteAll();
+
+        assertEquals(0, columnStore.size());
+        assertTrue(columnStore.maxAmountNotOnFirstDay().isEmpty());
+        assertNull(columnStore.highestPaymentNotOnFirstDay());
+    }
+
+    @Test
+    void testHighestPayment_TieGoesToLowestPaymentId() {
+        Payment tied = paymentRepository.save(new Payment(5L, new BigDecimal("750.50"), LocalDateTime.of(2025, 4, 3, 8, 0)));
+
+        PaymentColumns highest = columnStore.highestPaymentNotOnFirstDay();
+        assertTrue(tied.getPaymentId() > highest.getPaymentId());
+        assertEquals(paymentRepository.findHighestPaymentNotOnFirstDay().orElseThrow().getPaymentId(), highest.getPaymentId());
+    }
+
+    @Test
+    void testMinorUnits_RoundTrip() {
+        assertEquals(123456L, PaymentColumnStore.toMinorUnits(new BigDecimal("1234.56")));
+        assertEquals(100L, PaymentColumnStore.toMinorUnits(new BigDecimal("1")));
+        assertEquals(new BigDecimal("1234.56"), PaymentColumnStore.fromMinorUnits(123456L));
+        assertThrows(ArithmeticException.class, () -> PaymentColumnStore.toMinorUnits(new BigDecimal("0.001")));
+    }
+}
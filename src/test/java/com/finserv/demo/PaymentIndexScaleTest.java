@@ -0,0 +1,221 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scale test for the "not on the 1st day of month" lookups.
+ * Loads 1M synthetic payments into H2 and checks with EXPLAIN that the top-1 / MAX
+ * queries are answered from IDX_PAYMENTS_FIRST_DAY_AMOUNT instead of a table scan,
+ * that keyset pages seek IDX_PAYMENTS_FIRST_DAY_ID, and that time-range queries only
+ * read the month ranges of IDX_PAYMENTS_MONTH_TIME / IDX_PAYMENTS_MONTH_FIRST_DAY_AMOUNT.
+ * The plans are taken for the SQL Hibernate renders for each repository method,
+ * captured through CapturingStatementInspector, so editing a @Query is caught here.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.finserv.demo.CapturingStatementInspector",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class PaymentIndexScaleTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIndexScaleTest.class);
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (paymentRepository.count() == ROWS) {
+            return;
+        }
+        PerfTestData.seed(jdbcTemplate, 10, 1000, ROWS);
+    }
+
+    @Test
+    void findHighestPaymentNotOnFirstDay_ReadsCompositeIndexInOrder() {
+        String plan = explainRepositoryCall(() -> paymentRepository.findHighestPaymentNotOnFirstDay());
+
+        assertTrue(plan.contains("IDX_PAYMENTS_FIRST_DAY_AMOUNT"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findMaxAmountNotOnFirstDay_ReadsCompositeIndexInOrder() {
+        String plan = explainRepositoryCall(() -> paymentRepository.findMaxAmountNotOnFirstDay());
+
+        assertTrue(plan.contains("IDX_PAYMENTS_FIRST_DAY_AMOUNT"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findTopByFirstDayOfMonth_ReadsCompositeIndexInOrder() {
+        String plan = explainRepositoryCall(
+            () -> paymentRepository.findTopByFirstDayOfMonth(false, PageRequest.of(0, 50)), false, 50);
+
+        assertTrue(plan.contains("IDX_PAYMENTS_FIRST_DAY_AMOUNT"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findHighestSalaryNotOnFirstDay_DrivesJoinFromPaymentsIndex() {
+        String plan = explainRepositoryCall(() -> paymentRepository.findHighestSalaryNotOnFirstDay());
+
+        assertTrue(plan.contains("IDX_PAYMENTS_FIRST_DAY_AMOUNT"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+        assertTrue(plan.indexOf("\"PAYMENTS\"") < plan.indexOf("\"EMPLOYEES\""), plan);
+    }
+
+    @Test
+    void findNotOnFirstDayAfter_SeeksKeysetIndexInOrder() {
+        String plan = explainRepositoryCall(
+            () -> paymentRepository.findNotOnFirstDayAfter(ROWS / 2, PageRequest.of(0, 100)), ROWS / 2, 100);
+
+        assertTrue(plan.contains("IDX_PAYMENTS_FIRST_DAY_ID"), plan);
+        assertTrue(plan.contains("PAYMENT_ID > ?"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findInMonthsAfter_ReadsOnlyRangeMonthsInOrder() {
+        LocalDateTime from = LocalDateTime.of(2022, 3, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 5, 1, 0, 0);
+        String plan = explainRepositoryCall(
+            () -> paymentRepository.findByPaymentTimeBetween(from, to, PageRequest.of(0, 100)),
+            202203, 202204, to, from, from, 0L, 100);
+
+        assertTrue(plan.contains("IDX_PAYMENTS_MONTH_TIME"), plan);
+        assertTrue(plan.contains("PAYMENT_MONTH >= ?"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findHighestSalaryNotOnFirstDayInMonth_SeeksMonthIndex() {
+        LocalDateTime from = LocalDateTime.of(2022, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 4, 1, 0, 0);
+        String plan = explainRepositoryCall(
+            () -> paymentRepository.findHighestSalaryNotOnFirstDayInMonth(202203, from, to), 202203, from, to);
+
+        assertTrue(plan.contains("IDX_PAYMENTS_MONTH_FIRST_DAY_AMOUNT"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findPaymentTotalsInMonths_ScansOnlyRangeMonths() {
+        LocalDateTime from = LocalDateTime.of(2022, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 5, 1, 0, 0);
+        String plan = explainRepositoryCall(
+            () -> paymentRepository.findPaymentTotalsInMonths(202203, 202204, from, to), 202203, 202204, from, to);
+
+        assertTrue(plan.contains("IDX_PAYMENTS_MONTH_"), plan);
+        assertTrue(plan.contains("PAYMENT_MONTH >= ?"), plan);
+    }
+
+    @Test
+    void rangeQueries_MatchFullScanAnswer() {
+        LocalDateTime from = LocalDateTime.of(2022, 3, 10, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 6, 20, 0, 0);
+        BigDecimal expectedMax = jdbcTemplate.queryForObject(
+            "SELECT MAX(AMOUNT) FROM payments WHERE DAY(PAYMENT_TIME) <> 1 AND PAYMENT_TIME >= ? AND PAYMENT_TIME < ?",
+            BigDecimal.class, from, to);
+        Long expectedCount = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM payments WHERE PAYMENT_TIME >= ? AND PAYMENT_TIME < ?", Long.class, from, to);
+
+        paymentRepository.findPaymentTotals(); // warm-up: query plans + Hibernate caches
+        paymentRepository.findPaymentTotalsInMonths(202001, 202001, from, to);
+
+        long start = System.nanoTime();
+        PaymentTotals totals = paymentRepository.findPaymentTotalsInMonths(
+            Payment.paymentMonth(from), Payment.paymentMonth(to), from, to);
+        long rangeMicros = (System.nanoTime() - start) / 1_000;
+        start = System.nanoTime();
+        paymentRepository.findPaymentTotals();
+        long fullMicros = (System.nanoTime() - start) / 1_000;
+
+        assertEquals(expectedCount, totals.getPaymentCount());
+        assertEquals(0, expectedMax.compareTo(totals.getMaxAmountNotFirstDay()));
+        logger.info("Range totals over {} of {} payments took {} us (whole table: {} us)",
+            expectedCount, ROWS, rangeMicros, fullMicros);
+    }
+
+    @Test
+    void topKRepositoryQuery_MatchesFullSortWithTies() {
+        List<Long> expectedIds = jdbcTemplate.queryForList(
+            "SELECT PAYMENT_ID FROM payments WHERE DAY(PAYMENT_TIME) <> 1 ORDER BY AMOUNT DESC, PAYMENT_ID FETCH FIRST 50 ROWS ONLY",
+            Long.class);
+
+        List<Long> actualIds = paymentRepository.findTopByFirstDayOfMonth(false, PageRequest.of(0, 50)).stream()
+            .map(Payment::getPaymentId)
+            .toList();
+
+        assertEquals(expectedIds, actualIds);
+    }
+
+    @Test
+    void dayFunctionPredicate_CannotUseIndex() {
+        String plan = explain(
+            "SELECT PAYMENT_ID, AMOUNT FROM payments WHERE DAY(PAYMENT_TIME) <> 1 ORDER BY AMOUNT DESC FETCH FIRST 1 ROWS ONLY");
+
+        assertFalse(plan.contains("IDX_PAYMENTS_FIRST_DAY_AMOUNT"), plan);
+    }
+
+    @Test
+    void repositoryQueries_MatchFullScanAnswer() {
+        BigDecimal expectedMax = jdbcTemplate.queryForObject(
+            "SELECT MAX(AMOUNT) FROM payments WHERE DAY(PAYMENT_TIME) <> 1", BigDecimal.class);
+
+        paymentRepository.findMaxAmountNotOnFirstDay(); // warm-up: query plan + Hibernate caches
+
+        long start = System.nanoTime();
+        BigDecimal maxAmount = paymentRepository.findMaxAmountNotOnFirstDay();
+        Optional<Payment> highest = paymentRepository.findHighestPaymentNotOnFirstDay();
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        assertEquals(0, expectedMax.compareTo(maxAmount));
+        assertTrue(highest.isPresent());
+        assertEquals(0, expectedMax.compareTo(highest.get().getAmount()));
+        assertFalse(highest.get().isFirstDayOfMonth());
+        logger.info("Index lookups over {} payments took {} us", ROWS, elapsedMicros);
+    }
+
+    /**
+     * EXPLAIN the SQL a repository call renders, binding its JDBC parameters in order
+     */
+    private String explainRepositoryCall(Runnable call, Object... parameters) {
+        return explain(CapturingStatementInspector.lastStatementOf(call), parameters);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        List<String> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+        return String.join("\n", rows);
+    }
+}
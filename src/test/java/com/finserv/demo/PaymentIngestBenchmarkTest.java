@@ -0,0 +1,125 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentIngestSummary;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.PaymentBulkLoadService;
+import com.finserv.demo.service.PaymentIngestService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams a generated CSV body of 100k and then 1M rows through the ingest service and
+ * samples used heap while it runs. The database is file-backed H2, so stored rows do not
+ * count against the heap and the samples show only what ingest itself holds.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PaymentIngestService.class, PaymentBulkLoadService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:file:./target/perf/ingest-benchmark;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.PaymentIngestBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class PaymentIngestBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIngestBenchmarkTest.class);
+
+    @Autowired
+    private PaymentIngestService paymentIngestService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void heapStaysFlat_100kVersus1M() throws Exception {
+        long smallPeak = ingest(100_000);
+        long largePeak = ingest(1_000_000);
+
+        // Ten times the rows must not mean a proportionally larger heap
+        assertTrue(largePeak < smallPeak * 2 + 128L * 1024 * 1024,
+            "peak heap " + largePeak / (1024 * 1024) + " MB vs " + smallPeak / (1024 * 1024) + " MB");
+    }
+
+    private long ingest(int rows) throws Exception {
+        paymentRepository.deleteAllInBatch();
+        System.gc();
+
+        AtomicLong peak = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            Runtime runtime = Runtime.getRuntime();
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+        PaymentIngestSummary summary;
+        try {
+            summary = paymentIngestService.ingest(new GeneratedCsv(rows), PaymentIngestService.FORMAT_CSV);
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+
+        assertEquals(rows, summary.getRowsLoaded());
+        logger.info("{} CSV rows: {} rows/s, peak heap {} MB", rows, summary.getRowsPerSecond(), peak.get() / (1024 * 1024));
+        return peak.get();
+    }
+
+    /**
+     * CSV body produced on the fly, one line at a time, so the test itself holds no payload
+     */
+    private static final class GeneratedCsv extends InputStream {
+        private final int rows;
+        private int row;
+        private byte[] line = "empId,amount,paymentTime\n".getBytes(StandardCharsets.US_ASCII);
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (row == rows) {
+                    return -1;
+                }
+                row++;
+                line = ((row % 100 + 1) + "," + (1000 + row % 99_991) + ".25,2025-0" + (1 + row % 9)
+                    + "-" + (10 + row % 18) + "T10:00:00\n").getBytes(StandardCharsets.US_ASCII);
+                position = 0;
+            }
+            return line[position++];
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.finserv.demo;
+
+import com.finserv.demo.controller.PaymentIngestController;
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.dto.PaymentIngestSummary;
+import com.finserv.demo.service.PaymentIngestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks how POST /api/payments/bulk picks the body format
+ */
+@WebMvcTest(PaymentIngestController.class)
+class PaymentIngestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PaymentIngestService paymentIngestService;
+
+    @Test
+    void testBulkLoad_CsvContentType() throws Exception {
+        when(paymentIngestService.ingest(any(), eq(PaymentIngestService.FORMAT_CSV)))
+            .thenReturn(new PaymentIngestSummary(2, 1, List.of("line 2: bad"), new BulkLoadSummary(1, 1, 5)));
+
+        mockMvc.perform(post("/api/payments/bulk").contentType("text/csv;charset=UTF-8").content("1,1.00,2025-01-02T10:00:00\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rowsLoaded").value(1))
+            .andExpect(jsonPath("$.rowsRejected").value(1))
+            .andExpect(jsonPath("$.rejects[0]").value("line 2: bad"));
+    }
+
+    @Test
+    void testBulkLoad_NdjsonContentType() throws Exception {
+        when(paymentIngestService.ingest(any(), eq(PaymentIngestService.FORMAT_NDJSON)))
+            .thenReturn(new PaymentIngestSummary(1, 0, List.of(), new BulkLoadSummary(1, 1, 5)));
+
+        mockMvc.perform(post("/api/payments/bulk").contentType("application/x-ndjson").content("{}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rowsLoaded").value(1));
+    }
+
+    @Test
+    void testBulkLoad_UnsupportedContentType() throws Exception {
+        mockMvc.perform(post("/api/payments/bulk").contentType("application/xml").content("<payments/>"))
+            .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,119 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentIngestSummary;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.PaymentBulkLoadService;
+import com.finserv.demo.service.PaymentIngestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PaymentIngestService.class, PaymentBulkLoadService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DataJpaTest(properties = "finserv.bulk-load.chunk-size=2")
+class PaymentIngestServiceTest {
+
+    @Autowired
+    private PaymentIngestService paymentIngestService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testIngestCsv_LoadsValidRowsAndReportsRejects() {
+        String csv = """
+            empId,amount,paymentTime
+            1,65784.00,2025-01-01T13:44:12
+            2,62736.5,2025-01-06 18:36:37
+
+            3,-5.00,2025-01-02T17:21:57
+            4,100.001,2025-01-02T17:21:57
+            x,100.00,2025-01-02T17:21:57
+            5,100.00
+            6,71475.00,2025-01-01T07:24:14
+            """;
+
+        PaymentIngestSummary summary = paymentIngestService.ingest(body(csv), PaymentIngestService.FORMAT_CSV);
+
+        assertEquals(7, summary.getRowsRead());
+        assertEquals(3, summary.getRowsLoaded());
+        assertEquals(4, summary.getRowsRejected());
+        assertEquals(2, summary.getChunks());
+        assertEquals(4, summary.getRejects().size());
+        assertTrue(summary.getRejects().get(0).startsWith("line 5: amount must be positive"), summary.getRejects().toString());
+        assertTrue(summary.getRejects().get(3).startsWith("line 8: expected 3 fields"), summary.getRejects().toString());
+
+        List<Payment> payments = paymentRepository.findAll();
+        payments.sort(Comparator.comparing(Payment::getEmpId));
+        assertEquals(List.of(1L, 2L, 6L), payments.stream().map(Payment::getEmpId).toList());
+        assertEquals(0, new BigDecimal("62736.50").compareTo(payments.get(1).getAmount()));
+        assertEquals(LocalDateTime.of(2025, 1, 6, 18, 36, 37), payments.get(1).getPaymentTime());
+        assertTrue(payments.get(0).isFirstDayOfMonth());
+    }
+
+    @Test
+    void testIngestNdjson_LoadsValidRowsAndReportsRejects() {
+        String ndjson = """
+            {"empId": 1, "amount": 65784.10, "paymentTime": "2025-01-01T13:44:12"}
+            {"empId": 2, "amount": "62736.00", "paymentTime": "2025-01-06T18:36:37", "paymentId": 999}
+            {"empId": 3, "amount": 100.00
+            {"empId": 4, "paymentTime": "2025-01-06T18:36:37"}
+            """;
+
+        PaymentIngestSummary summary = paymentIngestService.ingest(body(ndjson), PaymentIngestService.FORMAT_NDJSON);
+
+        assertEquals(4, summary.getRowsRead());
+        assertEquals(2, summary.getRowsLoaded());
+        assertEquals(2, summary.getRowsRejected());
+        assertTrue(summary.getRejects().get(0).startsWith("line 3: invalid JSON"), summary.getRejects().toString());
+        assertTrue(summary.getRejects().get(1).startsWith("line 4: empId, amount and paymentTime are required"));
+        assertTrue(paymentRepository.findAll().stream().noneMatch(p -> p.getPaymentId() == 999L));
+        assertTrue(paymentRepository.findAll().stream().anyMatch(p -> new BigDecimal("65784.10").compareTo(p.getAmount()) == 0));
+    }
+
+    @Test
+    void testIngest_CapsReportedRejects() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < PaymentIngestService.MAX_REPORTED_REJECTS + 50; i++) {
+            csv.append("1,0.00,2025-01-02T10:00:00\n");
+        }
+
+        PaymentIngestSummary summary = paymentIngestService.ingest(body(csv.toString()), PaymentIngestService.FORMAT_CSV);
+
+        assertEquals(PaymentIngestService.MAX_REPORTED_REJECTS + 50, summary.getRowsRejected());
+        assertEquals(PaymentIngestService.MAX_REPORTED_REJECTS, summary.getRejects().size());
+        assertEquals(0, summary.getRowsLoaded());
+    }
+
+    @Test
+    void testIngest_UnknownFormatThrows() {
+        assertThrows(IllegalArgumentException.class, () -> paymentIngestService.ingest(body(""), "xml"));
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
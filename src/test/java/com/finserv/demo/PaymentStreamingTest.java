@@ -0,0 +1,100 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentPage;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SalaryAnalysisService.class)
+class PaymentStreamingTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            // Every fifth payment falls on the 1st of the month
+            int day = i % 5 == 0 ? 1 : 2 + i % 20;
+            payments.add(new Payment((long) i, new BigDecimal(1000 + (i * 37) % 11), 
+                LocalDateTime.of(2025, 1 + i % 12, day, 10, 0)));
+        }
+        paymentRepository.saveAll(payments);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testStreamPaymentsNotOnFirstDay_SameRowsAndOrderAsList() {
+        List<Long> expectedIds = paymentRepository.findByPaymentTimeNotOnFirstDay().stream()
+            .map(Payment::getPaymentId)
+            .toList();
+        entityManager.clear();
+
+        List<Long> streamedIds = new ArrayList<>();
+        long count = salaryAnalysisService.streamPaymentsNotOnFirstDay(payment -> {
+            assertFalse(payment.isFirstDayOfMonth());
+            streamedIds.add(payment.getPaymentId());
+        });
+
+        assertEquals(20, count);
+        assertEquals(expectedIds, streamedIds);
+    }
+
+    @Test
+    void testStreamPaymentsNotOnFirstDay_DetachesStreamedEntities() {
+        List<Payment> streamed = new ArrayList<>();
+        salaryAnalysisService.streamPaymentsNotOnFirstDay(streamed::add);
+
+        assertFalse(streamed.isEmpty());
+        streamed.forEach(payment -> assertFalse(entityManager.contains(payment)));
+    }
+
+    @Test
+    void testKeysetPagination_VisitsEveryRowOnce() {
+        List<Long> visitedIds = new ArrayList<>();
+        long after = 0;
+        int pages = 0;
+        while (true) {
+            PaymentPage page = salaryAnalysisService.getPaymentsNotOnFirstDayAfter(after, 6);
+            page.getPayments().forEach(payment -> visitedIds.add(payment.getPaymentId()));
+            pages++;
+            if (page.getNextAfter() == null) {
+                break;
+            }
+            after = page.getNextAfter();
+        }
+
+        assertEquals(4, pages);
+        assertEquals(20, visitedIds.size());
+        assertEquals(visitedIds.stream().sorted().distinct().toList(), visitedIds);
+    }
+
+    @Test
+    void testKeysetPagination_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> salaryAnalysisService.getPaymentsNotOnFirstDayAfter(0, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> salaryAnalysisService.getPaymentsNotOnFirstDayAfter(0, SalaryAnalysisService.MAX_PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,181 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentRangePage;
+import com.finserv.demo.dto.PaymentRetentionResult;
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.DepartmentRepository;
+import com.finserv.demo.repository.EmployeeRepository;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.PaymentRetentionService;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the month-keyed time-range queries and the month retention against H2
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SalaryAnalysisService.class, PaymentRetentionService.class})
+class PaymentTimeRangeTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @Autowired
+    private PaymentRetentionService paymentRetentionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS payments_archive");
+        paymentRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+
+        Department department = departmentRepository.save(new Department("Finance"));
+        employee = employeeRepository.save(new Employee("Jane", "Doe", LocalDate.of(1990, 5, 20), "Female",
+            department.getDepartmentId()));
+
+        save("100.00", LocalDateTime.of(2025, 1, 15, 9, 0));
+        save("900.00", LocalDateTime.of(2025, 2, 1, 9, 0));   // 1st day
+        save("300.00", LocalDateTime.of(2025, 2, 10, 9, 0));
+        save("200.00", LocalDateTime.of(2025, 2, 10, 9, 0));  // same time, later ID
+        save("500.00", LocalDateTime.of(2025, 3, 5, 9, 0));
+        save("700.00", LocalDateTime.of(2025, 4, 2, 9, 0));
+    }
+
+    @Test
+    void testPaymentMonth_ComputedByDatabaseForEveryInsertPath() {
+        jdbcTemplate.update("INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) " +
+            "VALUES (999999, ?, 1.00, TIMESTAMP '2024-12-31 23:59:59', FALSE)", employee.getEmpId());
+
+        List<Integer> months = jdbcTemplate.queryForList(
+            "SELECT PAYMENT_MONTH FROM payments ORDER BY PAYMENT_TIME", Integer.class);
+
+        assertEquals(List.of(202412, 202501, 202502, 202502, 202502, 202503, 202504), months);
+        assertEquals(Integer.valueOf(202502), new Payment(1L, BigDecimal.ONE, LocalDateTime.of(2025, 2, 28, 23, 59))
+            .getPaymentMonth());
+    }
+
+    @Test
+    void testFindByPaymentTimeBetween_HalfOpenInTimeOrder() {
+        List<Payment> payments = paymentRepository.findByPaymentTimeBetween(
+            LocalDateTime.of(2025, 2, 1, 9, 0), LocalDateTime.of(2025, 3, 5, 9, 0), PageRequest.of(0, 10));
+
+        assertEquals(List.of("900.00", "300.00", "200.00"), amounts(payments));
+    }
+
+    @Test
+    void testGetPaymentsBetween_KeysetPagesCoverRangeOnce() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 1, 0, 0);
+        List<Payment> seen = new ArrayList<>();
+
+        PaymentRangePage page = salaryAnalysisService.getPaymentsBetween(from, to, null, null, 2);
+        seen.addAll(page.getPayments());
+        while (page.getNextAfterId() != null) {
+            page = salaryAnalysisService.getPaymentsBetween(from, to, page.getNextAfterTime(), page.getNextAfterId(), 2);
+            seen.addAll(page.getPayments());
+        }
+
+        assertEquals(List.of("100.00", "900.00", "300.00", "200.00", "500.00"), amounts(seen));
+    }
+
+    @Test
+    void testGetPaymentsBetween_RejectsInvalidRange() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> salaryAnalysisService.getPaymentsBetween(from, from, null, null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> salaryAnalysisService.getPaymentsBetween(from, from.plusYears(20), null, null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> salaryAnalysisService.getPaymentsBetween(from, from.plusDays(1), from, null, 10));
+    }
+
+    @Test
+    void testFindHighestSalaryNotOnFirstDayBetween_ComparesMonthWinners() {
+        SalaryAnalysisResult result = salaryAnalysisService.findHighestSalaryNotOnFirstDayBetween(
+            LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+
+        assertNotNull(result);
+        assertEquals(0, new BigDecimal("500.00").compareTo(result.getSalary()));
+        assertEquals("Jane Doe", result.getName());
+        assertNull(salaryAnalysisService.findHighestSalaryNotOnFirstDayBetween(
+            LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 2, 2, 0, 0)));
+    }
+
+    @Test
+    void testGetPaymentTotalsBetween_OnlyCountsRange() {
+        PaymentTotals totals = salaryAnalysisService.getPaymentTotalsBetween(
+            LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        assertEquals(3, totals.getPaymentCount());
+        assertEquals(2, totals.getPaymentCountNotFirstDay());
+        assertEquals(0, new BigDecimal("500.00").compareTo(totals.getTotalAmountNotFirstDay()));
+        assertEquals(0, new BigDecimal("900.00").compareTo(totals.getMaxAmount()));
+    }
+
+    @Test
+    void testRemovePaymentsBefore_ArchivesWholeMonths() {
+        PaymentRetentionResult result = paymentRetentionService.removePaymentsBefore(YearMonth.of(2025, 3), true);
+
+        assertEquals(List.of(202501, 202502), result.getMonths());
+        assertEquals(4, result.getRowsDeleted());
+        assertEquals(4, result.getRowsArchived());
+        assertEquals(2, paymentRepository.count());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments_archive", Integer.class));
+    }
+
+    @Test
+    void testRemovePaymentsBefore_WithoutArchive() {
+        PaymentRetentionResult result = paymentRetentionService.removePaymentsBefore(YearMonth.of(2025, 2), false);
+
+        assertEquals(List.of(202501), result.getMonths());
+        assertEquals(1, result.getRowsDeleted());
+        assertEquals(0, result.getRowsArchived());
+        assertEquals(5, paymentRepository.count());
+    }
+
+    private void save(String amount, LocalDateTime paymentTime) {
+        paymentRepository.save(new Payment(employee.getEmpId(), new BigDecimal(amount), paymentTime));
+    }
+
+    private static List<String> amounts(List<Payment> payments) {
+        return payments.stream().map(payment -> payment.getAmount().setScale(2).toPlainString()).toList();
+    }
+}
@@ -0,0 +1,193 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PayrollMonthTotals;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.entity.PayrollRollup;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.PayrollRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the MERGE-maintained payroll rollup against H2: inserts, updates, deletes,
+ * rollbacks and the GROUP BY rebuild must all leave it equal to the payments table
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PayrollRollupService.class)
+class PayrollRollupServiceTest {
+
+    private static final YearMonth FROM = YearMonth.of(2025, 1);
+    private static final YearMonth TO = YearMonth.of(2025, 12);
+
+    // Distinct (employee, month) cells written by the large transaction, past the early-apply threshold
+    private static final int CELLS = 1200;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PayrollRollupService payrollRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Payment highest;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.deleteAllInBatch();
+        payrollRollupService.rebuild();
+
+        save(1L, "100.00", LocalDateTime.of(2025, 1, 10, 9, 0));
+        highest = save(1L, "300.00", LocalDateTime.of(2025, 1, 20, 9, 0));
+        save(1L, "50.00", LocalDateTime.of(2025, 2, 1, 9, 0));
+        save(2L, "200.00", LocalDateTime.of(2025, 1, 15, 9, 0));
+    }
+
+    @Test
+    void testInserts_MaintainPerEmployeeMonthCells() {
+        List<PayrollRollup> history = payrollRollupService.getEmployeeHistory(1L, FROM, TO);
+
+        assertEquals(2, history.size());
+        assertCell(history.get(0), 202501, 2, "400.00", "300.00");
+        assertCell(history.get(1), 202502, 1, "50.00", "50.00");
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testMonthTotals_SumEmployeesPerMonth() {
+        List<PayrollMonthTotals> totals = payrollRollupService.getMonthTotals(FROM, TO);
+
+        assertEquals(2, totals.size());
+        assertEquals(202501, totals.get(0).getPaymentMonth());
+        assertEquals(2, totals.get(0).getEmployeeCount());
+        assertEquals(3, totals.get(0).getPaymentCount());
+        assertEquals(0, new BigDecimal("600.00").compareTo(totals.get(0).getTotalAmount()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(totals.get(0).getMaxAmount()));
+    }
+
+    @Test
+    void testDeleteOfMaximum_ReseeksOnRead() {
+        paymentRepository.delete(highest);
+
+        List<PayrollRollup> history = payrollRollupService.getEmployeeHistory(1L, FROM, FROM);
+
+        assertCell(history.get(0), 202501, 1, "100.00", "100.00");
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testDeleteOfLastPayment_DropsCell() {
+        Payment only = paymentRepository.findByEmpId(2L).get(0);
+
+        paymentRepository.delete(only);
+
+        assertTrue(payrollRollupService.getEmployeeHistory(2L, FROM, TO).isEmpty());
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testUpdate_MovesPaymentBetweenCells() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findById(highest.getPaymentId()).orElseThrow();
+            payment.setAmount(new BigDecimal("20.00"));
+            payment.setPaymentTime(LocalDateTime.of(2025, 3, 5, 9, 0));
+        });
+
+        List<PayrollRollup> history = payrollRollupService.getEmployeeHistory(1L, FROM, TO);
+
+        assertEquals(3, history.size());
+        assertCell(history.get(0), 202501, 1, "100.00", "100.00");
+        assertCell(history.get(2), 202503, 1, "20.00", "20.00");
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testRolledBackWrite_LeavesRollupUnchanged() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            paymentRepository.saveAndFlush(new Payment(1L, new BigDecimal("999.00"), LocalDateTime.of(2025, 1, 2, 9, 0)));
+            status.setRollbackOnly();
+        });
+
+        assertCell(payrollRollupService.getEmployeeHistory(1L, FROM, FROM).get(0), 202501, 2, "400.00", "300.00");
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testLargeTransaction_AppliedInBatchesBeforeCommit() {
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 3 * CELLS; i++) {
+            payments.add(new Payment((long) (i % CELLS), new BigDecimal(i % 97 + ".25"),
+                LocalDateTime.of(2025, 1 + i % 12, 3, 9, 0)));
+        }
+
+        paymentRepository.saveAll(payments);
+
+        assertEquals(12, payrollRollupService.getMonthTotals(FROM, TO).size());
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testRebuild_AfterWritesAroundJpa() {
+        jdbcTemplate.update("INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) " +
+            "VALUES (999999, 3, 75.00, TIMESTAMP '2025-04-04 09:00:00', FALSE)");
+
+        payrollRollupService.rebuild();
+
+        assertCell(payrollRollupService.getEmployeeHistory(3L, FROM, TO).get(0), 202504, 1, "75.00", "75.00");
+        assertMatchesPayments();
+    }
+
+    @Test
+    void testInvalidRange_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> payrollRollupService.getMonthTotals(TO, FROM));
+        assertThrows(IllegalArgumentException.class,
+            () -> payrollRollupService.getMonthTotals(FROM, FROM.plusYears(30)));
+    }
+
+    private Payment save(Long empId, String amount, LocalDateTime paymentTime) {
+        return paymentRepository.save(new Payment(empId, new BigDecimal(amount), paymentTime));
+    }
+
+    private static void assertCell(PayrollRollup cell, int month, long count, String total, String max) {
+        assertEquals(month, cell.getPaymentMonth());
+        assertEquals(count, cell.getPaymentCount());
+        assertEquals(0, new BigDecimal(total).compareTo(cell.getTotalAmount()), cell.toString());
+        assertEquals(0, new BigDecimal(max).compareTo(cell.getMaxAmount()), cell.toString());
+    }
+
+    /**
+     * Every rollup cell (after re-seeking stale maxima) equals the GROUP BY over payments
+     */
+    private void assertMatchesPayments() {
+        payrollRollupService.getMonthTotals(FROM, TO);
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(
+            "SELECT EMP_ID, PAYMENT_MONTH, COUNT(*) AS C, SUM(AMOUNT) AS T, MAX(AMOUNT) AS M FROM payments " +
+            "GROUP BY EMP_ID, PAYMENT_MONTH ORDER BY EMP_ID, PAYMENT_MONTH");
+        List<Map<String, Object>> actual = jdbcTemplate.queryForList(
+            "SELECT EMP_ID, PAYMENT_MONTH, PAYMENT_COUNT AS C, TOTAL_AMOUNT AS T, MAX_AMOUNT AS M FROM payroll_rollup " +
+            "ORDER BY EMP_ID, PAYMENT_MONTH");
+        assertEquals(expected, actual);
+    }
+}
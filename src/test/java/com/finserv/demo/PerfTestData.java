@@ -0,0 +1,46 @@
+package com.finserv.demo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+/**
+ * Synthetic data and latency helpers shared by the perf-tagged tests.
+ * Rows are generated inside H2 with SYSTEM_RANGE, so seeding 1M payments takes seconds.
+ */
+final class PerfTestData {
+
+    private PerfTestData() {}
+
+    /**
+     * Insert departments, employees and payments with explicit ids starting at 1.
+     * One payment every 3 minutes from 2020 onwards, so roughly 1 in 30 lands on the 1st
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int departments, int employees, int payments) {
+        jdbcTemplate.update(
+            "INSERT INTO departments (DEPARTMENT_ID, DEPARTMENT_NAME) " +
+            "SELECT X, 'Department ' || X FROM SYSTEM_RANGE(1, ?)",
+            departments);
+        jdbcTemplate.update(
+            "INSERT INTO employees (EMP_ID, FIRST_NAME, LAST_NAME, DOB, GENDER, DEPARTMENT) " +
+            "SELECT X, 'First' || X, 'Last' || X, DATEADD(DAY, -MOD(X * 37, 15000), DATE '2004-01-01'), " +
+            "CASE WHEN MOD(X, 2) = 0 THEN 'Female' ELSE 'Male' END, MOD(X, ?) + 1 FROM SYSTEM_RANGE(1, ?)",
+            departments, employees);
+        jdbcTemplate.update(
+            "INSERT INTO payments (PAYMENT_ID, EMP_ID, AMOUNT, PAYMENT_TIME, IS_FIRST_DAY) " +
+            "SELECT X, MOD(X, ?) + 1, CAST(MOD(X * 7919, 100000) + 1000 AS NUMERIC(38, 2)), T, DAY_OF_MONTH(T) = 1 " +
+            "FROM (SELECT X, DATEADD(MINUTE, X * 3, TIMESTAMP '2020-01-01 00:00:00') AS T FROM SYSTEM_RANGE(1, ?))",
+            employees, payments);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Value at the given percentile (0-100) of the recorded samples, nearest-rank method
+     */
+    static long percentile(long[] samples, double percentile) {
+        long[] sorted = Arrays.copyOf(samples, samples.length);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
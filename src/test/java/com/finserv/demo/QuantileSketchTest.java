@@ -0,0 +1,92 @@
+package com.finserv.demo;
+
+import com.finserv.demo.util.QuantileSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.005;
+    private static final double[] QUANTILES = {0, 0.01, 0.25, 0.5, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    void testQuantilesWithinRelativeAccuracy() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal, like salaries: a long right tail
+            values[i] = Math.round(6_500_000 * Math.exp(0.35 * gaussian(random)));
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : QUANTILES) {
+            double exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * ACCURACY, "q=" + q);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertEquals(values[0], sketch.getMin());
+        assertEquals(values[values.length - 1], sketch.getMax());
+    }
+
+    @Test
+    void testMergeEqualsSinglePass() {
+        SplittableRandom random = new SplittableRandom(7);
+        QuantileSketch whole = new QuantileSketch(ACCURACY);
+        QuantileSketch[] parts = new QuantileSketch[8];
+        Arrays.setAll(parts, i -> new QuantileSketch(ACCURACY));
+        for (int i = 0; i < 50_000; i++) {
+            double value = 1 + random.nextDouble() * random.nextDouble() * 1_000_000;
+            whole.add(value);
+            parts[i % parts.length].add(value);
+        }
+
+        QuantileSketch merged = new QuantileSketch(ACCURACY);
+        for (QuantileSketch part : parts) {
+            merged.merge(part);
+        }
+
+        for (double q : QUANTILES) {
+            assertEquals(whole.quantile(q), merged.quantile(q), "q=" + q);
+        }
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMin(), merged.getMin());
+        assertEquals(whole.getMax(), merged.getMax());
+    }
+
+    @Test
+    void testNegativeZeroAndPositiveValuesInOrder() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (double value : new double[] {-500, -2, 0, 0, 3, 1_000}) {
+            sketch.add(value);
+        }
+
+        assertEquals(-500, sketch.quantile(0));
+        assertEquals(-2, sketch.quantile(0.2), 2 * ACCURACY);
+        assertEquals(0, sketch.quantile(0.4));
+        assertEquals(3, sketch.quantile(0.8), 3 * ACCURACY);
+        assertEquals(1_000, sketch.quantile(1));
+    }
+
+    @Test
+    void testEmptySketchAndInvalidArguments() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertTrue(Double.isNaN(sketch.getMax()));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new QuantileSketch(0.01)));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
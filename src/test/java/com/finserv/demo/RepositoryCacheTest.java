@@ -0,0 +1,131 @@
+package com.finserv.demo;
+
+import com.finserv.demo.config.CacheConfig;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.repository.DepartmentRepository;
+import com.finserv.demo.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Employee and department lookups through the Caffeine caches: hits, write
+ * invalidation, the size bound and the cache.* metrics
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CacheConfig.class)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+    SimpleMetricsExportAutoConfiguration.class, CacheMetricsAutoConfiguration.class})
+@DataJpaTest(properties = {
+    "spring.cache.cache-names=employees,departments",
+    "spring.cache.caffeine.spec=maximumSize=3,recordStats"
+})
+class RepositoryCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(new Department("HR"));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testFindById_SecondLookupIsCached() {
+        Employee saved = employeeRepository.save(employee("John"));
+        double misses = gets(CacheConfig.EMPLOYEES_CACHE, "miss");
+        double hits = gets(CacheConfig.EMPLOYEES_CACHE, "hit");
+
+        employeeRepository.findById(saved.getEmpId());
+        employeeRepository.findById(saved.getEmpId());
+
+        // Statistics are cumulative for the cache's lifetime, so compare against the start
+        assertEquals(misses + 1, gets(CacheConfig.EMPLOYEES_CACHE, "miss"));
+        assertEquals(hits + 1, gets(CacheConfig.EMPLOYEES_CACHE, "hit"));
+        assertNotNull(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(saved.getEmpId()));
+    }
+
+    @Test
+    void testSave_EvictsStaleEntry() {
+        Employee saved = employeeRepository.save(employee("John"));
+        employeeRepository.findById(saved.getEmpId());
+
+        saved.setFirstName("Jack");
+        employeeRepository.save(saved);
+
+        assertEquals("Jack", employeeRepository.findById(saved.getEmpId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void testDelete_EvictsAndMissesAreNotCached() {
+        employeeRepository.findById(department.getDepartmentId());
+        departmentRepository.findById(department.getDepartmentId());
+
+        departmentRepository.deleteById(department.getDepartmentId());
+
+        assertTrue(departmentRepository.findById(department.getDepartmentId()).isEmpty());
+        assertNull(cacheManager.getCache(CacheConfig.DEPARTMENTS_CACHE).get(department.getDepartmentId()));
+        assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(department.getDepartmentId()));
+    }
+
+    @Test
+    void testSizeBound_EvictsAndReportsEvictions() {
+        for (int i = 0; i < 10; i++) {
+            employeeRepository.findById(employeeRepository.save(employee("E" + i)).getEmpId());
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache = (com.github.benmanes.caffeine.cache.Cache<?, ?>)
+            cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).getNativeCache();
+        nativeCache.cleanUp();
+
+        assertTrue(nativeCache.estimatedSize() <= 3);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", CacheConfig.EMPLOYEES_CACHE)
+            .functionCounter().count() > 0);
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+
+    private Employee employee(String firstName) {
+        return new Employee(firstName, "Doe", LocalDate.of(1990, 1, 1), "M", department.getDepartmentId());
+    }
+}
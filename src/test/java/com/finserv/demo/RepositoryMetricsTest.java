@@ -0,0 +1,112 @@
+package com.finserv.demo;
+
+import com.finserv.demo.config.RepositoryMetricsConfig;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.orm.jpa.HibernateMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository calls produce row-count summaries and latency timers tagged by method,
+ * and Hibernate statistics are published as hibernate.* meters
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(RepositoryMetricsConfig.class)
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+    SimpleMetricsExportAutoConfiguration.class, RepositoryMetricsAutoConfiguration.class,
+    HibernateMetricsAutoConfiguration.class})
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "management.metrics.distribution.percentiles.spring.data.repository.invocations=0.5,0.95,0.99"
+})
+class RepositoryMetricsTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.deleteAllInBatch();
+        paymentRepository.save(new Payment(1L, new BigDecimal("70.00"), LocalDateTime.of(2025, 3, 2, 9, 0)));
+        paymentRepository.save(new Payment(1L, new BigDecimal("30.00"), LocalDateTime.of(2025, 3, 3, 9, 0)));
+        paymentRepository.save(new Payment(2L, new BigDecimal("90.00"), LocalDateTime.of(2025, 3, 1, 9, 0)));
+    }
+
+    @Test
+    void testRowCounts_TaggedByRepositoryAndMethod() {
+        paymentRepository.findByPaymentTimeNotOnFirstDay();
+        paymentRepository.findByEmpId(2L);
+        paymentRepository.findByEmpId(99L);
+
+        DistributionSummary notFirstDay = rows("findByPaymentTimeNotOnFirstDay");
+        assertEquals(1, notFirstDay.count());
+        assertEquals(2, notFirstDay.totalAmount());
+
+        DistributionSummary byEmpId = rows("findByEmpId");
+        assertEquals(2, byEmpId.count());
+        assertEquals(1, byEmpId.totalAmount());
+        assertEquals(1, byEmpId.max());
+    }
+
+    @Test
+    void testRowCounts_PrimitiveResultsNotRecorded() {
+        paymentRepository.count();
+
+        assertNull(meterRegistry.find(RepositoryMetricsConfig.ROWS_METRIC).tag("method", "count").summary());
+    }
+
+    @Test
+    void testRepositoryTimer_WithPercentiles() {
+        paymentRepository.findMaxAmountNotOnFirstDay();
+
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+            .tag("repository", "PaymentRepository")
+            .tag("method", "findMaxAmountNotOnFirstDay")
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(3, timer.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void testHibernateStatistics_Published() {
+        double before = meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count();
+
+        paymentRepository.findByPaymentTimeNotOnFirstDay();
+
+        double after = meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count();
+        assertTrue(after > before, before + " -> " + after);
+        assertNotNull(meterRegistry.find("hibernate.entities.loads").functionCounter());
+    }
+
+    private DistributionSummary rows(String method) {
+        DistributionSummary summary = meterRegistry.find(RepositoryMetricsConfig.ROWS_METRIC)
+            .tag("repository", "PaymentRepository")
+            .tag("method", method)
+            .summary();
+        assertNotNull(summary, method);
+        return summary;
+    }
+}
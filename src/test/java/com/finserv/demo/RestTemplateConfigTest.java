@@ -0,0 +1,90 @@
+package com.finserv.demo;
+
+import com.finserv.demo.config.RestTemplateConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.observation.web.client.HttpClientObservationsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The configured RestTemplate against a local stub: connection reuse, read timeout,
+ * and the latency and pool metrics it publishes
+ */
+@SpringBootTest(classes = RestTemplateConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = "finserv.http.read-timeout=300ms")
+@ImportAutoConfiguration({RestTemplateAutoConfiguration.class, MetricsAutoConfiguration.class,
+    CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+    ObservationAutoConfiguration.class, HttpClientObservationsAutoConfiguration.class})
+class RestTemplateConfigTest {
+
+    private static StubHttpServer stub;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        stub = new StubHttpServer();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stub.reset();
+        stub.setDelayMillis(0);
+    }
+
+    @Test
+    void testSequentialCalls_ReuseOneConnection() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals("pong", restTemplate.getForObject(stub.url(), String.class));
+        }
+
+        assertEquals(20, stub.requests());
+        assertEquals(1, stub.connections());
+    }
+
+    @Test
+    void testSlowResponse_FailsAtReadTimeout() {
+        stub.setDelayMillis(1000);
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(stub.url(), String.class));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 900, "timed out after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testMetrics_RequestLatencyAndPool() {
+        restTemplate.getForObject(stub.url(), String.class);
+
+        assertTrue(meterRegistry.get("http.client.requests").timer().count() > 0);
+        assertEquals(50, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertNotNull(meterRegistry.get("httpcomponents.httpclient.pool.total.connections").tag("state", "leased").gauge());
+        assertEquals(0, meterRegistry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+    }
+}
@@ -0,0 +1,107 @@
+package com.finserv.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finserv.demo.controller.SalaryAnalysisController;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.service.DepartmentStatsService;
+import com.finserv.demo.service.PaymentRetentionService;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks the NDJSON framing of /api/salary/payments-not-first-day/stream
+ */
+@WebMvcTest(SalaryAnalysisController.class)
+class SalaryAnalysisControllerStreamingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @MockitoBean
+    private PaymentRetentionService paymentRetentionService;
+
+    @MockitoBean
+    private DepartmentStatsService departmentStatsService;
+
+    @Test
+    void testStream_OneJsonObjectPerLineWithTrailingNewline() throws Exception {
+        List<Payment> payments = List.of(
+            payment(16L, "74998.00", LocalDateTime.of(2025, 3, 2, 9, 27, 26)),
+            payment(13L, "72984.00", LocalDateTime.of(2025, 3, 5, 9, 37, 35)),
+            payment(7L, "70837.00", LocalDateTime.of(2025, 2, 3, 19, 11, 31)));
+        stubStream(payments);
+
+        String body = streamBody();
+
+        assertTrue(body.endsWith("\n"), body);
+        String[] lines = body.substring(0, body.length() - 1).split("\n", -1);
+        assertEquals(payments.size(), lines.length, body);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode node = objectMapper.readTree(lines[i]);
+            assertTrue(node.isObject(), lines[i]);
+            assertEquals(payments.get(i).getPaymentId(), node.get("paymentId").asLong());
+            assertEquals(0, payments.get(i).getAmount().compareTo(node.get("amount").decimalValue()));
+            assertEquals("2025-0" + payments.get(i).getPaymentTime().getMonthValue(), 
+                node.get("paymentTime").asText().substring(0, 7));
+        }
+    }
+
+    @Test
+    void testStream_EmptyResultHasEmptyBody() throws Exception {
+        stubStream(List.of());
+
+        assertEquals("", streamBody());
+    }
+
+    private String streamBody() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/salary/payments-not-first-day/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStream(List<Payment> payments) {
+        when(salaryAnalysisService.streamPaymentsNotOnFirstDay(any())).thenAnswer(invocation -> {
+            Consumer<Payment> action = invocation.getArgument(0);
+            payments.forEach(action);
+            return (long) payments.size();
+        });
+    }
+
+    private static Payment payment(Long paymentId, String amount, LocalDateTime paymentTime) {
+        Payment payment = new Payment(1L, new BigDecimal(amount), paymentTime);
+        payment.setPaymentId(paymentId);
+        return payment;
+    }
+}
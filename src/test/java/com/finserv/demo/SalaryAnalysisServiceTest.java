@@ -1,11 +1,13 @@
 package com.finserv.demo;
 
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisReport;
 import com.finserv.demo.dto.SalaryAnalysisResult;
+import com.finserv.demo.dto.SalaryAnalysisRow;
+import com.finserv.demo.dto.SalaryMetric;
 import com.finserv.demo.entity.Department;
 import com.finserv.demo.entity.Employee;
 import com.finserv.demo.entity.Payment;
-import com.finserv.demo.repository.DepartmentRepository;
-import com.finserv.demo.repository.EmployeeRepository;
 import com.finserv.demo.repository.PaymentRepository;
 import com.finserv.demo.service.SalaryAnalysisService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,14 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,18 +36,13 @@ class SalaryAnalysisServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
-    @Mock
-    private EmployeeRepository employeeRepository;
-
-    @Mock
-    private DepartmentRepository departmentRepository;
-
     @InjectMocks
     private SalaryAnalysisService salaryAnalysisService;
 
     private Payment testPayment;
     private Employee testEmployee;
     private Department testDepartment;
+    private SalaryAnalysisRow testRow;
 
     @BeforeEach
     void setUp() {
@@ -55,17 +56,17 @@ class SalaryAnalysisServiceTest {
         testPayment = new Payment(1L, new BigDecimal("74998.00"), 
             LocalDateTime.of(2025, 3, 2, 9, 27, 26, 162000000));
         testPayment.setPaymentId(16L);
+
+        testRow = new SalaryAnalysisRow(testPayment.getPaymentId(), testPayment.getAmount(), 
+            testEmployee.getEmpId(), testEmployee.getFirstName(), testEmployee.getLastName(), 
+            testEmployee.getDob(), testDepartment.getDepartmentId(), testDepartment.getDepartmentName());
     }
 
     @Test
     void testFindHighestSalaryNotOnFirstDay_Success() {
         // Given
-        when(paymentRepository.findHighestPaymentNotOnFirstDay())
-            .thenReturn(Optional.of(testPayment));
-        when(employeeRepository.findById(1L))
-            .thenReturn(Optional.of(testEmployee));
-        when(departmentRepository.findById(3L))
-            .thenReturn(Optional.of(testDepartment));
+        when(paymentRepository.findHighestSalaryNotOnFirstDay())
+            .thenReturn(Optional.of(testRow));
 
         // When
         SalaryAnalysisResult result = salaryAnalysisService.findHighestSalaryNotOnFirstDay();
@@ -74,18 +75,16 @@ class SalaryAnalysisServiceTest {
         assertNotNull(result);
         assertEquals(new BigDecimal("74998.00"), result.getSalary());
         assertEquals("John Williams", result.getName());
-        assertEquals(44, result.getAge()); // 2025 - 1980 = 45, but depends on current date
+        assertEquals((int) ChronoUnit.YEARS.between(testEmployee.getDob(), LocalDate.now()), result.getAge());
         assertEquals("Engineering", result.getDepartmentName());
 
-        verify(paymentRepository).findHighestPaymentNotOnFirstDay();
-        verify(employeeRepository).findById(1L);
-        verify(departmentRepository).findById(3L);
+        verify(paymentRepository).findHighestSalaryNotOnFirstDay();
     }
 
     @Test
     void testFindHighestSalaryNotOnFirstDay_NoPaymentFound() {
         // Given
-        when(paymentRepository.findHighestPaymentNotOnFirstDay())
+        when(paymentRepository.findHighestSalaryNotOnFirstDay())
             .thenReturn(Optional.empty());
 
         // When
@@ -93,47 +92,37 @@ class SalaryAnalysisServiceTest {
 
         // Then
         assertNull(result);
-        verify(paymentRepository).findHighestPaymentNotOnFirstDay();
-        verify(employeeRepository, never()).findById(any());
-        verify(departmentRepository, never()).findById(any());
+        verify(paymentRepository).findHighestSalaryNotOnFirstDay();
     }
 
     @Test
     void testFindHighestSalaryNotOnFirstDay_EmployeeNotFound() {
-        // Given
-        when(paymentRepository.findHighestPaymentNotOnFirstDay())
-            .thenReturn(Optional.of(testPayment));
-        when(employeeRepository.findById(1L))
-            .thenReturn(Optional.empty());
+        // Given: the outer join found no employee for the highest payment
+        when(paymentRepository.findHighestSalaryNotOnFirstDay())
+            .thenReturn(Optional.of(new SalaryAnalysisRow(16L, new BigDecimal("74998.00"), 
+                null, null, null, null, null, null)));
 
         // When
         SalaryAnalysisResult result = salaryAnalysisService.findHighestSalaryNotOnFirstDay();
 
         // Then
         assertNull(result);
-        verify(paymentRepository).findHighestPaymentNotOnFirstDay();
-        verify(employeeRepository).findById(1L);
-        verify(departmentRepository, never()).findById(any());
+        verify(paymentRepository).findHighestSalaryNotOnFirstDay();
     }
 
     @Test
     void testFindHighestSalaryNotOnFirstDay_DepartmentNotFound() {
-        // Given
-        when(paymentRepository.findHighestPaymentNotOnFirstDay())
-            .thenReturn(Optional.of(testPayment));
-        when(employeeRepository.findById(1L))
-            .thenReturn(Optional.of(testEmployee));
-        when(departmentRepository.findById(3L))
-            .thenReturn(Optional.empty());
+        // Given: the outer join found the employee but not the department
+        when(paymentRepository.findHighestSalaryNotOnFirstDay())
+            .thenReturn(Optional.of(new SalaryAnalysisRow(16L, new BigDecimal("74998.00"), 
+                1L, "John", "Williams", LocalDate.of(1980, 5, 15), null, null)));
 
         // When
         SalaryAnalysisResult result = salaryAnalysisService.findHighestSalaryNotOnFirstDay();
 
         // Then
         assertNull(result);
-        verify(paymentRepository).findHighestPaymentNotOnFirstDay();
-        verify(employeeRepository).findById(1L);
-        verify(departmentRepository).findById(3L);
+        verify(paymentRepository).findHighestSalaryNotOnFirstDay();
     }
 
     @Test
@@ -144,9 +133,9 @@ class SalaryAnalysisServiceTest {
         // Then
         assertNotNull(sqlQuery);
         assertTrue(sqlQuery.contains("SELECT"));
-        assertTrue(sqlQuery.contains("PAYMENTS"));
-        assertTrue(sqlQuery.contains("EMPLOYEE"));
-        assertTrue(sqlQuery.contains("DEPARTMENT"));
+        assertTrue(sqlQuery.contains("FROM payments p"));
+        assertTrue(sqlQuery.contains("JOIN employees e"));
+        assertTrue(sqlQuery.contains("JOIN departments d"));
         assertTrue(sqlQuery.contains("DAY(p.PAYMENT_TIME) != 1"));
         assertTrue(sqlQuery.contains("ORDER BY p.AMOUNT DESC"));
         assertTrue(sqlQuery.contains("LIMIT 1"));
@@ -183,6 +172,52 @@ class SalaryAnalysisServiceTest {
         verify(paymentRepository).findByPaymentTimeNotOnFirstDay();
     }
 
+    @Test
+    void testGetTopPayments_ExcludeFirstDay() {
+        // Given
+        when(paymentRepository.findTopByFirstDayOfMonth(false, PageRequest.of(0, 5)))
+            .thenReturn(List.of(testPayment));
+
+        // When
+        List<Payment> result = salaryAnalysisService.getTopPayments(5, true);
+
+        // Then
+        assertEquals(List.of(testPayment), result);
+        verify(paymentRepository, never()).findTopByFirstDayOfMonth(eq(true), any());
+    }
+
+    @Test
+    void testGetTopPayments_MergesBothPartitionsWithDeterministicTies() {
+        // Given
+        Payment firstDayTie = payment(3L, "74998.00", LocalDateTime.of(2025, 3, 1, 9, 0));
+        Payment firstDayLow = payment(4L, "100.00", LocalDateTime.of(2025, 4, 1, 9, 0));
+        Payment otherDayLow = payment(20L, "500.00", LocalDateTime.of(2025, 4, 2, 9, 0));
+        when(paymentRepository.findTopByFirstDayOfMonth(false, PageRequest.of(0, 2)))
+            .thenReturn(List.of(testPayment, otherDayLow));
+        when(paymentRepository.findTopByFirstDayOfMonth(true, PageRequest.of(0, 2)))
+            .thenReturn(List.of(firstDayTie, firstDayLow));
+
+        // When
+        List<Payment> result = salaryAnalysisService.getTopPayments(2, false);
+
+        // Then: equal amounts ordered by payment ID
+        assertEquals(List.of(firstDayTie, testPayment), result);
+    }
+
+    @Test
+    void testGetTopPayments_InvalidK() {
+        assertThrows(IllegalArgumentException.class, () -> salaryAnalysisService.getTopPayments(0, true));
+        assertThrows(IllegalArgumentException.class,
+            () -> salaryAnalysisService.getTopPayments(SalaryAnalysisService.MAX_TOP_K + 1, true));
+        verifyNoInteractions(paymentRepository);
+    }
+
+    private static Payment payment(Long paymentId, String amount, LocalDateTime paymentTime) {
+        Payment payment = new Payment(1L, new BigDecimal(amount), paymentTime);
+        payment.setPaymentId(paymentId);
+        return payment;
+    }
+
     @Test
     void testGetMaxAmountNotOnFirstDay() {
         // Given
@@ -197,4 +232,70 @@ class SalaryAnalysisServiceTest {
         assertEquals(expectedAmount, result);
         verify(paymentRepository).findMaxAmountNotOnFirstDay();
     }
+
+    @Test
+    void testAnalyze_DashboardMetricsShareOneTotalsQuery() {
+        // Given
+        when(paymentRepository.findPaymentTotals()).thenReturn(new PaymentTotals(
+            4L, new BigDecimal("300.00"), new BigDecimal("120.00"),
+            3L, new BigDecimal("200.00"), new BigDecimal("90.00")));
+        when(paymentRepository.findHighestSalaryNotOnFirstDay()).thenReturn(Optional.of(testRow));
+
+        // When
+        SalaryAnalysisReport report = salaryAnalysisService.analyze(List.of(
+            SalaryMetric.MAX_AMOUNT_NOT_FIRST_DAY,
+            SalaryMetric.PAYMENT_COUNT_NOT_FIRST_DAY,
+            SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY,
+            SalaryMetric.HIGHEST_SALARY_NOT_FIRST_DAY,
+            SalaryMetric.MAX_AMOUNT_NOT_FIRST_DAY));
+
+        // Then
+        assertEquals(List.of(SalaryMetric.MAX_AMOUNT_NOT_FIRST_DAY, SalaryMetric.PAYMENT_COUNT_NOT_FIRST_DAY,
+                SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY, SalaryMetric.HIGHEST_SALARY_NOT_FIRST_DAY),
+            List.copyOf(report.getMetrics().keySet()));
+        assertEquals(new BigDecimal("90.00"), report.getMetrics().get(SalaryMetric.MAX_AMOUNT_NOT_FIRST_DAY));
+        assertEquals(3L, report.getMetrics().get(SalaryMetric.PAYMENT_COUNT_NOT_FIRST_DAY));
+        assertEquals(new BigDecimal("66.67"), report.getMetrics().get(SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY));
+        assertEquals("John Williams",
+            ((SalaryAnalysisResult) report.getMetrics().get(SalaryMetric.HIGHEST_SALARY_NOT_FIRST_DAY)).getName());
+
+        verify(paymentRepository, times(1)).findPaymentTotals();
+        verify(paymentRepository, never()).findByPaymentTimeNotOnFirstDay();
+        verify(paymentRepository, never()).findMaxAmountNotOnFirstDay();
+    }
+
+    @Test
+    void testAnalyze_HighestSalaryOnlySkipsTotalsScan() {
+        // Given
+        when(paymentRepository.findHighestSalaryNotOnFirstDay()).thenReturn(Optional.of(testRow));
+
+        // When
+        SalaryAnalysisReport report = salaryAnalysisService.analyze(List.of(SalaryMetric.HIGHEST_SALARY_NOT_FIRST_DAY));
+
+        // Then
+        assertNotNull(report.getMetrics().get(SalaryMetric.HIGHEST_SALARY_NOT_FIRST_DAY));
+        verify(paymentRepository, never()).findPaymentTotals();
+    }
+
+    @Test
+    void testAnalyze_EmptyTableAverageIsNull() {
+        // Given
+        when(paymentRepository.findPaymentTotals()).thenReturn(new PaymentTotals(0L, null, null, 0L, null, null));
+
+        // When
+        SalaryAnalysisReport report = salaryAnalysisService.analyze(List.of(
+            SalaryMetric.PAYMENT_COUNT, SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY));
+
+        // Then
+        assertEquals(0L, report.getMetrics().get(SalaryMetric.PAYMENT_COUNT));
+        assertTrue(report.getMetrics().containsKey(SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY));
+        assertNull(report.getMetrics().get(SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY));
+    }
+
+    @Test
+    void testAnalyze_NoMetrics() {
+        assertThrows(IllegalArgumentException.class, () -> salaryAnalysisService.analyze(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> salaryAnalysisService.analyze(null));
+        verifyNoInteractions(paymentRepository);
+    }
 }
@@ -0,0 +1,86 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.PaymentTotals;
+import com.finserv.demo.dto.SalaryAnalysisReport;
+import com.finserv.demo.dto.SalaryMetric;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SalaryAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the conditional-aggregate totals query against H2 and checks that every
+ * aggregate metric of a composite analysis comes from one statement
+ */
+@DataJpaTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.finserv.demo.CapturingStatementInspector")
+@Import(SalaryAnalysisService.class)
+class SalaryAnalyzeQueryTest {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SalaryAnalysisService salaryAnalysisService;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository.deleteAllInBatch();
+        paymentRepository.save(new Payment(1L, new BigDecimal("70.00"), LocalDateTime.of(2025, 3, 2, 9, 0)));
+        paymentRepository.save(new Payment(1L, new BigDecimal("30.50"), LocalDateTime.of(2025, 3, 3, 9, 0)));
+        // On the 1st day: counted overall only
+        paymentRepository.save(new Payment(2L, new BigDecimal("90.00"), LocalDateTime.of(2025, 3, 1, 9, 0)));
+        paymentRepository.flush();
+    }
+
+    @Test
+    void testFindPaymentTotals_ConditionalAggregates() {
+        PaymentTotals totals = paymentRepository.findPaymentTotals();
+
+        assertEquals(3, totals.getPaymentCount());
+        assertEquals(0, new BigDecimal("190.50").compareTo(totals.getTotalAmount()));
+        assertEquals(0, new BigDecimal("90.00").compareTo(totals.getMaxAmount()));
+        assertEquals(2, totals.getPaymentCountNotFirstDay());
+        assertEquals(0, new BigDecimal("100.50").compareTo(totals.getTotalAmountNotFirstDay()));
+        assertEquals(0, new BigDecimal("70.00").compareTo(totals.getMaxAmountNotFirstDay()));
+    }
+
+    @Test
+    void testFindPaymentTotals_EmptyTable() {
+        paymentRepository.deleteAllInBatch();
+
+        PaymentTotals totals = paymentRepository.findPaymentTotals();
+
+        assertEquals(0, totals.getPaymentCount());
+        assertEquals(0, totals.getPaymentCountNotFirstDay());
+        assertNull(totals.getTotalAmount());
+        assertNull(totals.getMaxAmountNotFirstDay());
+    }
+
+    @Test
+    void testAnalyze_AllAggregateMetricsInOneStatement() {
+        List<SalaryMetric> aggregates = List.of(SalaryMetric.values()).stream()
+            .filter(SalaryMetric::isFromTotals)
+            .toList();
+        AtomicReference<SalaryAnalysisReport> report = new AtomicReference<>();
+
+        List<String> statements = CapturingStatementInspector.statementsOf(
+            () -> report.set(salaryAnalysisService.analyze(aggregates)));
+
+        assertEquals(1, statements.size(), statements.toString());
+        assertEquals(aggregates.size(), report.get().getMetrics().size());
+        assertEquals(0, new BigDecimal("50.25").compareTo(
+            (BigDecimal) report.get().getMetrics().get(SalaryMetric.AVERAGE_AMOUNT_NOT_FIRST_DAY)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SeedFileLoadService;
+import com.finserv.demo.util.MappedCsvReader;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads a generated 1M-row payments file through SeedFileLoadService and reports rows/s
+ * and MB/s, next to a parse-only pass over the same file that shows how little of the
+ * load time goes to reading: the rest is H2 inserting rows and maintaining indexes.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SeedFileLoadService.class)
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.SeedFileLoadBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class SeedFileLoadBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedFileLoadBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private SeedFileLoadService seedFileLoadService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void loadMillionRowFile() throws IOException {
+        Path file = generate(Path.of("target/perf/seed-payments.csv"));
+        double megabytes = Files.size(file) / (1024.0 * 1024.0);
+
+        long start = System.nanoTime();
+        long checksum = 0;
+        try (MappedCsvReader reader = new MappedCsvReader(file)) {
+            reader.nextLine();
+            while (reader.nextLine()) {
+                checksum += reader.nextLong() + reader.nextDecimal(2) + reader.nextDateTime().getDayOfMonth();
+            }
+        }
+        long parseMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        assertTrue(checksum > 0);
+
+        BulkLoadSummary summary = seedFileLoadService.loadPayments(file);
+        assertEquals(ROWS, summary.getRowsLoaded());
+        assertEquals(ROWS, paymentRepository.count());
+
+        logger.info("parse only: {} MB in {} ms, {} rows/s, {} MB/s",
+            Math.round(megabytes), parseMillis, ROWS * 1000L / parseMillis, Math.round(megabytes * 1000 / parseMillis));
+        logger.info("load:       {} MB in {} ms, {} rows/s, {} MB/s",
+            Math.round(megabytes), summary.getElapsedMillis(), summary.getRowsPerSecond(),
+            Math.round(megabytes * 1000 / Math.max(1, summary.getElapsedMillis())));
+    }
+
+    private static Path generate(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write("empId,amount,paymentTime\n");
+            for (int row = 1; row <= ROWS; row++) {
+                writer.write((row % 100 + 1) + "," + (1000 + row % 99_991) + ".25,2025-0" + (1 + row % 9)
+                    + "-" + (10 + row % 18) + "T10:00:00\n");
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,111 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.BulkLoadSummary;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.entity.Payment;
+import com.finserv.demo.repository.EmployeeRepository;
+import com.finserv.demo.repository.PaymentRepository;
+import com.finserv.demo.service.SeedFileLoadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seed files loaded over JDBC with sequence-reserved IDs, then mixed with JPA saves
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SeedFileLoadService.class)
+@DataJpaTest(properties = "finserv.bulk-load.chunk-size=70")
+class SeedFileLoadServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private SeedFileLoadService seedFileLoadService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testLoadPayments_LoadsEveryRowInChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("empId,amount,paymentTime\n");
+        for (int i = 1; i <= 200; i++) {
+            csv.append(i % 5 + 1).append(',').append(i).append(".50,2025-03-").append(i % 2 == 0 ? "01" : "15").append("T09:00:00\n");
+        }
+
+        BulkLoadSummary summary = seedFileLoadService.loadPayments(write(csv.toString()));
+
+        assertEquals(200, summary.getRowsLoaded());
+        assertEquals(3, summary.getChunks());
+        List<Payment> payments = paymentRepository.findAll();
+        assertEquals(200, payments.size());
+        assertEquals(100, payments.stream().filter(Payment::isFirstDayOfMonth).count());
+        assertTrue(payments.stream().anyMatch(p -> p.getAmount().compareTo(new BigDecimal("200.50")) == 0));
+    }
+
+    @Test
+    void testLoadPayments_JpaSavesAfterwardsGetFreshIds() throws IOException {
+        seedFileLoadService.loadPayments(write("1,10.00,2025-01-02T10:00:00\n2,20.00,2025-01-03T10:00:00\n"));
+
+        Payment saved = paymentRepository.save(new Payment(3L, new BigDecimal("30.00"), LocalDateTime.of(2025, 1, 4, 10, 0)));
+        seedFileLoadService.loadPayments(write("4,40.00,2025-01-05T10:00:00\n"));
+
+        assertNotNull(saved.getPaymentId());
+        assertEquals(4, paymentRepository.count());
+    }
+
+    @Test
+    void testLoadPayments_MalformedLineFailsWithLineNumber() throws IOException {
+        Path file = write("1,10.00,2025-01-02T10:00:00\n2,ten,2025-01-03T10:00:00\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> seedFileLoadService.loadPayments(file));
+        assertTrue(e.getMessage().startsWith("line 2"), e.getMessage());
+    }
+
+    @Test
+    void testLoadEmployees() throws IOException {
+        Path file = write("firstName,lastName,dob,gender,department\nJohn,Doe,1990-01-15,M,1\nJane,Roe,1992-07-01,F,2\n");
+
+        BulkLoadSummary summary = seedFileLoadService.loadEmployees(file);
+        Employee saved = employeeRepository.save(new Employee("Max", "Moe", LocalDate.of(1980, 1, 1), "M", 1L));
+
+        assertEquals(2, summary.getRowsLoaded());
+        assertEquals(3, employeeRepository.count());
+        Employee john = employeeRepository.findAll().stream()
+            .filter(e -> "John".equals(e.getFirstName())).findFirst().orElseThrow();
+        assertEquals(LocalDate.of(1990, 1, 15), john.getDob());
+        assertEquals(1L, john.getDepartment());
+        assertNotEquals(john.getEmpId(), saved.getEmpId());
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "seed", ".csv");
+        Files.writeString(file, content);
+        return file;
+    }
+}
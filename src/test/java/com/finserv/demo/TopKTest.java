@@ -0,0 +1,56 @@
+package com.finserv.demo;
+
+import com.finserv.demo.util.TopK;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void testKeepsHighestElementsBestFirst() {
+        TopK<Integer> topK = new TopK<>(3, Comparator.reverseOrder());
+
+        IntStream.of(5, 1, 9, 7, 3, 8).forEach(topK::offer);
+
+        assertEquals(3, topK.size());
+        assertEquals(List.of(9, 8, 7), topK.toSortedList());
+    }
+
+    @Test
+    void testMemoryStaysBoundedByK() {
+        TopK<Integer> topK = new TopK<>(10, Comparator.reverseOrder());
+
+        IntStream.range(0, 100_000).forEach(topK::offer);
+
+        assertEquals(10, topK.size());
+        assertEquals(99_999, topK.toSortedList().get(0));
+        assertEquals(99_990, topK.toSortedList().get(9));
+    }
+
+    @Test
+    void testTiesResolvedByRanking() {
+        // Rank by value descending, then by label ascending
+        Comparator<String[]> ranking = Comparator
+            .<String[], Integer>comparing(entry -> Integer.parseInt(entry[0]), Comparator.reverseOrder())
+            .thenComparing(entry -> entry[1]);
+        TopK<String[]> topK = new TopK<>(2, ranking);
+
+        topK.offer(new String[] {"5", "c"});
+        topK.offer(new String[] {"5", "a"});
+        topK.offer(new String[] {"5", "b"});
+
+        List<String[]> result = topK.toSortedList();
+        assertEquals("a", result.get(0)[1]);
+        assertEquals("b", result.get(1)[1]);
+    }
+
+    @Test
+    void testRejectsNonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<Integer>(0, Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,158 @@
+package com.finserv.demo;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * GET /api/salary/highest-not-first-day at 1k and 10k concurrent connections, with
+ * Tomcat's platform thread pool (200 threads) and with spring.threads.virtual.enabled.
+ * Every JDBC query is delayed by DB_LATENCY_MILLIS to stand in for a remote database;
+ * in-memory H2 alone answers in microseconds and no thread would ever block. Both modes
+ * get the same Hikari pool and Tomcat connection limits, so only the threading differs.
+ * The load client runs in its own JVM (see LoadClient) to stay under the per-process
+ * file descriptor limit at 10k connections.
+ *
+ * Run with: JAVA_HOME=<jdk 21> mvn test -Pjava21,perf -Dtest=VirtualThreadLoadTest
+ */
+@Tag("perf")
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final long DB_LATENCY_MILLIS = 50;
+    private static final int[] CONCURRENCY = {1_000, 10_000};
+    private static final int REQUESTS_PER_CONNECTION = 5;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                    + "/api/salary/highest-not-first-day";
+                load(url, 200, 2_000);
+                for (int concurrency : CONCURRENCY) {
+                    String[] result = load(url, concurrency, concurrency * REQUESTS_PER_CONNECTION);
+                    results.add(String.format("%-8s %6d connections: %6s requests/s, p50 %6s ms, p99 %6s ms, %s errors %s",
+                        virtual ? "virtual" : "platform", concurrency, result[1],
+                        Long.parseLong(result[2]) / 1000, Long.parseLong(result[3]) / 1000, result[4],
+                        result.length > 5 ? String.join(" ", List.of(result).subList(5, result.length)) : ""));
+                }
+            }
+        }
+        results.forEach(logger::info);
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+            .initializers(applicationContext -> applicationContext.getBeanFactory()
+                .addBeanPostProcessor(new DelayingDataSourcePostProcessor()))
+            // Command-line arguments, so they win over application.properties
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + (virtual ? "virtual" : "platform"),
+                "--spring.datasource.hikari.maximum-pool-size=1000",
+                "--spring.datasource.hikari.connection-timeout=60000",
+                "--server.tomcat.max-connections=12000",
+                "--server.tomcat.accept-count=2000",
+                "--finserv.webhook.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.finserv.demo=WARN",
+                "--logging.level.com.finserv.demo.VirtualThreadLoadTest=INFO",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        PerfTestData.seed(context.getBean(JdbcTemplate.class), 10, 1_000, 100_000);
+        return context;
+    }
+
+    /**
+     * @return RESULT line of the load client, split on spaces; failed requests are
+     * reported there, not asserted, since refusing work is a measured outcome
+     */
+    private String[] load(String url, int concurrency, int requests) throws Exception {
+        Process process = new ProcessBuilder(
+            System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+            "-Xmx1g", "-cp", System.getProperty("java.class.path"),
+            LoadClient.class.getName(), url, String.valueOf(concurrency), String.valueOf(requests))
+            .redirectErrorStream(true)
+            .start();
+        String result = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith("RESULT ")) {
+                    result = line;
+                }
+            }
+        }
+        assertEquals(0, process.waitFor());
+        assertNotNull(result, "load client printed no result");
+        return result.split(" ");
+    }
+
+    /**
+     * Wraps the DataSource so every executed statement first sleeps DB_LATENCY_MILLIS
+     */
+    private static final class DelayingDataSourcePostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource, result ->
+                result instanceof Connection connection ? proxy(Connection.class, connection, statement ->
+                    statement instanceof PreparedStatement prepared ? delayExecute(prepared) : statement) : result);
+        }
+
+        private static PreparedStatement delayExecute(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(VirtualThreadLoadTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        Thread.sleep(DB_LATENCY_MILLIS);
+                    }
+                    return invoke(method, statement, args);
+                });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, java.util.function.UnaryOperator<Object> wrapResult) {
+            return (T) Proxy.newProxyInstance(VirtualThreadLoadTest.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> wrapResult.apply(invoke(method, target, args)));
+        }
+
+        private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
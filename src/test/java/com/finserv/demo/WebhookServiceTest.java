@@ -0,0 +1,204 @@
+package com.finserv.demo;
+
+import com.finserv.demo.config.RestTemplateConfig;
+import com.finserv.demo.service.EmployeeAnalysisService;
+import com.finserv.demo.service.SalaryAnalysisService;
+import com.finserv.demo.service.WebhookService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Webhook flow against a local stub HTTP server: generate -> solve -> submit,
+ * retries, timeouts and shutdown
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({WebhookService.class, SalaryAnalysisService.class, EmployeeAnalysisService.class, RestTemplateConfig.class})
+@ImportAutoConfiguration(RestTemplateAutoConfiguration.class)
+@DataJpaTest(properties = {
+    // The test context publishes ApplicationReadyEvent too; flows are started by the tests
+    "finserv.webhook.enabled=false",
+    "finserv.webhook.step-timeout=500ms",
+    "finserv.webhook.max-attempts=3",
+    "finserv.webhook.initial-backoff=10ms",
+    "finserv.webhook.max-backoff=50ms",
+    "finserv.http.read-timeout=2s"
+})
+class WebhookServiceTest {
+
+    private static HttpServer server;
+
+    private static final AtomicInteger generateCalls = new AtomicInteger();
+    private static final AtomicInteger submitCalls = new AtomicInteger();
+    private static volatile int generateFailures;
+    private static volatile int generateStatus;
+    private static volatile long generateDelayMillis;
+    private static volatile String submittedBody;
+    private static volatile String submittedAuthorization;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/generate", exchange -> {
+            int call = generateCalls.incrementAndGet();
+            sleep(generateDelayMillis);
+            if (call <= generateFailures) {
+                respond(exchange, generateStatus, "{}");
+                return;
+            }
+            respond(exchange, 200, "{\"webhook\":\"http://localhost:" + server.getAddress().getPort()
+                + "/submit\",\"accessToken\":\"token-1\"}");
+        });
+        server.createContext("/submit", exchange -> {
+            submittedAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+            submittedBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            submitCalls.incrementAndGet();
+            respond(exchange, 200, "accepted");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void webhookUrl(DynamicPropertyRegistry registry) {
+        registry.add("finserv.webhook.generate-url", () -> "http://localhost:" + server.getAddress().getPort() + "/generate");
+    }
+
+    @BeforeEach
+    void setUp() {
+        generateCalls.set(0);
+        submitCalls.set(0);
+        generateFailures = 0;
+        generateStatus = 200;
+        generateDelayMillis = 0;
+        submittedBody = null;
+        submittedAuthorization = null;
+    }
+
+    @Test
+    void testOnApplicationReady_ReturnsBeforeSlowEndpointAnswers() throws Exception {
+        generateDelayMillis = 400;
+        ReflectionTestUtils.setField(webhookService, "enabled", true);
+
+        long start = System.nanoTime();
+        webhookService.onApplicationReady();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 200, "ready listener blocked for " + elapsedMillis + " ms");
+        assertEquals(0, submitCalls.get());
+        awaitSubmit();
+    }
+
+    @Test
+    void testFlow_SubmitsSolutionWithToken() throws Exception {
+        assertEquals("accepted", webhookService.processWebhookFlow().get(10, TimeUnit.SECONDS));
+
+        assertEquals(1, generateCalls.get());
+        assertEquals(1, submitCalls.get());
+        assertEquals("Bearer token-1", submittedAuthorization);
+        assertTrue(submittedBody.contains("SELECT"), submittedBody);
+    }
+
+    @Test
+    void testFlow_RetriesServerErrors() throws Exception {
+        generateFailures = 2;
+        generateStatus = 503;
+
+        assertEquals("accepted", webhookService.processWebhookFlow().get(10, TimeUnit.SECONDS));
+        assertEquals(3, generateCalls.get());
+    }
+
+    @Test
+    void testFlow_GivesUpAfterMaxAttemptsOfTimeouts() {
+        generateDelayMillis = 800;
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> webhookService.processWebhookFlow().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(3, generateCalls.get());
+        assertEquals(0, submitCalls.get());
+    }
+
+    @Test
+    void testFlow_DoesNotRetryClientErrors() {
+        generateFailures = Integer.MAX_VALUE;
+        generateStatus = 400;
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> webhookService.processWebhookFlow().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientErrorException.class, e.getCause());
+        assertEquals(1, generateCalls.get());
+    }
+
+    @Test
+    @DirtiesContext
+    void testShutdown_CancelsPendingSteps() throws Exception {
+        generateDelayMillis = 300;
+        CompletableFuture<String> flow = webhookService.processWebhookFlow();
+
+        webhookService.shutdown();
+
+        assertThrows(Exception.class, () -> flow.get(5, TimeUnit.SECONDS));
+        Thread.sleep(500);
+        assertEquals(0, submitCalls.get());
+    }
+
+    private static void awaitSubmit() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (submitCalls.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, submitCalls.get());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", status == 200 && body.startsWith("{") ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.YoungerEmployeeCount;
+import com.finserv.demo.service.EmployeeAnalysisService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Wall-clock comparison of the younger-employees-per-department engines against the
+ * original correlated COUNT(*) subquery, at 100k and 1M employees in 100 departments.
+ * At 1M the correlated query needs ~5 * 10^9 index row visits, so it runs under a
+ * statement timeout and is reported as timed out rather than holding the build.
+ *
+ * Run with: mvn test -Pperf
+ */
+@Tag("perf")
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(EmployeeAnalysisService.class)
+@DataJpaTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.finserv.demo=WARN",
+    "logging.level.com.finserv.demo.YoungerEmployeeCountBenchmarkTest=INFO",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class YoungerEmployeeCountBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(YoungerEmployeeCountBenchmarkTest.class);
+
+    private static final int DEPARTMENTS = 100;
+    private static final int CORRELATED_TIMEOUT_SECONDS = 120;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeAnalysisService employeeAnalysisService;
+
+    @Test
+    void engines_VersusCorrelatedSubquery_100k() {
+        compareEngines(100_000);
+    }
+
+    @Test
+    void engines_VersusCorrelatedSubquery_1M() {
+        compareEngines(1_000_000);
+    }
+
+    private void compareEngines(int employees) {
+        jdbcTemplate.update("DELETE FROM employees");
+        jdbcTemplate.update("DELETE FROM departments");
+        PerfTestData.seed(jdbcTemplate, DEPARTMENTS, employees, 0);
+
+        List<String> window = timed("window SQL", employees,
+            () -> YoungerEmployeeCountTest.summarize(employeeAnalysisService.getYoungerEmployeeCounts(EmployeeAnalysisService.ENGINE_SQL)));
+        List<String> inMemory = timed("in-memory Java", employees,
+            () -> YoungerEmployeeCountTest.summarize(employeeAnalysisService.getYoungerEmployeeCounts(EmployeeAnalysisService.ENGINE_JAVA)));
+        assertEquals(employees, window.size());
+        assertEquals(window, inMemory);
+
+        JdbcTemplate correlatedTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        correlatedTemplate.setQueryTimeout(CORRELATED_TIMEOUT_SECONDS);
+        try {
+            List<String> correlated = timed("correlated subquery", employees, () -> correlatedTemplate.query(
+                YoungerEmployeeCountTest.CORRELATED_SQL, (resultSet, rowNum) -> resultSet.getLong(1) + "=" + resultSet.getLong(2)));
+            assertEquals(correlated, window);
+        } catch (DataAccessException e) {
+            logger.info("correlated subquery over {} employees: did not finish within {} s", employees, CORRELATED_TIMEOUT_SECONDS);
+        }
+    }
+
+    private List<String> timed(String engine, int employees, Supplier<List<String>> call) {
+        long start = System.nanoTime();
+        List<String> result = call.get();
+        logger.info("{} over {} employees: {} ms", engine, employees, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package com.finserv.demo;
+
+import com.finserv.demo.dto.YoungerEmployeeCount;
+import com.finserv.demo.entity.Department;
+import com.finserv.demo.entity.Employee;
+import com.finserv.demo.repository.DepartmentRepository;
+import com.finserv.demo.repository.EmployeeRepository;
+import com.finserv.demo.service.EmployeeAnalysisService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(EmployeeAnalysisService.class)
+class YoungerEmployeeCountTest {
+
+    /**
+     * The original correlated-subquery formulation, used as the reference answer
+     */
+    static final String CORRELATED_SQL =
+        "SELECT e.EMP_ID, (SELECT COUNT(*) FROM employees e2 WHERE e2.DEPARTMENT = e.DEPARTMENT AND e2.DOB > e.DOB) " +
+        "FROM employees e JOIN departments d ON e.DEPARTMENT = d.DEPARTMENT_ID ORDER BY e.EMP_ID DESC";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeAnalysisService employeeAnalysisService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long engineering;
+
+    @BeforeEach
+    void setUp() {
+        engineering = departmentRepository.save(new Department("Engineering")).getDepartmentId();
+        Long sales = departmentRepository.save(new Department("Sales")).getDepartmentId();
+
+        employeeRepository.saveAll(List.of(
+            new Employee("John", "Williams", LocalDate.of(1980, 5, 15), "Male", engineering),
+            new Employee("Michael", "Smith", LocalDate.of(1985, 2, 10), "Male", engineering),
+            // Same DOB as Michael: neither counts the other
+            new Employee("Ava", "Clark", LocalDate.of(1985, 2, 10), "Female", engineering),
+            new Employee("Noah", "Lewis", LocalDate.of(1995, 4, 12), "Male", engineering),
+            // No DOB: counts nobody and is counted by nobody
+            new Employee("Mia", "Young", null, "Female", engineering),
+            new Employee("Emily", "Brown", LocalDate.of(1992, 11, 30), "Female", sales),
+            new Employee("Sophia", "Anderson", LocalDate.of(1991, 8, 17), "Female", sales),
+            // Unknown department / no department: dropped by the join
+            new Employee("Ghost", "Orphan", LocalDate.of(1990, 1, 1), "Male", 999L),
+            new Employee("No", "Department", LocalDate.of(1990, 1, 1), "Male", null)
+        ));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSqlEngine_MatchesCorrelatedSubquery() {
+        List<YoungerEmployeeCount> counts = employeeAnalysisService.getYoungerEmployeeCounts(EmployeeAnalysisService.ENGINE_SQL);
+
+        assertEquals(correlatedAnswer(), summarize(counts));
+    }
+
+    @Test
+    void testJavaEngine_MatchesCorrelatedSubquery() {
+        List<YoungerEmployeeCount> counts = employeeAnalysisService.getYoungerEmployeeCounts(EmployeeAnalysisService.ENGINE_JAVA);
+
+        assertEquals(correlatedAnswer(), summarize(counts));
+    }
+
+    @Test
+    void testEngines_CountTiesAndMissingDob() {
+        List<YoungerEmployeeCount> counts = employeeAnalysisService.getYoungerEmployeeCounts(EmployeeAnalysisService.ENGINE_JAVA);
+
+        assertEquals(7, counts.size());
+        assertEquals(3, countFor(counts, "John"));
+        assertEquals(1, countFor(counts, "Michael"));
+        assertEquals(1, countFor(counts, "Ava"));
+        assertEquals(0, countFor(counts, "Noah"));
+        assertEquals(0, countFor(counts, "Mia"));
+        assertEquals(1, countFor(counts, "Sophia"));
+        assertEquals("Engineering", counts.stream().filter(c -> c.getFirstName().equals("John")).findFirst().orElseThrow().getDepartmentName());
+        assertEquals(summarize(counts), summarize(employeeAnalysisService.getYoungerEmployeeCounts(EmployeeAnalysisService.ENGINE_SQL)));
+    }
+
+    @Test
+    void testUnknownEngine_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> employeeAnalysisService.getYoungerEmployeeCounts("quadratic"));
+    }
+
+    @Test
+    void testSqlQuery_UsesWindowFunction() {
+        String sql = employeeAnalysisService.getYoungerEmployeesSqlQuery();
+
+        assertTrue(sql.contains("RANK() OVER (PARTITION BY e.DEPARTMENT ORDER BY e.DOB DESC)"));
+        assertFalse(sql.contains("SELECT COUNT(*)"));
+        List<String> fromQuery = jdbcTemplate.queryForList(sql.replace(";", ""))
+            .stream().map(row -> row.get("EMP_ID") + "=" + row.get("YOUNGER_EMPLOYEES_COUNT")).toList();
+        assertEquals(correlatedAnswer(), fromQuery);
+    }
+
+    private List<String> correlatedAnswer() {
+        return jdbcTemplate.query(CORRELATED_SQL, (resultSet, rowNum) -> resultSet.getLong(1) + "=" + resultSet.getLong(2));
+    }
+
+    static List<String> summarize(List<YoungerEmployeeCount> counts) {
+        return counts.stream().map(count -> count.getEmpId() + "=" + count.getYoungerEmployeesCount()).toList();
+    }
+
+    private long countFor(List<YoungerEmployeeCount> counts, String firstName) {
+        return counts.stream().filter(c -> c.getFirstName().equals(firstName)).findFirst().orElseThrow().getYoungerEmployeesCount();
+    }
+}